@@ -0,0 +1,190 @@
+package bricker.assets;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.Renderable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe registry of the images and sounds used by the game.
+ * <p>
+ * Every asset is decoded from disk exactly once, the first time it is requested (or when it is
+ * preloaded), and every later request returns the same shared instance. Images are keyed by their
+ * path and by the transparency flag they were read with, since the two produce different renderables.
+ * The cache also counts hits, misses and the total time spent decoding, which makes it easy to
+ * check that no disk I/O happens on the collision path once the game is initialized.
+ * <p>
+ * When constructed without readers (as in headless simulations), every request returns null,
+ * which danogl treats as an object that is not rendered.
+ */
+public class AssetCache {
+
+    /**
+     * Reader used to decode images on a cache miss.
+     */
+    private final ImageReader imageReader;
+
+    /**
+     * Reader used to decode sounds on a cache miss.
+     */
+    private final SoundReader soundReader;
+
+    /**
+     * Images that were read with transparency enabled, keyed by path.
+     */
+    private final Map<String, Renderable> transparentImages;
+
+    /**
+     * Images that were read with transparency disabled, keyed by path.
+     */
+    private final Map<String, Renderable> opaqueImages;
+
+    /**
+     * Sounds keyed by path.
+     */
+    private final Map<String, Sound> sounds;
+
+    /**
+     * The number of requests answered from the cache.
+     */
+    private final LongAdder hits;
+
+    /**
+     * The number of requests that had to decode the asset.
+     */
+    private final LongAdder misses;
+
+    /**
+     * The total time spent decoding assets, in nanoseconds.
+     */
+    private final LongAdder decodeNanos;
+
+    /**
+     * Constructs a new, empty AssetCache.
+     *
+     * @param imageReader The reader used to decode images, or null when nothing is rendered.
+     * @param soundReader The reader used to decode sounds, or null when no audio is played.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader) {
+        this.imageReader = imageReader;
+        this.soundReader = soundReader;
+        this.transparentImages = new ConcurrentHashMap<>();
+        this.opaqueImages = new ConcurrentHashMap<>();
+        this.sounds = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.decodeNanos = new LongAdder();
+    }
+
+    /**
+     * Returns the image at the given path, decoding it only if it was never requested before.
+     *
+     * @param path            The path of the image file.
+     * @param useTransparency Whether the image should be read with transparency.
+     * @return The shared renderable of the image.
+     */
+    public Renderable readImage(String path, boolean useTransparency) {
+        if (imageReader == null) {
+            return null;
+        }
+        Map<String, Renderable> images = useTransparency ? transparentImages : opaqueImages;
+        Renderable image = images.get(path);
+        if (image != null) {
+            hits.increment();
+            return image;
+        }
+        return images.computeIfAbsent(path, key -> {
+            long start = System.nanoTime();
+            Renderable decoded = imageReader.readImage(key, useTransparency);
+            recordMiss(start);
+            return decoded;
+        });
+    }
+
+    /**
+     * Returns the sound at the given path, decoding it only if it was never requested before.
+     *
+     * @param path The path of the sound file.
+     * @return The shared sound.
+     */
+    public Sound readSound(String path) {
+        if (soundReader == null) {
+            return null;
+        }
+        Sound sound = sounds.get(path);
+        if (sound != null) {
+            hits.increment();
+            return sound;
+        }
+        return sounds.computeIfAbsent(path, key -> {
+            long start = System.nanoTime();
+            Sound decoded = soundReader.readSound(key);
+            recordMiss(start);
+            return decoded;
+        });
+    }
+
+    /**
+     * Decodes the given images ahead of time, so later requests never touch the disk.
+     *
+     * @param useTransparency Whether the images should be read with transparency.
+     * @param paths           The paths of the image files.
+     */
+    public void preloadImages(boolean useTransparency, String... paths) {
+        for (String path : paths) {
+            readImage(path, useTransparency);
+        }
+    }
+
+    /**
+     * Decodes the given sounds ahead of time, so later requests never touch the disk.
+     *
+     * @param paths The paths of the sound files.
+     */
+    public void preloadSounds(String... paths) {
+        for (String path : paths) {
+            readSound(path);
+        }
+    }
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that had to decode the asset from disk.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the total time spent decoding assets.
+     *
+     * @return The decode time, in nanoseconds.
+     */
+    public long getDecodeTimeNanos() {
+        return decodeNanos.sum();
+    }
+
+    /**
+     * Records a cache miss whose decoding started at the given time.
+     *
+     * @param start The value of System.nanoTime() when decoding started.
+     */
+    private void recordMiss(long start) {
+        decodeNanos.add(System.nanoTime() - start);
+        misses.increment();
+    }
+}
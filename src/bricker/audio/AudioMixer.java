@@ -0,0 +1,249 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays sounds on a dedicated thread, keeping audio work out of the game loop.
+ * <p>
+ * During a frame, the game thread calls play for every sound it wants to hear. Requests for
+ * a sound that was already requested in the same frame are coalesced, so a dozen packs hitting
+ * a wall together produce a single sound. At the end of the frame, endFrame publishes the
+ * remaining sounds into a lock-free single-producer/single-consumer ring buffer, and the audio
+ * thread plays them. The audio thread starts at most a fixed number of voices in any window of
+ * VOICE_DURATION_NANOS, dropping the rest, so bursts of collisions can not flood the audio device.
+ * <p>
+ * play and endFrame must only be called from the game thread.
+ */
+public class AudioMixer {
+
+    private static final long VOICE_DURATION_NANOS = 100_000_000L;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final String THREAD_NAME = "bricker-audio";
+
+    /**
+     * The ring buffer of sounds waiting to be played. Its length is a power of two.
+     */
+    private final Sound[] ring;
+
+    /**
+     * The mask that maps a sequence number to its slot in the ring.
+     */
+    private final int ringMask;
+
+    /**
+     * The sequence number of the next sound the game thread will publish.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * The sequence number of the next sound the audio thread will play.
+     */
+    private final AtomicLong head;
+
+    /**
+     * The distinct sounds requested during the current frame.
+     */
+    private final Sound[] frameSounds;
+
+    /**
+     * The number of distinct sounds requested during the current frame.
+     */
+    private int numFrameSounds;
+
+    /**
+     * For each voice, the time at which it becomes free again.
+     */
+    private final long[] voiceFreeTimes;
+
+    /**
+     * The thread that plays the sounds.
+     */
+    private final Thread audioThread;
+
+    /**
+     * Whether the mixer is still running.
+     */
+    private volatile boolean running;
+
+    /**
+     * The number of play requests received.
+     */
+    private long requestedCount;
+
+    /**
+     * The number of play requests merged into an earlier request of the same frame.
+     */
+    private long coalescedCount;
+
+    /**
+     * The number of sounds dropped because the ring or the frame buffer was full.
+     */
+    private long overflowCount;
+
+    /**
+     * The number of sounds played by the audio thread.
+     */
+    private final AtomicLong playedCount;
+
+    /**
+     * The number of sounds dropped by the audio thread because no voice was free.
+     */
+    private final AtomicLong voiceLimitedCount;
+
+    /**
+     * Constructs a new AudioMixer and starts its audio thread.
+     *
+     * @param queueCapacity     The minimal number of sounds that can wait to be played.
+     * @param maxSoundsPerFrame The maximal number of distinct sounds kept per frame.
+     * @param maxVoices         The maximal number of sounds playing at the same time.
+     * @throws IllegalArgumentException if any of the arguments is not positive.
+     */
+    public AudioMixer(int queueCapacity, int maxSoundsPerFrame, int maxVoices) {
+        if (queueCapacity <= 0 || maxSoundsPerFrame <= 0 || maxVoices <= 0) {
+            throw new IllegalArgumentException("Audio mixer limits must be positive.");
+        }
+        int ringSize = Integer.highestOneBit(queueCapacity - 1) << 1;
+        this.ring = new Sound[Math.max(1, ringSize)];
+        this.ringMask = ring.length - 1;
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+        this.frameSounds = new Sound[maxSoundsPerFrame];
+        this.voiceFreeTimes = new long[maxVoices];
+        this.playedCount = new AtomicLong();
+        this.voiceLimitedCount = new AtomicLong();
+        this.running = true;
+        this.audioThread = new Thread(this::runAudioLoop, THREAD_NAME);
+        this.audioThread.setDaemon(true);
+        this.audioThread.start();
+    }
+
+    /**
+     * Requests a sound to be played at the end of the current frame.
+     * Requests for a sound that was already requested in this frame are merged.
+     *
+     * @param sound The sound to play.
+     */
+    public void play(Sound sound) {
+        requestedCount++;
+        for (int i = 0; i < numFrameSounds; i++) {
+            if (frameSounds[i] == sound) {
+                coalescedCount++;
+                return;
+            }
+        }
+        if (numFrameSounds == frameSounds.length) {
+            overflowCount++;
+            return;
+        }
+        frameSounds[numFrameSounds++] = sound;
+    }
+
+    /**
+     * Hands the sounds requested during the frame to the audio thread.
+     * Should be called once at the end of every frame.
+     */
+    public void endFrame() {
+        if (numFrameSounds == 0) {
+            return;
+        }
+        long currentTail = tail.get();
+        long capacityLeft = ring.length - (currentTail - head.get());
+        int numPublished = (int) Math.min(numFrameSounds, capacityLeft);
+        for (int i = 0; i < numPublished; i++) {
+            ring[(int) ((currentTail + i) & ringMask)] = frameSounds[i];
+        }
+        for (int i = 0; i < numFrameSounds; i++) {
+            frameSounds[i] = null;
+        }
+        overflowCount += numFrameSounds - numPublished;
+        numFrameSounds = 0;
+
+        if (numPublished > 0) {
+            tail.lazySet(currentTail + numPublished);
+            LockSupport.unpark(audioThread);
+        }
+    }
+
+    /**
+     * Stops the audio thread. Sounds that were not played yet are discarded.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(audioThread);
+    }
+
+    /**
+     * Returns the number of play requests received.
+     *
+     * @return The requested sound count.
+     */
+    public long getRequestedCount() {
+        return requestedCount;
+    }
+
+    /**
+     * Returns the number of play requests merged into an earlier request of the same frame.
+     *
+     * @return The coalesced sound count.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of sounds dropped because a buffer was full or no voice was free.
+     *
+     * @return The dropped sound count.
+     */
+    public long getDroppedCount() {
+        return overflowCount + voiceLimitedCount.get();
+    }
+
+    /**
+     * Returns the number of sounds played so far.
+     *
+     * @return The played sound count.
+     */
+    public long getPlayedCount() {
+        return playedCount.get();
+    }
+
+    /**
+     * The loop of the audio thread: plays every published sound, or parks when there is none.
+     */
+    private void runAudioLoop() {
+        while (running) {
+            long currentHead = head.get();
+            if (currentHead == tail.get()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            int slot = (int) (currentHead & ringMask);
+            Sound sound = ring[slot];
+            ring[slot] = null;
+            head.lazySet(currentHead + 1);
+            playIfVoiceFree(sound);
+        }
+    }
+
+    /**
+     * Plays a sound if one of the voices is free, and drops it otherwise.
+     *
+     * @param sound The sound to play.
+     */
+    private void playIfVoiceFree(Sound sound) {
+        long now = System.nanoTime();
+        for (int voice = 0; voice < voiceFreeTimes.length; voice++) {
+            if (voiceFreeTimes[voice] - now <= 0) {
+                voiceFreeTimes[voice] = now + VOICE_DURATION_NANOS;
+                sound.play();
+                playedCount.incrementAndGet();
+                return;
+            }
+        }
+        voiceLimitedCount.incrementAndGet();
+    }
+}
@@ -0,0 +1,189 @@
+package bricker.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * A small, dependency-free micro-benchmark harness.
+ * <p>
+ * Each benchmark is run for a number of warmup iterations (to let the JIT compile the hot path)
+ * followed by measured iterations. Every iteration first builds a fresh operation through an
+ * untimed setup, then times a fixed number of calls to it. The harness reports the throughput
+ * in operations per second, the bytes allocated per operation by the benchmark thread and the
+ * number of garbage collections that happened while measuring.
+ */
+public class BenchmarkHarness {
+
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The thread bean used to read the allocation counter of the benchmark thread.
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Number of unmeasured iterations run before measuring.
+     */
+    private final int warmupIterations;
+
+    /**
+     * Number of measured iterations.
+     */
+    private final int measurementIterations;
+
+    /**
+     * Constructs a new BenchmarkHarness.
+     *
+     * @param warmupIterations      Number of unmeasured iterations run before measuring.
+     * @param measurementIterations Number of measured iterations.
+     */
+    public BenchmarkHarness(int warmupIterations, int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        THREAD_BEAN.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Runs a benchmark and prints its result.
+     *
+     * @param name             The name printed next to the result.
+     * @param setup            Builds the operation of a single iteration. Not timed.
+     * @param opsPerIteration  The number of times the operation is called in each iteration.
+     * @return The measured result.
+     */
+    public Result run(String name, Supplier<Runnable> setup, int opsPerIteration) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(setup.get(), opsPerIteration);
+        }
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        long gcBefore = gcCount();
+        for (int i = 0; i < measurementIterations; i++) {
+            Runnable operation = setup.get();
+            long bytesBefore = allocatedBytes();
+            totalNanos += runIteration(operation, opsPerIteration);
+            totalBytes += allocatedBytes() - bytesBefore;
+        }
+        long gcs = gcCount() - gcBefore;
+
+        long totalOps = (long) opsPerIteration * measurementIterations;
+        Result result = new Result(name,
+                totalOps * NANOS_PER_SECOND / totalNanos,
+                (double) totalBytes / totalOps,
+                gcs);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Calls the operation the given number of times.
+     *
+     * @param operation The operation to call.
+     * @param ops       The number of calls.
+     * @return The time it took, in nanoseconds.
+     */
+    private static long runIteration(Runnable operation, int ops) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            operation.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread.
+     *
+     * @return The allocated bytes.
+     */
+    static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the total number of garbage collections performed so far.
+     *
+     * @return The number of collections across all collectors.
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * The result of a single benchmark.
+     */
+    public static class Result {
+
+        /**
+         * The name of the benchmark.
+         */
+        private final String name;
+
+        /**
+         * The measured throughput, in operations per second.
+         */
+        private final double opsPerSecond;
+
+        /**
+         * The bytes allocated per operation.
+         */
+        private final double bytesPerOp;
+
+        /**
+         * The number of garbage collections during measurement.
+         */
+        private final long gcCount;
+
+        /**
+         * Constructs a new Result.
+         *
+         * @param name         The name of the benchmark.
+         * @param opsPerSecond The measured throughput, in operations per second.
+         * @param bytesPerOp   The bytes allocated per operation.
+         * @param gcCount      The number of garbage collections during measurement.
+         */
+        Result(String name, double opsPerSecond, double bytesPerOp, long gcCount) {
+            this.name = name;
+            this.opsPerSecond = opsPerSecond;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+        }
+
+        /**
+         * Returns the measured throughput.
+         *
+         * @return The throughput, in operations per second.
+         */
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /**
+         * Returns the bytes allocated per operation.
+         *
+         * @return The allocation rate, in bytes per operation.
+         */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /**
+         * Formats the result as a single report line.
+         *
+         * @return The report line.
+         */
+        @Override
+        public String toString() {
+            return String.format("%-40s %14.1f ops/s %12.1f B/op %6d gc", name, opsPerSecond, bytesPerOp, gcCount);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package bricker.benchmark;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.main.BrickerGameManager;
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+/**
+ * Benchmarks of the game's hot paths, run on headless games.
+ * <p>
+ * Measures the frame update (including every per-frame status check) with one ball and with
+ * hundreds of balls, the dispatch of a brick collision through each CollisionStrategy type, and
+ * the construction of brick fields of increasing size. Run the main method and compare the printed ops/s and B/op between builds
+ * to spot regressions. That steady-state frames allocate nothing beyond the engine's own needs is
+ * checked by FrameAllocationTest.
+ */
+public class BrickerBenchmarks {
+
+    // CONSTANTS:
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int FRAMES_PER_ITERATION = 10_000;
+    private static final int COLLISIONS_PER_ITERATION = 2_000;
+    private static final int DEFAULT_BRICKS_PER_ROW = 8;
+    private static final int DEFAULT_ROWS = 7;
+    private static final int MIN_WINDOW_WIDTH = 700;
+    private static final int MIN_WINDOW_HEIGHT = 500;
+    private static final int MIN_BRICK_WIDTH = 10;
+    private static final int BRICK_CELL_HEIGHT = 17;
+    private static final int FREE_SPACE_BELOW_BRICKS = 300;
+    private static final int[][] GRID_SIZES = {{8, 7}, {50, 50}, {100, 100}, {250, 250}, {500, 500}};
+    private static final String[] STRATEGY_NAMES =
+            {"basic", "extraPack", "extraPaddle", "turbo", "returnLive", "multipleBehaviors"};
+    private static final long SEED = 42;
+    private static final int STEADY_STATE_FRAMES = 20;
+    private static final int[] BALL_COUNTS = {1, 100, 500};
+    private static final int FRAMES_PER_BALLS_ITERATION = 1_000;
+    private static final byte[] PADDLE_SCRIPT = {ScriptedPaddleController.MOVE_LEFT,
+            ScriptedPaddleController.MOVE_RIGHT};
+
+    /**
+     * Private constructor, this class only holds the benchmark entry point.
+     */
+    private BrickerBenchmarks() {
+    }
+
+    /**
+     * Creates a headless game whose window is large enough to hold the given brick grid.
+     *
+     * @param numBricksPerRow Number of bricks per row.
+     * @param numRows         Number of rows of bricks.
+     * @return The initialized headless game.
+     */
+    static HeadlessSimulation createSimulation(int numBricksPerRow, int numRows) {
+        return createSimulation(numBricksPerRow, numRows, false);
+    }
+
+    /**
+     * Creates a seeded headless game whose window is large enough to hold the given brick grid.
+     * Every call with the same arguments produces the same game.
+     *
+     * @param numBricksPerRow   Number of bricks per row.
+     * @param numRows           Number of rows of bricks.
+     * @param compactBrickField True to store the bricks in a compact brick field.
+     * @return The initialized headless game.
+     */
+    static HeadlessSimulation createSimulation(int numBricksPerRow, int numRows, boolean compactBrickField) {
+        Vector2 windowDimensions = new Vector2(
+                Math.max(MIN_WINDOW_WIDTH, numBricksPerRow * (MIN_BRICK_WIDTH + 2) + 2 * MIN_BRICK_WIDTH),
+                Math.max(MIN_WINDOW_HEIGHT, numRows * BRICK_CELL_HEIGHT + FREE_SPACE_BELOW_BRICKS));
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(windowDimensions,
+                numBricksPerRow, numRows, compactBrickField);
+        gameManager.setSeed(SEED);
+        return new HeadlessSimulation(gameManager, windowDimensions,
+                new ScriptedPaddleController(PADDLE_SCRIPT), HeadlessSimulation.DEFAULT_DELTA_TIME);
+    }
+
+    /**
+     * Measures a full frame update of a default-sized game.
+     *
+     * @param harness The harness used to run the benchmark.
+     */
+    private static void benchmarkUpdate(BenchmarkHarness harness) {
+        harness.run("update", () -> {
+            BrickerGameManager gameManager =
+                    createSimulation(DEFAULT_BRICKS_PER_ROW, DEFAULT_ROWS).getGameManager();
+            return () -> gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }, FRAMES_PER_ITERATION);
+    }
+
+    /**
+     * Measures the frames right after a game starts, while the ball is in free flight between the
+     * paddle and the bricks and nothing collides. These are the steady-state frames every game
+     * spends most of its time in.
+     *
+     * @param harness The harness used to run the benchmark.
+     */
+    private static void benchmarkSteadyState(BenchmarkHarness harness) {
+        harness.run("update.steadyState", () -> {
+            BrickerGameManager gameManager =
+                    createSimulation(DEFAULT_BRICKS_PER_ROW, DEFAULT_ROWS).getGameManager();
+            return () -> gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }, STEADY_STATE_FRAMES);
+    }
+
+    /**
+     * Measures a full frame update of a default-sized game with an increasing number of primary balls.
+     *
+     * @param harness The harness used to run the benchmark.
+     */
+    private static void benchmarkManyBalls(BenchmarkHarness harness) {
+        for (int numBalls : BALL_COUNTS) {
+            harness.run("update.balls" + numBalls, () -> {
+                BrickerGameManager gameManager =
+                        createSimulation(DEFAULT_BRICKS_PER_ROW, DEFAULT_ROWS).getGameManager();
+                for (int i = 1; i < numBalls; i++) {
+                    gameManager.addBall();
+                }
+                return () -> gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+            }, FRAMES_PER_BALLS_ITERATION);
+        }
+    }
+
+    /**
+     * Measures the dispatch of a brick collision through every strategy type,
+     * up to publishing its game events.
+     *
+     * @param harness The harness used to run the benchmark.
+     */
+    private static void benchmarkCollisions(BenchmarkHarness harness) {
+        for (int type = 0; type < STRATEGY_NAMES.length; type++) {
+            int strategyType = type;
+            harness.run("onCollisionEnter." + STRATEGY_NAMES[type], () -> {
+                BrickerGameManager gameManager =
+                        createSimulation(DEFAULT_BRICKS_PER_ROW, DEFAULT_ROWS).getGameManager();
+                CollisionStrategy strategy = gameManager.createStrategy(strategyType);
+                Brick brick = new Brick(Vector2.ZERO, new Vector2(MIN_WINDOW_WIDTH / DEFAULT_BRICKS_PER_ROW,
+                        BRICK_CELL_HEIGHT), null, strategy);
+                Ball ball = new Ball(Vector2.ZERO, new Vector2(MIN_BRICK_WIDTH, MIN_BRICK_WIDTH), null, null);
+                ball.setTag("Ball");
+                // the published events are dropped, so the queue does not grow between collisions
+                return () -> {
+                    brick.onCollisionEnter(ball, null);
+                    gameManager.getEvents().clear();
+                };
+            }, COLLISIONS_PER_ITERATION);
+        }
+    }
+
+    /**
+     * Measures the construction of brick fields of increasing size, both as game objects
+     * and as a compact brick field.
+     *
+     * @param harness The harness used to run the benchmark.
+     */
+    private static void benchmarkBrickFields(BenchmarkHarness harness) {
+        for (int[] size : GRID_SIZES) {
+            harness.run("createBricks." + size[0] + "x" + size[1],
+                    () -> () -> createSimulation(size[0], size[1]), 1);
+            harness.run("createBrickField." + size[0] + "x" + size[1],
+                    () -> () -> createSimulation(size[0], size[1], true), 1);
+        }
+    }
+
+    /**
+     * Runs every benchmark and prints the results.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        BenchmarkHarness harness = new BenchmarkHarness(WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS);
+        benchmarkUpdate(harness);
+        benchmarkSteadyState(harness);
+        benchmarkManyBalls(harness);
+        benchmarkCollisions(harness);
+        benchmarkBrickFields(harness);
+    }
+}
@@ -32,6 +32,6 @@ public class BasicCollisionStrategy implements CollisionStrategy {
      */
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
-        gameManager.removeBrick((Brick)object1);
+        gameManager.getEvents().publishBrickDestroyed((Brick)object1);
     }
 }
@@ -0,0 +1,49 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+/**
+ * A collision strategy that counts how many times the strategy it wraps is triggered.
+ */
+public class CountingCollisionStrategy implements CollisionStrategy {
+
+    /**
+     * The strategy that actually handles the collisions.
+     */
+    private final CollisionStrategy strategy;
+
+    /**
+     * The trigger counts of every strategy type, shared by all the counting strategies of a game.
+     */
+    private final long[] triggerCounts;
+
+    /**
+     * The strategy type id of the wrapped strategy, i.e. its slot in triggerCounts.
+     */
+    private final int strategyType;
+
+    /**
+     * Constructs a new CountingCollisionStrategy.
+     *
+     * @param strategy      The strategy to count.
+     * @param triggerCounts The trigger counts of every strategy type.
+     * @param strategyType  The strategy type id of the strategy.
+     */
+    public CountingCollisionStrategy(CollisionStrategy strategy, long[] triggerCounts, int strategyType) {
+        this.strategy = strategy;
+        this.triggerCounts = triggerCounts;
+        this.strategyType = strategyType;
+    }
+
+    /**
+     * Counts the trigger and lets the wrapped strategy handle the collision.
+     *
+     * @param object1 The first GameObject involved in the collision.
+     * @param object2 The second GameObject involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject object1, GameObject object2) {
+        triggerCounts[strategyType]++;
+        strategy.onCollision(object1, object2);
+    }
+}
@@ -1,26 +1,21 @@
 package bricker.brick_strategies;
 
 import danogl.GameObject;
-import danogl.gui.ImageReader;
-import danogl.gui.Sound;
-import danogl.gui.SoundReader;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import bricker.gameobjects.Brick;
 import bricker.gameobjects.Pack;
 
-import java.util.Random;
-
 /**
  * A collision strategy that removes a brick from the game upon collision and creates
  * a specified number of "Pack" objects (e.g., power-ups or bonuses) at the brick's position.
+ * The packs are taken from the game manager's pack pool, so fallen packs are reused.
  */
 public class ExstraPackStrategy implements CollisionStrategy {
 
     /**
      * The number of packs to create for each brick collision.
      */
-    private static final int NUM_PACKS_PER_BRICK = 2;
+    private final int numPacksPerBrick;
 
     /**
      * The game manager that manages the game logic, including removing bricks and adding packs.
@@ -32,46 +27,25 @@ public class ExstraPackStrategy implements CollisionStrategy {
      */
     private final float ballSpeed;
 
-    /**
-     * The radius of the pack, which is smaller than the ball's radius.
-     */
-    private final float ballRadius;
-
-    /**
-     * The image reader used to load images for the pack.
-     */
-    private ImageReader imageReader;
-
-    /**
-     * The sound reader used to load sound for the pack's collision.
-     */
-    private SoundReader soundReader;
-
     /**
      * Constructs an instance of ExstraPackStrategy to manage the creation of packs after a collision.
      *
-     * @param gameManager   The game manager that handles game logic.
-     * @param imageReader   The image reader used to load pack images.
-     * @param soundReader   The sound reader used to load sounds for the pack.
-     * @param ballSpeed     The speed at which the pack will move.
-     * @param ballRadius    The radius of the ball, used to scale the pack radius.
+     * @param gameManager      The game manager that handles game logic.
+     * @param ballSpeed        The speed at which the pack will move.
+     * @param numPacksPerBrick The number of packs to create for each brick collision.
      */
     public ExstraPackStrategy(bricker.main.BrickerGameManager gameManager,
-                              ImageReader imageReader,
-                              SoundReader soundReader,
                               float ballSpeed,
-                              float ballRadius) {
+                              int numPacksPerBrick) {
 
         this.gameManager = gameManager;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
         this.ballSpeed = ballSpeed;
-        this.ballRadius = ballRadius;
+        this.numPacksPerBrick = numPacksPerBrick;
     }
 
     /**
      * Handles the collision between two GameObjects. In this case, it removes the brick
-     * from the game upon collision and add two Packs.
+     * from the game upon collision and adds the configured number of Packs.
      *
      * @param object1 The first GameObject involved in the collision.
      * @param object2 The second GameObject involved in the collision.
@@ -79,18 +53,12 @@ public class ExstraPackStrategy implements CollisionStrategy {
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
         // remove brick:
-        gameManager.removeBrick((Brick)object1);
+        gameManager.getEvents().publishBrickDestroyed((Brick)object1);
 
-        // create in the place of the brick two Packs:
-        for (int i = 0; i < NUM_PACKS_PER_BRICK; i++) {
-            Renderable packImage = imageReader.readImage("assets/mockBall.png", true);
-            Sound collisionSound = soundReader.readSound("assets/blop.wav");
-            Pack pack = new Pack(Vector2.ZERO,
-                    new Vector2(ballRadius, ballRadius),
-                    packImage,
-                    collisionSound);
-            pack.setTag("Pack");
-            Vector2 currentPosition = object1.getCenter();
+        // create Packs in the place of the brick:
+        Vector2 currentPosition = object1.getCenter();
+        for (int i = 0; i < numPacksPerBrick; i++) {
+            Pack pack = gameManager.obtainPack();
             resetPack(pack, currentPosition);
         }
     }
@@ -101,10 +69,8 @@ public class ExstraPackStrategy implements CollisionStrategy {
      * @param currentPosition The position where the pack will be placed.
      */
     private void resetPack(Pack pack, Vector2 currentPosition) {
-        Random rand = new Random();
-
         // Setting velocity:
-        float angle = rand.nextFloat();
+        float angle = (float) gameManager.getRandom().nextDouble();
         float velX = (float)Math.cos(angle) * ballSpeed;
         float velY = (float)Math.sin(angle) * ballSpeed;
 
@@ -113,6 +79,6 @@ public class ExstraPackStrategy implements CollisionStrategy {
         // Setting coordinates:
         pack.setCenter(currentPosition);
 
-        gameManager.addPack(pack);
+        gameManager.getEvents().publishSpawnPack(pack);
     }
 }
@@ -1,13 +1,13 @@
 package bricker.brick_strategies;
 
+import bricker.assets.AssetCache;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.gui.ImageReader;
-import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import bricker.gameobjects.Brick;
 import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
 
 /**
  * A collision strategy that removes a brick from the game upon collision and creates
@@ -16,6 +16,11 @@ import bricker.gameobjects.Paddle;
  */
 public class ExstraPaddleStrategy implements CollisionStrategy {
 
+    /**
+     * The path of the image used for the extra paddle.
+     */
+    public static final String PADDLE_IMAGE_PATH = "assets/paddle.png";
+
     /**
      * The game manager that manages the game logic, including removing bricks and adding paddles.
      */
@@ -37,14 +42,14 @@ public class ExstraPaddleStrategy implements CollisionStrategy {
     private final Vector2 windowDimensions;
 
     /**
-     * The user input listener used to control the newly created paddle.
+     * The controller used to move the newly created paddle.
      */
-    private final UserInputListener inputListener;
+    private final PaddleController paddleController;
 
     /**
-     * The image reader used to load images for the paddle.
+     * The asset cache used to load images for the paddle.
      */
-    private final ImageReader imageReader;
+    private final AssetCache assetCache;
 
     /**
      * Non-default Constructor
@@ -53,21 +58,21 @@ public class ExstraPaddleStrategy implements CollisionStrategy {
      * @param paddleWidth     The width of the new paddle.
      * @param paddleHeight    The height of the new paddle.
      * @param windowDimensions The dimensions of the game window.
-     * @param inputListener   The input listener used to control the paddle.
-     * @param imageReader     The image reader used to load paddle images.
+     * @param paddleController The controller used to move the paddle.
+     * @param assetCache      The asset cache used to load paddle images.
      */
     public ExstraPaddleStrategy(bricker.main.BrickerGameManager gameManager,
                                 Vector2 windowDimensions,
-                                UserInputListener inputListener,
-                                ImageReader imageReader,
+                                PaddleController paddleController,
+                                AssetCache assetCache,
                                 int paddleWidth,
                                 int paddleHeight) {
         this.gameManager = gameManager;
         this.paddleWidth = paddleWidth;
         this.paddleHeight = paddleHeight;
         this.windowDimensions = windowDimensions;
-        this.inputListener = inputListener;
-        this.imageReader = imageReader;
+        this.paddleController = paddleController;
+        this.assetCache = assetCache;
     }
 
     /**
@@ -80,20 +85,20 @@ public class ExstraPaddleStrategy implements CollisionStrategy {
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
         // remove the brick:
-        gameManager.removeBrick((Brick)object1);
+        gameManager.getEvents().publishBrickDestroyed((Brick)object1);
 
         // create another paddle:
-        Renderable paddleImage = imageReader.readImage("assets/paddle.png", true);
+        Renderable paddleImage = assetCache.readImage(PADDLE_IMAGE_PATH, true);
         Paddle paddle = new Paddle(
                 Vector2.ZERO,
                 new Vector2(paddleWidth, paddleHeight),
                 paddleImage,
-                inputListener,
+                paddleController,
                 windowDimensions,
                 true);
         paddle.setTag("Paddle");
         paddle.setCenter(
                 new Vector2(windowDimensions.x()/2, (int) (windowDimensions.y()/2)));
-        gameManager.addPaddle(paddle);
+        gameManager.getEvents().publishSpawnPaddle(paddle);
     }
 }
@@ -1,50 +1,97 @@
-package bricker.brick_strategies;
-
-import bricker.main.BrickerGameManager;
-import danogl.GameObject;
-import bricker.gameobjects.Brick;
-
-/**
- * A collision strategy that applies multiple behaviors in sequence.
- * When a collision occurs, it executes all the specified collision strategies
- * one after the other, allowing for complex behaviors.
- */
-public class MultipleBehaviorsStrategy implements CollisionStrategy {
-
-    /**
-     * The game manager that handles the game logic and state.
-     */
-    private final BrickerGameManager gameManager;
-
-    /**
-     * An array of collision strategies to be executed sequentially.
-     */
-    private final CollisionStrategy[] coliisionStrategies;
-
-    /**
-     * Constructs a new MultipleBehaviorsStrategy.
-     *
-     * @param brickerGameManager The game manager that handles game logic and state.
-     * @param collisionStrategies An array of collision strategies to be executed in sequence.
-     */
-    public MultipleBehaviorsStrategy(BrickerGameManager brickerGameManager,
-                                     CollisionStrategy[] collisionStrategies) {
-        this.gameManager = brickerGameManager;
-        this.coliisionStrategies = collisionStrategies;
-    }
-
-    /**
-     * Handles the collision between two GameObjects.
-     * Removes the brick from the game and applies all the specified collision strategies in sequence.
-     *
-     * @param object1 The first GameObject involved in the collision, expected to be a brick.
-     * @param object2 The second GameObject involved in the collision.
-     */
-    @Override
-    public void onCollision(GameObject object1, GameObject object2) {
-        gameManager.removeBrick((Brick)object1);
-        for (CollisionStrategy strategy : coliisionStrategies) {
-            strategy.onCollision(object1, object2);
-        }
-    }
-}
+package bricker.brick_strategies;
+
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import bricker.gameobjects.Brick;
+
+/**
+ * A collision strategy that applies multiple behaviors in sequence.
+ * When a collision occurs, it executes all the specified collision strategies
+ * one after the other, allowing for complex behaviors.
+ * <p>
+ * The behaviors are only chosen when the brick is hit, and are resolved to the game manager's
+ * shared strategy instances, so a brick that is never hit costs nothing beyond its reference
+ * to this (shared) strategy. Two behaviors are chosen at random; if a third "multiple behaviors"
+ * draw comes up, it is replaced by two more behaviors, for at most three in total.
+ */
+public class MultipleBehaviorsStrategy implements CollisionStrategy {
+
+    /**
+     * The maximum number of behaviors a single collision can trigger.
+     */
+    private static final int MAX_BEHAVIORS = 3;
+
+    /**
+     * The game manager that handles the game logic and state.
+     */
+    private final BrickerGameManager gameManager;
+
+    /**
+     * Buffer holding the behaviors chosen for the current collision.
+     */
+    private final int[] behaviors;
+
+    /**
+     * Constructs a new MultipleBehaviorsStrategy.
+     *
+     * @param brickerGameManager The game manager that handles game logic and state.
+     */
+    public MultipleBehaviorsStrategy(BrickerGameManager brickerGameManager) {
+        this.gameManager = brickerGameManager;
+        this.behaviors = new int[MAX_BEHAVIORS];
+    }
+
+    /**
+     * Handles the collision between two GameObjects.
+     * Removes the brick from the game, chooses the behaviors and applies them in sequence.
+     *
+     * @param object1 The first GameObject involved in the collision, expected to be a brick.
+     * @param object2 The second GameObject involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject object1, GameObject object2) {
+        gameManager.getEvents().publishBrickDestroyed((Brick)object1);
+        int numBehaviors = chooseBehaviors();
+        for (int i = 0; i < numBehaviors; i++) {
+            gameManager.getStrategy(behaviors[i]).onCollision(object1, object2);
+        }
+    }
+
+    /**
+     * Randomly chooses two or three special behaviors into the behaviors buffer.
+     *
+     * @return The number of behaviors chosen.
+     */
+    private int chooseBehaviors() {
+        int behave1 = getRandomNum(BrickerGameManager.EXTRA_PACK, BrickerGameManager.MULTIPLE_BEHAVIORS);
+        int behave2;
+        do {
+            behave2 = getRandomNum(BrickerGameManager.EXTRA_PACK, BrickerGameManager.MULTIPLE_BEHAVIORS);
+        } while (behave1 == behave2);
+
+        if (behave1 != BrickerGameManager.MULTIPLE_BEHAVIORS &&
+                behave2 != BrickerGameManager.MULTIPLE_BEHAVIORS) {
+            behaviors[0] = behave1;
+            behaviors[1] = behave2;
+            return 2;
+        }
+
+        behaviors[0] = (behave1 == BrickerGameManager.MULTIPLE_BEHAVIORS) ? behave2 : behave1;
+        behaviors[1] = getRandomNum(BrickerGameManager.EXTRA_PACK, BrickerGameManager.RETURN_LIVE);
+        do {
+            behaviors[2] = getRandomNum(BrickerGameManager.EXTRA_PACK, BrickerGameManager.RETURN_LIVE);
+        } while (behaviors[1] == behaviors[2]);
+        return MAX_BEHAVIORS;
+    }
+
+    /**
+     * Generates a random integer within a specified range.
+     *
+     * @param min The minimum value (inclusive).
+     * @param max The maximum value (inclusive).
+     * @return A random integer between min and max.
+     */
+    private int getRandomNum(int min, int max) {
+        return gameManager.getRandom().nextInt(min, max + 1);
+    }
+}
@@ -1,11 +1,7 @@
 package bricker.brick_strategies;
 
-import bricker.heartStrategy.HeartCollideStrategy;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.gui.ImageReader;
-import danogl.gui.UserInputListener;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import bricker.gameobjects.Brick;
 import bricker.gameobjects.Heart;
@@ -13,55 +9,29 @@ import bricker.gameobjects.Heart;
 /**
  * A collision strategy that removes a brick and creates a heart object in the game.
  * The heart represents an extra life and moves downwards after being created.
+ * The hearts are taken from the game manager's heart pool, so fallen hearts are reused.
  */
 public class ReturnLiveStrategy implements CollisionStrategy {
 
-    /**
-     * The velocity of the heart object when it is created.
-     */
-    private static final int HEART_VEL = 100;
-
     /**
      * The game manager that manages the game logic and state.
      */
     private final BrickerGameManager gameManager;
 
     /**
-     * The dimensions of the game window, used for positioning the heart.
+     * The velocity given to every new heart.
      */
-    private final Vector2 windowDimensions;
-
-    /**
-     * The image reader used to load images for the heart object.
-     */
-    private final ImageReader imageReader;
-
-    /**
-     * The size of the heart object.
-     */
-    private final int heartSize;
-
-    /**
-     * The heart object created during a collision.
-     */
-    private Heart heart;
+    private final Vector2 heartVelocity;
 
     /**
      * Constructs a new ReturnLiveStrategy.
      *
      * @param gameManager      The game manager that handles game logic and state.
-     * @param windowDimensions The dimensions of the game window.
-     * @param imageReader      The image reader used to load heart images.
-     * @param heartSize        The size of the heart object.
+     * @param heartSpeed       The speed at which the hearts fall.
      */
-    public ReturnLiveStrategy(bricker.main.BrickerGameManager gameManager,
-                              Vector2 windowDimensions,
-                              ImageReader imageReader,
-                              int heartSize) {
+    public ReturnLiveStrategy(bricker.main.BrickerGameManager gameManager, float heartSpeed) {
         this.gameManager = gameManager;
-        this.windowDimensions = windowDimensions;
-        this.imageReader = imageReader;
-        this.heartSize = heartSize;
+        this.heartVelocity = new Vector2(0, heartSpeed);
     }
 
     /**
@@ -74,32 +44,25 @@ public class ReturnLiveStrategy implements CollisionStrategy {
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
         // Remove the brick and create a heart in the middle that moves downwards
-        gameManager.removeBrick((Brick) object1);
-        Renderable heartImage = imageReader.readImage("assets/heart.png", false);
-        Vector2 size = new Vector2(heartSize, heartSize);
-        CollisionStrategy HeartColideStrategy = new HeartCollideStrategy(gameManager);
-        this.heart = new Heart(Vector2.ZERO, size, heartImage, HeartColideStrategy);
-        this.heart.setTag("Heart");
+        gameManager.getEvents().publishBrickDestroyed((Brick) object1);
+        Heart heart = gameManager.obtainHeart();
         Vector2 currentPosition = object1.getCenter();
-        moveHeart(currentPosition);
+        moveHeart(heart, currentPosition);
     }
 
     /**
      * Moves the heart object by setting its velocity and position.
      * The heart moves downwards after being created.
      *
+     * @param heart           The heart to move.
      * @param currentPosition The position where the heart will be placed.
      */
-    private void moveHeart(Vector2 currentPosition) {
-        float velX = 0;
-        float velY = HEART_VEL;
-
-        heart.setVelocity(new Vector2(velX, velY));
+    private void moveHeart(Heart heart, Vector2 currentPosition) {
+        heart.setVelocity(heartVelocity);
 
         // Set coordinates
-        heart.setCenter(windowDimensions.mult(0.5f));
         heart.setCenter(currentPosition);
 
-        gameManager.addHeart(heart);
+        gameManager.getEvents().publishSpawnHeart(heart);
     }
 }
@@ -15,21 +15,13 @@ public class TurboStrategy implements CollisionStrategy{
      */
     private BrickerGameManager gameManager;
 
-    /**
-     * The ball object that may enter turbo mode depending on game events.
-     */
-    private Ball ball;
-
     /**
      * Non-default Constructor
      *
      * @param gameManager   The game manager responsible for managing the game logic.
-     * @param ball          The ball that will potentially enter turbo mode.
      */
-    public TurboStrategy(BrickerGameManager gameManager,
-                         Ball ball) {
+    public TurboStrategy(BrickerGameManager gameManager) {
         this.gameManager = gameManager;
-        this.ball = ball;
     }
 
     /**
@@ -37,19 +29,18 @@ public class TurboStrategy implements CollisionStrategy{
      * from the game upon collision, and if the ball is in the right terms, turn Turbo-mode on.
      *
      * @param object1 The first GameObject involved in the collision.
-     * @param object2 The second GameObject involved in the collision.
+     * @param object2 The second GameObject involved in the collision, the ball that hit the brick.
      */
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
         // remove the brick:
-        gameManager.removeBrick((Brick)object1);
+        gameManager.getEvents().publishBrickDestroyed((Brick)object1);
 
         // if its Ball and not Pack and turbo isn't on, make the ball "Turbo":
-        if (!("Pack".equals(object2.getTag())) && !gameManager.getTurboMode()){
+        if (!("Pack".equals(object2.getTag())) && !gameManager.isTurbo((Ball) object2)){
 
             // change the ball mode:
-            int numCollisions = ball.getCollisionCounter();
-            gameManager.setTurboMode(numCollisions);
+            gameManager.getEvents().publishTurboRequested((Ball) object2);
 
         }
 
@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.audio.AudioMixer;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
@@ -17,6 +18,11 @@ public class Ball extends GameObject {
      */
     private final Sound collisionSound;
 
+    /**
+     * The mixer the collision sound is handed to, or null to play it directly.
+     */
+    private final AudioMixer audioMixer;
+
     /**
      * The number of collisions the ball has experienced
      */
@@ -30,14 +36,38 @@ public class Ball extends GameObject {
      * @param dimensions    Width and height in window coordinates.
      * @param renderable    The renderable representing the object. Can be null, in which case
      *                      the GameObject will not be rendered.
-     * @param collisionSound The sound to be played when a collision occurs.
+     * @param collisionSound The sound to be played when a collision occurs. Can be null, in which
+     *                       case the ball is silent.
      */
     public Ball(Vector2 topLeftCorner,
                 Vector2 dimensions,
                 Renderable renderable,
                 Sound collisionSound) {
+        this(topLeftCorner, dimensions, renderable, collisionSound, null);
+    }
+
+    /**
+     * Constructs a new Ball instance whose collision sound is played through an audio mixer,
+     * off the game thread.
+     *
+     * @param topLeftCorner Position of the object, in window coordinates (pixels).
+     *                      Note that (0,0) is the top-left corner of the window.
+     * @param dimensions    Width and height in window coordinates.
+     * @param renderable    The renderable representing the object. Can be null, in which case
+     *                      the GameObject will not be rendered.
+     * @param collisionSound The sound to be played when a collision occurs. Can be null, in which
+     *                       case the ball is silent.
+     * @param audioMixer    The mixer that plays the collision sound. Can be null, in which case
+     *                      the sound is played directly.
+     */
+    public Ball(Vector2 topLeftCorner,
+                Vector2 dimensions,
+                Renderable renderable,
+                Sound collisionSound,
+                AudioMixer audioMixer) {
         super(topLeftCorner, dimensions, renderable);
-        this.collisionSound = collisionSound;;
+        this.collisionSound = collisionSound;
+        this.audioMixer = audioMixer;
     }
 
     /**
@@ -51,9 +81,73 @@ public class Ball extends GameObject {
     public void onCollisionEnter(GameObject other,
                                  Collision collision) {
         super.onCollisionEnter(other, collision);
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
-        setVelocity(newVel);
-        collisionSound.play();
+        reflect(collision.getNormal());
+        registerCollision();
+    }
+
+    /**
+     * Bounces the ball off a surface that was hit outside of the engine's collision detection.
+     * The velocity is reflected only if the ball is moving into the surface, so a ball that
+     * already bounced away is not sent back.
+     *
+     * @param normal The unit normal of the surface, pointing towards the ball.
+     */
+    public void bounce(Vector2 normal) {
+        Vector2 velocity = getVelocity();
+        if (velocity.x() * normal.x() + velocity.y() * normal.y() < 0) {
+            reflect(normal);
+        }
+        registerCollision();
+    }
+
+    /**
+     * Returns the x coordinate of the ball's center.
+     * Unlike getCenter, it reads the corner the engine keeps, without allocating a vector.
+     *
+     * @return The x coordinate of the center.
+     */
+    public float getCenterX() {
+        return getTopLeftCorner().x() + getDimensions().x() / 2;
+    }
+
+    /**
+     * Returns the y coordinate of the ball's center.
+     * Unlike getCenter, it reads the corner the engine keeps, without allocating a vector.
+     *
+     * @return The y coordinate of the center.
+     */
+    public float getCenterY() {
+        return getTopLeftCorner().y() + getDimensions().y() / 2;
+    }
+
+    /**
+     * Reflects the velocity of the ball off a surface. Walls, bricks and paddles are axis-aligned,
+     * so only the matching velocity component is negated, through the transform's scalar setters,
+     * instead of computing the full reflection with flipped.
+     *
+     * @param normal The unit normal of the surface.
+     */
+    private void reflect(Vector2 normal) {
+        if (normal.y() == 0) {
+            transform().setVelocityX(-getVelocity().x());
+        } else if (normal.x() == 0) {
+            transform().setVelocityY(-getVelocity().y());
+        } else {
+            setVelocity(getVelocity().flipped(normal));
+        }
+    }
+
+    /**
+     * Plays the collision sound and counts the collision.
+     */
+    private void registerCollision() {
+        if (collisionSound != null) {
+            if (audioMixer != null) {
+                audioMixer.play(collisionSound);
+            } else {
+                collisionSound.play();
+            }
+        }
         collisionCounter++;
     }
 
@@ -65,4 +159,13 @@ public class Ball extends GameObject {
     public int getCollisionCounter() {
         return collisionCounter;
     }
+
+    /**
+     * Sets the number of times the ball has collided, e.g. when a saved game is restored.
+     *
+     * @param collisionCounter The number of collisions the ball has experienced.
+     */
+    public void setCollisionCounter(int collisionCounter) {
+        this.collisionCounter = collisionCounter;
+    }
 }
@@ -44,6 +44,25 @@ public class Brick extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
+        hit(other);
+    }
+
+    /**
+     * Handles a hit by another GameObject, whether it was detected by the engine
+     * or by the game's brick grid, by invoking the collision strategy.
+     *
+     * @param other The GameObject that hit the brick.
+     */
+    public void hit(GameObject other) {
         this.collisionStrategy.onCollision(this, other);
     }
+
+    /**
+     * Replaces the strategy that handles the brick's collisions, e.g. when a saved game is restored.
+     *
+     * @param collisionStrategy The new collision strategy.
+     */
+    public void setCollisionStrategy(CollisionStrategy collisionStrategy) {
+        this.collisionStrategy = collisionStrategy;
+    }
 }
@@ -0,0 +1,47 @@
+package bricker.gameobjects;
+
+import danogl.gui.UserInputListener;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * A paddle controller that moves the paddle according to the arrow keys.
+ */
+public class KeyboardPaddleController implements PaddleController {
+
+    /**
+     * The input listener that detects the user's key presses.
+     */
+    private final UserInputListener inputListener;
+
+    /**
+     * Constructs a new KeyboardPaddleController.
+     *
+     * @param inputListener The input listener that detects the user's key presses.
+     */
+    public KeyboardPaddleController(UserInputListener inputListener) {
+        this.inputListener = inputListener;
+    }
+
+    /**
+     * Checks whether the left arrow key is pressed.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the left arrow key is pressed, false otherwise.
+     */
+    @Override
+    public boolean isMovingLeft(Paddle paddle) {
+        return inputListener.isKeyPressed(KeyEvent.VK_LEFT);
+    }
+
+    /**
+     * Checks whether the right arrow key is pressed.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the right arrow key is pressed, false otherwise.
+     */
+    @Override
+    public boolean isMovingRight(Paddle paddle) {
+        return inputListener.isKeyPressed(KeyEvent.VK_RIGHT);
+    }
+}
@@ -5,14 +5,14 @@ package bricker.gameobjects;
  *
  * This class manages the number of lives in the game. It provides methods to add or remove lives,
  * ensuring the life count remains within the defined bounds. The maximum number of lives is
- * limited by the `MAX_LIFES` constant.
+ * set when the counter is created, usually from the game's configuration.
  */
 public class LifeNumeric {
 
     /**
      * The maximum number of lives allowed in the game.
      */
-    private static final int MAX_LIFES = 4;
+    private final int maxLives;
 
     /**
      * The current number of lives the player has.
@@ -23,9 +23,11 @@ public class LifeNumeric {
      * Constructs a new LifeNumeric object with the specified initial number of lives.
      *
      * @param numLives The initial number of lives. This should be a non-negative integer.
+     * @param maxLives The maximum number of lives allowed in the game.
      */
-    public LifeNumeric(int numLives) {
+    public LifeNumeric(int numLives, int maxLives) {
         this.numLives = numLives;
+        this.maxLives = maxLives;
     }
 
     /**
@@ -38,10 +40,10 @@ public class LifeNumeric {
     }
 
     /**
-     * Adds a life to the life counter, up to the maximum number of lives (`MAX_LIFES`).
+     * Adds a life to the life counter, up to the maximum number of lives.
      */
     public void addLife() {
-        if (numLives < MAX_LIFES) {
+        if (numLives < maxLives) {
             this.numLives++;
         }
     }
@@ -0,0 +1,94 @@
+package bricker.gameobjects;
+
+import danogl.gui.rendering.TextRenderable;
+
+import java.awt.Color;
+
+/**
+ * The on-screen display of the player's lives: a row of hearts and a "Lives: N" text.
+ * <p>
+ * The display is created once per game with a heart slot for every possible life, and a life
+ * change only shows or hides the slots between the old and the new count and rewrites the text
+ * in place, so no game object is created, added or removed while the game runs.
+ */
+public class LivesDisplay {
+
+    private static final float VISIBLE = 1f;
+    private static final float HIDDEN = 0f;
+    private static final int LOW_LIVES = 1;
+    private static final int MEDIUM_LIVES = 2;
+
+    /**
+     * The heart slots, one per possible life, already added to the game.
+     */
+    private final Heart[] heartSlots;
+
+    /**
+     * The renderable of the lives text, already shown by a game object in the game.
+     */
+    private final TextRenderable livesText;
+
+    /**
+     * The number of lives currently displayed.
+     */
+    private int numLives;
+
+    /**
+     * Constructs a new LivesDisplay showing the given number of lives.
+     *
+     * @param heartSlots The heart slots, one per possible life, already added to the game.
+     * @param livesText  The renderable of the lives text, already shown in the game.
+     * @param numLives   The number of lives to display at first.
+     */
+    public LivesDisplay(Heart[] heartSlots, TextRenderable livesText, int numLives) {
+        this.heartSlots = heartSlots;
+        this.livesText = livesText;
+        for (int slot = 0; slot < heartSlots.length; slot++) {
+            heartSlots[slot].renderer().setOpaqueness(slot < numLives ? VISIBLE : HIDDEN);
+        }
+        this.numLives = numLives;
+        updateText();
+    }
+
+    /**
+     * Displays a new number of lives, touching only the heart slots that change.
+     *
+     * @param newNumLives The number of lives to display.
+     */
+    public void setLives(int newNumLives) {
+        if (newNumLives == numLives) {
+            return;
+        }
+        int low = Math.min(numLives, newNumLives);
+        int high = Math.min(Math.max(numLives, newNumLives), heartSlots.length);
+        float opaqueness = newNumLives > numLives ? VISIBLE : HIDDEN;
+        for (int slot = low; slot < high; slot++) {
+            heartSlots[slot].renderer().setOpaqueness(opaqueness);
+        }
+        numLives = newNumLives;
+        updateText();
+    }
+
+    /**
+     * Returns the number of lives currently displayed.
+     *
+     * @return The displayed number of lives.
+     */
+    public int getNumLives() {
+        return numLives;
+    }
+
+    /**
+     * Rewrites the lives text and colors it by the number of lives left.
+     */
+    private void updateText() {
+        livesText.setString("Lives: " + numLives);
+        if (numLives == LOW_LIVES) {
+            livesText.setColor(Color.red);
+        } else if (numLives == MEDIUM_LIVES) {
+            livesText.setColor(Color.yellow);
+        } else {
+            livesText.setColor(Color.green);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.audio.AudioMixer;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
@@ -21,12 +22,15 @@ public class Pack extends Ball{
      * @param renderable     The renderable representing the object. Can be null, in which case
      *                       the GameObject will not be rendered.
      * @param collisionSound The sound to be played when a collision occurs.
+     * @param audioMixer     The mixer that plays the collision sound. Can be null, in which case
+     *                       the sound is played directly.
      */
     public Pack(Vector2 topLeftCorner,
                 Vector2 dimensions,
                 Renderable renderable,
-                Sound collisionSound) {
-        super(topLeftCorner, dimensions, renderable, collisionSound);
+                Sound collisionSound,
+                AudioMixer audioMixer) {
+        super(topLeftCorner, dimensions, renderable, collisionSound, audioMixer);
         this.setDimensions(dimensions.mult(0.75f));
     }
 }
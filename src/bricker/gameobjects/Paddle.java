@@ -2,24 +2,24 @@ package bricker.gameobjects;
 
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-import java.awt.event.KeyEvent;
-
 /**
  * Represents a paddle in the game.
- * The paddle is controlled by user input and can move left or right within the game window.
+ * The paddle is driven by a PaddleController (e.g., the keyboard) and can move left or right
+ * within the game window.
  * It interacts with other game objects, such as balls and packs, and keeps track of collisions.
  */
 public class Paddle extends GameObject {
     private static final float MOVEMENT_SPEED = 300;
+    private static final Vector2 LEFT_VELOCITY = Vector2.LEFT.mult(MOVEMENT_SPEED);
+    private static final Vector2 RIGHT_VELOCITY = Vector2.RIGHT.mult(MOVEMENT_SPEED);
 
     /**
-     * The input listener that detects and processes user key presses (e.g., for moving the paddle).
+     * The controller that decides in which direction the paddle moves.
      */
-    private UserInputListener inputListener;
+    private PaddleController controller;
 
     /**
      * The dimensions of the game window, used to constrain the paddle's movement within the window.
@@ -44,15 +44,15 @@ public class Paddle extends GameObject {
      * @param dimensions       Width and height in window coordinates.
      * @param renderable       The renderable representing the object. Can be null, in which case
      *                         the GameObject will not be rendered.
-     * @param inputListener    The listener that detects user inputs.
+     * @param controller       The controller that decides in which direction the paddle moves.
      * @param windowDimensions The dimensions of the window.
      * @param isExtraPaddle    A boolean indicating whether this paddle is an extra paddle.
      */
     public Paddle(Vector2 topLeftCorner,
                   Vector2 dimensions, Renderable renderable,
-                  UserInputListener inputListener, Vector2 windowDimensions, boolean isExtraPaddle) {
+                  PaddleController controller, Vector2 windowDimensions, boolean isExtraPaddle) {
         super(topLeftCorner, dimensions, renderable);
-        this.inputListener = inputListener;
+        this.controller = controller;
         this.windowDimensions = windowDimensions;
         this.numBallCollisions = 0;
         this.isExtraPaddle = isExtraPaddle;
@@ -67,6 +67,24 @@ public class Paddle extends GameObject {
         return numBallCollisions;
     }
 
+    /**
+     * Sets the number of collisions this paddle has had with balls, e.g. when a saved game is restored.
+     *
+     * @param numBallCollisions The number of ball collisions.
+     */
+    public void setNumCollision(int numBallCollisions) {
+        this.numBallCollisions = numBallCollisions;
+    }
+
+    /**
+     * Returns the speed at which the paddle moves.
+     *
+     * @return The paddle's speed, in pixels per second.
+     */
+    public float getMovementSpeed() {
+        return MOVEMENT_SPEED;
+    }
+
     /**
      * Checks if this paddle is an extra paddle.
      *
@@ -77,26 +95,30 @@ public class Paddle extends GameObject {
     }
 
     /**
-     * Updates the paddle's position based on user input.
+     * Updates the paddle's position based on its controller.
      * Moves the paddle left or right while ensuring it stays within the window bounds.
+     * The velocity is always one of three shared constant vectors, so moving allocates nothing.
      *
      * @param deltaTime The time passed since the last update.
      */
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        Vector2 movementDirection = Vector2.ZERO;
+        float left = getTopLeftCorner().x();
+        boolean movingLeft = controller.isMovingLeft(this) && left >= 0;
+        boolean movingRight = controller.isMovingRight(this) &&
+                left <= windowDimensions.x() - this.getDimensions().x();
 
-        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT) &&
-                getTopLeftCorner().x() >= 0) {
-            movementDirection = movementDirection.add(Vector2.LEFT);
+        // Pressing both directions cancels out, as before
+        Vector2 velocity = Vector2.ZERO;
+        if (movingLeft && !movingRight) {
+            velocity = LEFT_VELOCITY;
+        } else if (movingRight && !movingLeft) {
+            velocity = RIGHT_VELOCITY;
         }
-        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT) &&
-                getTopLeftCorner().x() <= windowDimensions.x() - this.getDimensions().x()) {
-            movementDirection = movementDirection.add(Vector2.RIGHT);
+        if (getVelocity() != velocity) {
+            setVelocity(velocity);
         }
-
-        setVelocity(movementDirection.mult(MOVEMENT_SPEED));
     }
 
     /**
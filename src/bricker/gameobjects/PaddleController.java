@@ -0,0 +1,35 @@
+package bricker.gameobjects;
+
+/**
+ * Decides in which direction a paddle should move on each frame.
+ * <p>
+ * The paddle asks its controller on every update whether it should move left or right,
+ * so the same paddle can be driven by the keyboard, by a script or by an algorithm.
+ */
+public interface PaddleController {
+
+    /**
+     * Called once per frame, before any paddle is updated.
+     * Controllers that need per-frame bookkeeping can override this method.
+     *
+     * @param deltaTime The time passed since the last frame.
+     */
+    default void update(float deltaTime) {
+    }
+
+    /**
+     * Checks whether the given paddle should move left on this frame.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move left, false otherwise.
+     */
+    boolean isMovingLeft(Paddle paddle);
+
+    /**
+     * Checks whether the given paddle should move right on this frame.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move right, false otherwise.
+     */
+    boolean isMovingRight(Paddle paddle);
+}
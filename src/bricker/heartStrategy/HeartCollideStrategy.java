@@ -1,6 +1,7 @@
 package bricker.heartStrategy;
 
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.gameobjects.Heart;
 import danogl.GameObject;
 
 /**
@@ -33,7 +34,7 @@ public class HeartCollideStrategy implements CollisionStrategy {
      */
     @Override
     public void onCollision(GameObject object1, GameObject object2) {
-        this.gameManager.removeGeneralObject(object1); // Remove the heart from the game
-        this.gameManager.updateLives(true); // Increase the player's life count
+        // The heart leaves the game and the player's life count increases once the frame's collisions end
+        this.gameManager.getEvents().publishHeartCollected((Heart) object1);
     }
 }
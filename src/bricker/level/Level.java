@@ -0,0 +1,125 @@
+package bricker.level;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The layout of a level: a grid of cells, each either empty or holding a brick of a given
+ * strategy type, and optionally the probabilities used to choose the strategies of random bricks.
+ * <p>
+ * The cells are kept in a read-only byte buffer, one byte per cell, row after row. A level read
+ * from a binary file keeps the buffer the file is memory-mapped to, so even a very large level
+ * opens without copying or parsing its cells: they are read only when the bricks are created.
+ */
+public class Level {
+
+    /**
+     * Cell value of a cell with no brick.
+     */
+    public static final byte EMPTY = -1;
+
+    /**
+     * Cell value of a brick whose strategy is chosen at random when the level is played.
+     */
+    public static final byte RANDOM = -2;
+
+    /**
+     * Number of columns of cells.
+     */
+    private final int numColumns;
+
+    /**
+     * Number of rows of cells.
+     */
+    private final int numRows;
+
+    /**
+     * The cells, row after row, starting at index 0.
+     */
+    private final ByteBuffer cells;
+
+    /**
+     * The probability of each strategy type for random bricks, or null to use the game's own.
+     */
+    private final float[] strategyProbabilities;
+
+    /**
+     * Constructs a new Level.
+     *
+     * @param numColumns            Number of columns of cells.
+     * @param numRows               Number of rows of cells.
+     * @param cells                 The cells, row after row, from the buffer's position on.
+     *                              A strategy type id, EMPTY or RANDOM each.
+     * @param strategyProbabilities The probability of each strategy type for random bricks,
+     *                              or null to use the game's own.
+     * @throws IllegalArgumentException if the dimensions are not positive or there are too few cells.
+     */
+    public Level(int numColumns, int numRows, ByteBuffer cells, float[] strategyProbabilities) {
+        if (numColumns <= 0 || numRows <= 0) {
+            throw new IllegalArgumentException("Level dimensions must be positive.");
+        }
+        if (cells.remaining() < (long) numColumns * numRows) {
+            throw new IllegalArgumentException("Expected " + (long) numColumns * numRows +
+                    " level cells, got " + cells.remaining() + ".");
+        }
+        this.numColumns = numColumns;
+        this.numRows = numRows;
+        this.cells = cells.slice().asReadOnlyBuffer();
+        this.strategyProbabilities = strategyProbabilities == null ? null : strategyProbabilities.clone();
+    }
+
+    /**
+     * Creates a level whose every cell holds a random brick, like the game's default level.
+     *
+     * @param numColumns Number of columns of cells.
+     * @param numRows    Number of rows of cells.
+     * @return The new level.
+     * @throws IllegalArgumentException if the dimensions are not positive.
+     */
+    public static Level uniform(int numColumns, int numRows) {
+        if (numColumns <= 0 || numRows <= 0) {
+            throw new IllegalArgumentException("Level dimensions must be positive.");
+        }
+        byte[] cells = new byte[numColumns * numRows];
+        Arrays.fill(cells, RANDOM);
+        return new Level(numColumns, numRows, ByteBuffer.wrap(cells), null);
+    }
+
+    /**
+     * Returns the number of columns of cells.
+     *
+     * @return The column count.
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * Returns the number of rows of cells.
+     *
+     * @return The row count.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return A strategy type id, EMPTY or RANDOM.
+     */
+    public byte getCell(int column, int row) {
+        return cells.get(row * numColumns + column);
+    }
+
+    /**
+     * Returns the probabilities used to choose the strategies of random bricks.
+     *
+     * @return A copy of the probability of each strategy type, or null to use the game's own.
+     */
+    public float[] getStrategyProbabilities() {
+        return strategyProbabilities == null ? null : strategyProbabilities.clone();
+    }
+}
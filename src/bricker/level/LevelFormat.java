@@ -0,0 +1,34 @@
+package bricker.level;
+
+/**
+ * The binary and text layouts of a level, shared by the reader and the writer.
+ * <p>
+ * A binary level starts with a header: MAGIC (int), VERSION (short), the number of columns and
+ * of rows (ints) and the number of strategy probabilities (int), followed by the probabilities
+ * themselves (floats). A count of 0 means the game's own probabilities are used. The header is
+ * followed by one byte per cell, row after row: a strategy type id, Level.EMPTY or Level.RANDOM.
+ * Every value is big-endian.
+ * <p>
+ * A text level is made of lines. Empty lines and lines starting with COMMENT are ignored. The
+ * first line is SIZE followed by the number of columns and rows, optionally followed by a line of
+ * PROBABILITIES and one probability per strategy type. Every remaining line is a row of cells:
+ * EMPTY_CELL, RANDOM_CELL or the digit of a strategy type id.
+ */
+final class LevelFormat {
+
+    static final int MAGIC = 0x424C564C;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + 3 * Integer.BYTES;
+    static final String COMMENT = "#";
+    static final String SIZE = "size";
+    static final String PROBABILITIES = "probabilities";
+    static final char EMPTY_CELL = '.';
+    static final char RANDOM_CELL = '?';
+    static final String TEXT_EXTENSION = ".txt";
+
+    /**
+     * Private constructor, this class only holds constants.
+     */
+    private LevelFormat() {
+    }
+}
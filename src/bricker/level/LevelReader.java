@@ -0,0 +1,210 @@
+package bricker.level;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads levels from binary and text files. The layouts are described in LevelFormat.
+ */
+public final class LevelReader {
+
+    /**
+     * Private constructor, this class only holds static methods.
+     */
+    private LevelReader() {
+    }
+
+    /**
+     * Reads a level, as text if the file name ends with ".txt" and as binary otherwise.
+     *
+     * @param file The level file.
+     * @return The level.
+     * @throws IllegalArgumentException if the file is not a valid level.
+     * @throws UncheckedIOException     if the file can not be read.
+     */
+    public static Level read(Path file) {
+        if (file.getFileName().toString().endsWith(LevelFormat.TEXT_EXTENSION)) {
+            return readText(file);
+        }
+        return readBinary(file);
+    }
+
+    /**
+     * Reads a binary level by memory-mapping the file. Only the header is parsed; the cells are
+     * read straight from the mapping when the bricks are created.
+     *
+     * @param file The binary level file.
+     * @return The level.
+     * @throws IllegalArgumentException if the file is not a binary level of a supported version.
+     * @throws UncheckedIOException     if the file can not be read.
+     */
+    public static Level readBinary(Path file) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read level " + file, e);
+        }
+        return readBinary(buffer, file.toString());
+    }
+
+    /**
+     * Reads a binary level from a buffer, e.g. a level embedded in a game recording. The level
+     * keeps reading its cells from the buffer.
+     *
+     * @param buffer The buffer, positioned at the level.
+     * @return The level.
+     * @throws IllegalArgumentException if the buffer does not hold a binary level of a supported version.
+     */
+    public static Level readBinary(ByteBuffer buffer) {
+        return readBinary(buffer, "buffer");
+    }
+
+    /**
+     * Reads a binary level from a buffer.
+     *
+     * @param buffer The buffer, positioned at the level.
+     * @param source Where the buffer comes from, used in error messages.
+     * @return The level.
+     * @throws IllegalArgumentException if the buffer does not hold a binary level of a supported version.
+     */
+    private static Level readBinary(ByteBuffer buffer, String source) {
+        if (buffer.remaining() < LevelFormat.HEADER_SIZE || buffer.getInt() != LevelFormat.MAGIC ||
+                buffer.getShort() != LevelFormat.VERSION) {
+            throw new IllegalArgumentException("Not a supported Bricker level: " + source);
+        }
+        int numColumns = buffer.getInt();
+        int numRows = buffer.getInt();
+        int numProbabilities = buffer.getInt();
+        if (numProbabilities < 0 || buffer.remaining() < (long) numProbabilities * Float.BYTES) {
+            throw new IllegalArgumentException("Corrupt level " + source + ": bad probability count " +
+                    numProbabilities);
+        }
+        float[] probabilities = null;
+        if (numProbabilities > 0) {
+            probabilities = new float[numProbabilities];
+            for (int i = 0; i < numProbabilities; i++) {
+                probabilities[i] = buffer.getFloat();
+            }
+        }
+        return new Level(numColumns, numRows, buffer, probabilities);
+    }
+
+    /**
+     * Reads a text level.
+     *
+     * @param file The text level file.
+     * @return The level.
+     * @throws IllegalArgumentException if the file is not a valid text level.
+     * @throws UncheckedIOException     if the file can not be read.
+     */
+    public static Level readText(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read level " + file, e);
+        }
+        List<String> content = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith(LevelFormat.COMMENT)) {
+                content.add(trimmed);
+            }
+        }
+        if (content.isEmpty()) {
+            throw new IllegalArgumentException("Empty level " + file);
+        }
+
+        String[] size = content.get(0).split("\\s+");
+        if (size.length != 3 || !size[0].equals(LevelFormat.SIZE)) {
+            throw new IllegalArgumentException("Level " + file + " must start with \"" + LevelFormat.SIZE +
+                    " <columns> <rows>\".");
+        }
+        int numColumns = parseInt(size[1], file);
+        int numRows = parseInt(size[2], file);
+        int firstRow = 1;
+
+        float[] probabilities = null;
+        if (content.size() > 1 && content.get(1).startsWith(LevelFormat.PROBABILITIES)) {
+            String[] values = content.get(1).split("\\s+");
+            probabilities = new float[values.length - 1];
+            for (int i = 1; i < values.length; i++) {
+                try {
+                    probabilities[i - 1] = Float.parseFloat(values[i]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad probability in level " + file + ": " + values[i]);
+                }
+            }
+            firstRow++;
+        }
+
+        if (content.size() - firstRow != numRows) {
+            throw new IllegalArgumentException("Level " + file + " should have " + numRows + " rows, has " +
+                    (content.size() - firstRow) + ".");
+        }
+        byte[] cells = new byte[numColumns * numRows];
+        for (int row = 0; row < numRows; row++) {
+            String line = content.get(firstRow + row);
+            if (line.length() != numColumns) {
+                throw new IllegalArgumentException("Row " + row + " of level " + file + " should have " +
+                        numColumns + " cells, has " + line.length() + ".");
+            }
+            for (int column = 0; column < numColumns; column++) {
+                cells[row * numColumns + column] = parseCell(line.charAt(column), file);
+            }
+        }
+        return new Level(numColumns, numRows, ByteBuffer.wrap(cells), probabilities);
+    }
+
+    /**
+     * Parses a cell of a text level.
+     *
+     * @param cell The cell's character.
+     * @param file The level file, used in error messages.
+     * @return The cell value.
+     * @throws IllegalArgumentException if the character is not a cell.
+     */
+    private static byte parseCell(char cell, Path file) {
+        if (cell == LevelFormat.EMPTY_CELL) {
+            return Level.EMPTY;
+        }
+        if (cell == LevelFormat.RANDOM_CELL) {
+            return Level.RANDOM;
+        }
+        if (cell >= '0' && cell <= '9') {
+            return (byte) (cell - '0');
+        }
+        throw new IllegalArgumentException("Bad cell '" + cell + "' in level " + file);
+    }
+
+    /**
+     * Parses a positive number of a text level.
+     *
+     * @param value The text of the number.
+     * @param file  The level file, used in error messages.
+     * @return The number.
+     * @throws IllegalArgumentException if the text is not a positive number.
+     */
+    private static int parseInt(String value, Path file) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Bad level dimension in " + file + ": " + value);
+    }
+}
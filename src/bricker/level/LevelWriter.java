@@ -0,0 +1,116 @@
+package bricker.level;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes levels in the binary layout described in LevelFormat, e.g. to compile an authored text
+ * level into a binary one that opens without parsing.
+ */
+public final class LevelWriter {
+
+    private static final int CELLS_PER_WRITE = 1 << 16;
+
+    /**
+     * Private constructor, this class only holds static methods.
+     */
+    private LevelWriter() {
+    }
+
+    /**
+     * Writes a level as a binary file.
+     *
+     * @param level The level to write.
+     * @param file  The file to write to. Replaced if it exists.
+     * @throws UncheckedIOException if the file can not be written.
+     */
+    public static void writeBinary(Level level, Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeBinary(level, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write level " + file, e);
+        }
+    }
+
+    /**
+     * Writes a level in the binary layout to a channel, e.g. to embed it in a game recording.
+     * Exactly getBinarySize bytes are written.
+     *
+     * @param level   The level to write.
+     * @param channel The channel to write to, left open.
+     * @throws IOException if writing fails.
+     */
+    public static void writeBinary(Level level, WritableByteChannel channel) throws IOException {
+        float[] probabilities = level.getStrategyProbabilities();
+        int numProbabilities = probabilities == null ? 0 : probabilities.length;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(CELLS_PER_WRITE,
+                LevelFormat.HEADER_SIZE + numProbabilities * Float.BYTES));
+        buffer.putInt(LevelFormat.MAGIC)
+                .putShort(LevelFormat.VERSION)
+                .putInt(level.getNumColumns())
+                .putInt(level.getNumRows())
+                .putInt(numProbabilities);
+        for (int i = 0; i < numProbabilities; i++) {
+            buffer.putFloat(probabilities[i]);
+        }
+        for (int row = 0; row < level.getNumRows(); row++) {
+            for (int column = 0; column < level.getNumColumns(); column++) {
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+                buffer.put(level.getCell(column, row));
+            }
+        }
+        flush(channel, buffer);
+    }
+
+    /**
+     * Returns the number of bytes writeBinary writes for a level.
+     *
+     * @param level The level.
+     * @return The size of the level's binary layout.
+     */
+    public static long getBinarySize(Level level) {
+        float[] probabilities = level.getStrategyProbabilities();
+        int numProbabilities = probabilities == null ? 0 : probabilities.length;
+        return LevelFormat.HEADER_SIZE + (long) numProbabilities * Float.BYTES +
+                (long) level.getNumColumns() * level.getNumRows();
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @param channel The channel the level is written to.
+     * @param buffer  The buffered bytes.
+     * @throws IOException if writing fails.
+     */
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Compiles a level, usually a text one, into a binary level.
+     *
+     * @param args The level to read and the binary file to write.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelWriter <level> <binary level>");
+            System.exit(2);
+        }
+        Level level = LevelReader.read(Paths.get(args[0]));
+        writeBinary(level, Paths.get(args[1]));
+        System.out.printf("Wrote a %dx%d level to %s%n", level.getNumColumns(), level.getNumRows(), args[1]);
+    }
+}
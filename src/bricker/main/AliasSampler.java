@@ -0,0 +1,125 @@
+package bricker.main;
+
+/**
+ * Draws indices from a fixed discrete probability distribution in constant time,
+ * using Walker's alias method (in Vose's formulation).
+ * <p>
+ * The table is built once per probability array, in linear time. Every draw then costs a single
+ * uniform index and a single uniform double, regardless of the number of outcomes. The sampler
+ * holds no random state of its own, so the same table can be shared and drawn from with any
+ * (e.g. seeded) generator.
+ */
+public class AliasSampler {
+
+    private static final float PROBABILITIES_SUM = 1.0f;
+    private static final float PROBABILITIES_TOLERANCE = 1e-6f;
+
+    /**
+     * For each column, the probability of keeping the column's own index.
+     */
+    private final float[] keepProbabilities;
+
+    /**
+     * For each column, the index returned when the column's own index is not kept.
+     */
+    private final int[] aliases;
+
+    /**
+     * Builds the alias table of the given distribution.
+     *
+     * @param probabilities The probability of each index. Must be finite, non-negative and sum to 1.
+     * @throws IllegalArgumentException if the probabilities are empty, negative, not finite or do
+     *                                  not sum to 1.
+     */
+    public AliasSampler(float[] probabilities) {
+        validateProbabilities(probabilities);
+        int numOutcomes = probabilities.length;
+        this.keepProbabilities = new float[numOutcomes];
+        this.aliases = new int[numOutcomes];
+
+        // Scale so that the average column holds exactly 1, then split into small and large columns:
+        float[] scaled = new float[numOutcomes];
+        int[] small = new int[numOutcomes];
+        int[] large = new int[numOutcomes];
+        int numSmall = 0;
+        int numLarge = 0;
+        for (int i = 0; i < numOutcomes; i++) {
+            scaled[i] = probabilities[i] * numOutcomes;
+            if (scaled[i] < 1) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
+            }
+        }
+
+        // Fill every small column with the excess of a large one:
+        while (numSmall > 0 && numLarge > 0) {
+            int less = small[--numSmall];
+            int more = large[--numLarge];
+            keepProbabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[numSmall++] = more;
+            } else {
+                large[numLarge++] = more;
+            }
+        }
+
+        // What is left is full up to rounding errors:
+        while (numLarge > 0) {
+            int index = large[--numLarge];
+            keepProbabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (numSmall > 0) {
+            int index = small[--numSmall];
+            keepProbabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Draws a random index according to the distribution.
+     *
+     * @param random The random generator to draw with.
+     * @return An index between 0 (inclusive) and the number of outcomes (exclusive).
+     */
+    public int sample(GameRandom random) {
+        int column = random.nextInt(keepProbabilities.length);
+        return random.nextDouble() < keepProbabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the number of outcomes of the distribution.
+     *
+     * @return The number of outcomes.
+     */
+    public int getNumOutcomes() {
+        return keepProbabilities.length;
+    }
+
+    /**
+     * Validates that the probabilities array is a probability distribution.
+     *
+     * @param probabilities The array of probabilities to validate.
+     * @throws IllegalArgumentException if the probabilities are empty, negative, not finite or do
+     *                                  not sum to 1.0.
+     */
+    private static void validateProbabilities(float[] probabilities) {
+        if (probabilities.length == 0) {
+            throw new IllegalArgumentException("Probabilities must not be empty.");
+        }
+        float sum = 0;
+        for (float prob : probabilities) {
+            // Written so that NaN fails too
+            if (!(prob >= 0) || Float.isInfinite(prob)) {
+                throw new IllegalArgumentException("Probabilities must be finite and non-negative.");
+            }
+            sum += prob;
+        }
+        if (Math.abs(sum - PROBABILITIES_SUM) > PROBABILITIES_TOLERANCE) {
+            throw new IllegalArgumentException("Probabilities must sum to 1.");
+        }
+    }
+}
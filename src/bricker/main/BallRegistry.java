@@ -0,0 +1,253 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+
+import java.util.Arrays;
+
+/**
+ * Every ball in the game, together with its per-ball state.
+ * <p>
+ * A ball is either primary, i.e. a ball the player has to keep in play, or secondary, like the
+ * packs, which simply leave the game when they fall. Each ball has its own turbo state, started
+ * at the value of its own collision counter. The state is kept in parallel arrays indexed by the
+ * ball's slot, so iterating hundreds of balls touches no maps and allocates nothing. Removing a
+ * ball moves the last ball into its slot, so slots are only stable until the next removal. The
+ * slot of every ball is also indexed, so finding or removing a given ball takes constant time.
+ */
+public class BallRegistry {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_TURBO = -1;
+
+    /**
+     * The registered balls, indexed by slot.
+     */
+    private Ball[] balls;
+
+    /**
+     * The slot of every registered ball.
+     */
+    private final SlotIndex<Ball> slots;
+
+    /**
+     * Whether the ball in each slot is primary.
+     */
+    private boolean[] primary;
+
+    /**
+     * The collision counter of the ball in each slot when its turbo started, or NO_TURBO.
+     */
+    private int[] turboStartCollisions;
+
+    /**
+     * The number of registered balls.
+     */
+    private int size;
+
+    /**
+     * The number of registered primary balls.
+     */
+    private int numPrimary;
+
+    /**
+     * The number of registered balls in turbo mode.
+     */
+    private int numTurbo;
+
+    /**
+     * Constructs a new, empty BallRegistry.
+     */
+    public BallRegistry() {
+        this.balls = new Ball[INITIAL_CAPACITY];
+        this.slots = new SlotIndex<>(INITIAL_CAPACITY);
+        this.primary = new boolean[INITIAL_CAPACITY];
+        this.turboStartCollisions = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Registers a ball, not in turbo mode.
+     *
+     * @param ball      The ball to register.
+     * @param isPrimary Whether the player has to keep the ball in play.
+     * @throws IllegalArgumentException if the ball is already registered.
+     */
+    public void add(Ball ball, boolean isPrimary) {
+        if (slots.get(ball) >= 0) {
+            throw new IllegalArgumentException("Ball is already registered.");
+        }
+        if (size == balls.length) {
+            balls = Arrays.copyOf(balls, 2 * size);
+            primary = Arrays.copyOf(primary, 2 * size);
+            turboStartCollisions = Arrays.copyOf(turboStartCollisions, 2 * size);
+        }
+        balls[size] = ball;
+        slots.put(ball, size);
+        primary[size] = isPrimary;
+        turboStartCollisions[size] = NO_TURBO;
+        size++;
+        if (isPrimary) {
+            numPrimary++;
+        }
+    }
+
+    /**
+     * Unregisters a ball.
+     *
+     * @param ball The ball to unregister.
+     * @return Whether the ball was registered.
+     */
+    public boolean remove(Ball ball) {
+        int slot = indexOf(ball);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Unregisters the ball in a slot, moving the last ball into the slot.
+     *
+     * @param slot The slot of the ball to unregister.
+     */
+    public void removeAt(int slot) {
+        if (primary[slot]) {
+            numPrimary--;
+        }
+        if (turboStartCollisions[slot] != NO_TURBO) {
+            numTurbo--;
+        }
+        slots.remove(balls[slot]);
+        size--;
+        if (slot != size) {
+            balls[slot] = balls[size];
+            slots.put(balls[slot], slot);
+            primary[slot] = primary[size];
+            turboStartCollisions[slot] = turboStartCollisions[size];
+        }
+        balls[size] = null;
+    }
+
+    /**
+     * Returns the slot of a ball.
+     *
+     * @param ball The ball.
+     * @return The ball's slot, or -1 if it is not registered.
+     */
+    public int indexOf(Ball ball) {
+        return slots.get(ball);
+    }
+
+    /**
+     * Returns the ball in a slot.
+     *
+     * @param slot The slot, between 0 and size() - 1.
+     * @return The ball.
+     */
+    public Ball get(int slot) {
+        return balls[slot];
+    }
+
+    /**
+     * Returns whether the ball in a slot is primary.
+     *
+     * @param slot The slot.
+     * @return True if the player has to keep the ball in play.
+     */
+    public boolean isPrimary(int slot) {
+        return primary[slot];
+    }
+
+    /**
+     * Returns whether the ball in a slot is in turbo mode.
+     *
+     * @param slot The slot.
+     * @return True if the ball is in turbo mode.
+     */
+    public boolean isTurbo(int slot) {
+        return turboStartCollisions[slot] != NO_TURBO;
+    }
+
+    /**
+     * Returns the collision counter the ball in a slot had when its turbo started.
+     *
+     * @param slot The slot of a ball in turbo mode.
+     * @return The ball's collision counter at the start of its turbo.
+     */
+    public int getTurboStartCollisions(int slot) {
+        return turboStartCollisions[slot];
+    }
+
+    /**
+     * Puts the ball in a slot in turbo mode, starting at its current collision counter.
+     *
+     * @param slot The slot of a ball not in turbo mode.
+     */
+    public void startTurbo(int slot) {
+        startTurbo(slot, balls[slot].getCollisionCounter());
+    }
+
+    /**
+     * Puts the ball in a slot in turbo mode, as if it started at the given collision counter,
+     * e.g. when a saved game is restored.
+     *
+     * @param slot            The slot of a ball not in turbo mode.
+     * @param startCollisions The ball's collision counter at the start of its turbo.
+     * @throws IllegalArgumentException if the collision counter is negative.
+     */
+    public void startTurbo(int slot, int startCollisions) {
+        if (startCollisions < 0) {
+            throw new IllegalArgumentException("Turbo start collisions must not be negative.");
+        }
+        turboStartCollisions[slot] = startCollisions;
+        numTurbo++;
+    }
+
+    /**
+     * Takes the ball in a slot out of turbo mode.
+     *
+     * @param slot The slot of a ball in turbo mode.
+     */
+    public void stopTurbo(int slot) {
+        turboStartCollisions[slot] = NO_TURBO;
+        numTurbo--;
+    }
+
+    /**
+     * Unregisters every ball.
+     */
+    public void clear() {
+        Arrays.fill(balls, 0, size, null);
+        slots.clear();
+        size = 0;
+        numPrimary = 0;
+        numTurbo = 0;
+    }
+
+    /**
+     * Returns the number of registered balls.
+     *
+     * @return The registry's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of registered primary balls.
+     *
+     * @return The primary ball count.
+     */
+    public int getNumPrimary() {
+        return numPrimary;
+    }
+
+    /**
+     * Returns the number of registered balls in turbo mode.
+     *
+     * @return The turbo ball count.
+     */
+    public int getNumTurbo() {
+        return numTurbo;
+    }
+}
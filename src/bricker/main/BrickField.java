@@ -0,0 +1,291 @@
+package bricker.main;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A compact brick index that stores the bricks in primitive arrays instead of game objects.
+ * <p>
+ * Every brick is just a position, an alive bit and a strategy id, since all the bricks of a level
+ * share their dimensions and image. The whole field is drawn by a single renderable, and a Brick
+ * game object is only created for the moment a brick is hit, so its collision strategy can handle
+ * the hit as usual. This lets very large stress levels fit in a small heap.
+ */
+public class BrickField extends BrickIndex {
+
+    /**
+     * The x coordinate of each brick's left edge, in row-major order.
+     */
+    private final float[] brickLefts;
+
+    /**
+     * The y coordinate of each brick's top edge, in row-major order.
+     */
+    private final float[] brickTops;
+
+    /**
+     * The cells that still hold a brick.
+     */
+    private final BitSet alive;
+
+    /**
+     * The strategy type id of each brick in row-major order, NO_STRATEGY where no brick was placed.
+     */
+    private final byte[] strategyIds;
+
+    /**
+     * The shared strategy of each strategy type, indexed by type id.
+     */
+    private final CollisionStrategy[] strategies;
+
+    /**
+     * The dimensions shared by all the bricks.
+     */
+    private final Vector2 brickDimensions;
+
+    /**
+     * Constructs a new, empty BrickField.
+     *
+     * @param originX         The x coordinate of the field's top-left corner.
+     * @param originY         The y coordinate of the field's top-left corner.
+     * @param brickDimensions The dimensions shared by all the bricks.
+     * @param gap             The space between neighbouring bricks.
+     * @param numColumns      The number of columns in the field.
+     * @param numRows         The number of rows in the field.
+     * @param strategies      The shared strategy of each strategy type, indexed by type id.
+     */
+    public BrickField(float originX, float originY, Vector2 brickDimensions, float gap,
+                      int numColumns, int numRows, CollisionStrategy[] strategies) {
+        super(originX, originY, brickDimensions.x() + gap, brickDimensions.y() + gap, numColumns, numRows);
+        int numCells = numColumns * numRows;
+        this.brickLefts = new float[numCells];
+        this.brickTops = new float[numCells];
+        this.alive = new BitSet(numCells);
+        this.strategyIds = new byte[numCells];
+        Arrays.fill(this.strategyIds, (byte) NO_STRATEGY);
+        this.strategies = strategies;
+        this.brickDimensions = brickDimensions;
+    }
+
+    /**
+     * Places a brick in the given cell.
+     *
+     * @param column     The column of the cell.
+     * @param row        The row of the cell.
+     * @param strategyId The strategy type id of the brick.
+     */
+    public void add(int column, int row, int strategyId) {
+        int index = row * getNumColumns() + column;
+        brickLefts[index] = cellLeft(column);
+        brickTops[index] = cellTop(row);
+        strategyIds[index] = (byte) strategyId;
+        alive.set(index);
+    }
+
+    /**
+     * Returns the number of bricks still in the field.
+     *
+     * @return The number of alive bricks.
+     */
+    public int getNumAlive() {
+        return alive.cardinality();
+    }
+
+    /**
+     * Creates a renderable that draws every alive brick of the field with the given image.
+     * It should be attached to a game object whose top-left corner is the field's origin.
+     *
+     * @param brickImage The image shared by all the bricks.
+     * @return The renderable of the whole field.
+     */
+    public Renderable createRenderable(Renderable brickImage) {
+        return new FieldRenderable(brickImage);
+    }
+
+    /**
+     * Checks whether the cell still holds a brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return True if the brick in the cell is alive, false otherwise.
+     */
+    @Override
+    protected boolean hasBrick(int index) {
+        return alive.get(index);
+    }
+
+    /**
+     * Returns the stored left edge of the brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's left edge.
+     */
+    @Override
+    protected float getBrickLeft(int index) {
+        return brickLefts[index];
+    }
+
+    /**
+     * Returns the stored top edge of the brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's top edge.
+     */
+    @Override
+    protected float getBrickTop(int index) {
+        return brickTops[index];
+    }
+
+    /**
+     * Returns the width shared by all the bricks.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's width.
+     */
+    @Override
+    protected float getBrickWidth(int index) {
+        return brickDimensions.x();
+    }
+
+    /**
+     * Returns the height shared by all the bricks.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's height.
+     */
+    @Override
+    protected float getBrickHeight(int index) {
+        return brickDimensions.y();
+    }
+
+    /**
+     * Creates a short-lived Brick game object for the hit brick and lets its strategy handle the hit.
+     *
+     * @param index The row-major index of the cell.
+     * @param ball  The ball that hit the brick.
+     */
+    @Override
+    protected void hit(int index, Ball ball) {
+        Brick brick = new Brick(new Vector2(brickLefts[index], brickTops[index]), brickDimensions,
+                null, strategies[strategyIds[index]]);
+        brick.setTag("Brick");
+        brick.hit(ball);
+    }
+
+    /**
+     * Clears the cell's alive bit.
+     *
+     * @param index The row-major index of the cell.
+     */
+    @Override
+    protected void clearCell(int index) {
+        alive.clear(index);
+    }
+
+    /**
+     * Clears the cell's alive bit, if it is still set.
+     *
+     * @param index The row-major index of the cell.
+     * @param brick The brick created for the hit, unused since the cell identifies the brick.
+     * @return True if the brick was alive, false otherwise.
+     */
+    @Override
+    protected boolean removeAt(int index, Brick brick) {
+        if (!alive.get(index)) {
+            return false;
+        }
+        alive.clear(index);
+        return true;
+    }
+
+    /**
+     * Sets the cell's alive bit again. The brick's position and strategy id were never cleared.
+     *
+     * @param index The row-major index of the cell.
+     * @return Null, since the bricks of a field are not game objects.
+     */
+    @Override
+    protected Brick restoreCell(int index) {
+        alive.set(index);
+        return null;
+    }
+
+    /**
+     * Returns null, since the bricks of a field are only game objects while they are being hit.
+     *
+     * @param index The row-major index of a cell that holds a brick.
+     * @return Null.
+     */
+    @Override
+    protected Brick getBrickObject(int index) {
+        return null;
+    }
+
+    /**
+     * Returns the stored strategy type id of the brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's strategy type id, or NO_STRATEGY if no brick was placed in the cell.
+     */
+    @Override
+    protected int getStrategyId(int index) {
+        return strategyIds[index];
+    }
+
+    /**
+     * Replaces the stored strategy type id of the brick.
+     *
+     * @param index      The row-major index of a cell where a brick was placed.
+     * @param strategyId The brick's new strategy type id.
+     */
+    @Override
+    protected void setStrategyId(int index, int strategyId) {
+        strategyIds[index] = (byte) strategyId;
+    }
+
+    /**
+     * Draws every alive brick of the field with a single, shared image.
+     */
+    private class FieldRenderable implements Renderable {
+
+        /**
+         * The image shared by all the bricks.
+         */
+        private final Renderable brickImage;
+
+        /**
+         * Constructs a new FieldRenderable.
+         *
+         * @param brickImage The image shared by all the bricks.
+         */
+        FieldRenderable(Renderable brickImage) {
+            this.brickImage = brickImage;
+        }
+
+        /**
+         * Renders every alive brick relative to the field's on-screen position. Each brick is drawn
+         * at the origin of a graphics context translated to the brick, so no position is allocated.
+         */
+        @Override
+        public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                           double degreesCounterClockwise, boolean isFlippedHorizontally,
+                           boolean isFlippedVertically, double opaqueness) {
+            float offsetX = topLeftCorner.x() - cellLeft(0);
+            float offsetY = topLeftCorner.y() - cellTop(0);
+            for (int index = alive.nextSetBit(0); index >= 0; index = alive.nextSetBit(index + 1)) {
+                double brickX = brickLefts[index] + offsetX;
+                double brickY = brickTops[index] + offsetY;
+                g.translate(brickX, brickY);
+                brickImage.render(g, Vector2.ZERO, brickDimensions, degreesCounterClockwise,
+                        isFlippedHorizontally, isFlippedVertically, opaqueness);
+                g.translate(-brickX, -brickY);
+            }
+        }
+    }
+}
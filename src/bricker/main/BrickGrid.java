@@ -0,0 +1,207 @@
+package bricker.main;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+
+import java.util.Arrays;
+
+/**
+ * A brick index whose cells hold regular Brick game objects.
+ * Used for normal levels, where every brick is also a game object rendered by the engine.
+ */
+public class BrickGrid extends BrickIndex {
+
+    /**
+     * The bricks of the grid in row-major order, null where there is no brick.
+     */
+    private final Brick[] cells;
+
+    /**
+     * The bricks placed in the grid in row-major order, including the ones that were removed since.
+     */
+    private final Brick[] placedBricks;
+
+    /**
+     * The strategy type id of each placed brick in row-major order, NO_STRATEGY where no brick was placed.
+     */
+    private final byte[] strategyIds;
+
+    /**
+     * The shared strategy of each strategy type, indexed by type id.
+     */
+    private final CollisionStrategy[] strategies;
+
+    /**
+     * Constructs a new, empty BrickGrid.
+     *
+     * @param originX    The x coordinate of the grid's top-left corner.
+     * @param originY    The y coordinate of the grid's top-left corner.
+     * @param cellWidth  The horizontal distance between the left edges of neighbouring cells.
+     * @param cellHeight The vertical distance between the top edges of neighbouring cells.
+     * @param numColumns The number of columns in the grid.
+     * @param numRows    The number of rows in the grid.
+     * @param strategies The shared strategy of each strategy type, indexed by type id.
+     */
+    public BrickGrid(float originX, float originY, float cellWidth, float cellHeight,
+                     int numColumns, int numRows, CollisionStrategy[] strategies) {
+        super(originX, originY, cellWidth, cellHeight, numColumns, numRows);
+        this.cells = new Brick[numColumns * numRows];
+        this.placedBricks = new Brick[numColumns * numRows];
+        this.strategyIds = new byte[numColumns * numRows];
+        Arrays.fill(this.strategyIds, (byte) NO_STRATEGY);
+        this.strategies = strategies;
+    }
+
+    /**
+     * Places a brick in the given cell.
+     *
+     * @param column     The column of the cell.
+     * @param row        The row of the cell.
+     * @param brick      The brick to place.
+     * @param strategyId The strategy type id of the brick.
+     */
+    public void add(int column, int row, Brick brick, int strategyId) {
+        cells[row * getNumColumns() + column] = brick;
+        placedBricks[row * getNumColumns() + column] = brick;
+        strategyIds[row * getNumColumns() + column] = (byte) strategyId;
+    }
+
+    /**
+     * Checks whether the cell holds a brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return True if there is a brick in the cell, false otherwise.
+     */
+    @Override
+    protected boolean hasBrick(int index) {
+        return cells[index] != null;
+    }
+
+    /**
+     * Returns the left edge of the brick game object.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's left edge.
+     */
+    @Override
+    protected float getBrickLeft(int index) {
+        return cells[index].getTopLeftCorner().x();
+    }
+
+    /**
+     * Returns the top edge of the brick game object.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's top edge.
+     */
+    @Override
+    protected float getBrickTop(int index) {
+        return cells[index].getTopLeftCorner().y();
+    }
+
+    /**
+     * Returns the width of the brick game object.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's width.
+     */
+    @Override
+    protected float getBrickWidth(int index) {
+        return cells[index].getDimensions().x();
+    }
+
+    /**
+     * Returns the height of the brick game object.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's height.
+     */
+    @Override
+    protected float getBrickHeight(int index) {
+        return cells[index].getDimensions().y();
+    }
+
+    /**
+     * Lets the brick game object handle the hit through its collision strategy.
+     *
+     * @param index The row-major index of the cell.
+     * @param ball  The ball that hit the brick.
+     */
+    @Override
+    protected void hit(int index, Ball ball) {
+        cells[index].hit(ball);
+    }
+
+    /**
+     * Empties the cell.
+     *
+     * @param index The row-major index of the cell.
+     */
+    @Override
+    protected void clearCell(int index) {
+        cells[index] = null;
+    }
+
+    /**
+     * Empties the cell if it holds the given brick.
+     *
+     * @param index The row-major index of the cell.
+     * @param brick The brick to remove.
+     * @return True if the brick was removed, false otherwise.
+     */
+    @Override
+    protected boolean removeAt(int index, Brick brick) {
+        if (cells[index] != brick) {
+            return false;
+        }
+        cells[index] = null;
+        return true;
+    }
+
+    /**
+     * Puts the brick that was placed in the cell back.
+     *
+     * @param index The row-major index of the cell.
+     * @return The restored brick, to be added back to the game.
+     */
+    @Override
+    protected Brick restoreCell(int index) {
+        cells[index] = placedBricks[index];
+        return placedBricks[index];
+    }
+
+    /**
+     * Returns the brick game object in the cell.
+     *
+     * @param index The row-major index of a cell that holds a brick.
+     * @return The brick.
+     */
+    @Override
+    protected Brick getBrickObject(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns the strategy type id the brick placed in the cell has.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's strategy type id, or NO_STRATEGY if no brick was placed in the cell.
+     */
+    @Override
+    protected int getStrategyId(int index) {
+        return strategyIds[index];
+    }
+
+    /**
+     * Gives the brick placed in the cell the shared strategy of another type.
+     *
+     * @param index      The row-major index of a cell where a brick was placed.
+     * @param strategyId The brick's new strategy type id.
+     */
+    @Override
+    protected void setStrategyId(int index, int strategyId) {
+        strategyIds[index] = (byte) strategyId;
+        placedBricks[index].setCollisionStrategy(strategies[strategyId]);
+    }
+}
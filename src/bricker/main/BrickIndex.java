@@ -0,0 +1,631 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * A uniform-grid index of the bricks in the game.
+ * <p>
+ * The bricks are laid out on a regular grid of cells, where every cell holds at most one brick
+ * and neighbouring bricks are separated by a small gap. Instead of letting the engine test every
+ * ball against every brick, the index maps a ball's bounding box to the few cells it overlaps and
+ * only tests the bricks in those cells, so the cost of a query does not depend on the total
+ * number of bricks. Subclasses decide how the bricks themselves are stored.
+ * <p>
+ * Every ball and pack is swept each frame, whatever its speed: its box is moved along the path it
+ * took during the frame, and the first brick it would have touched is hit at its time of impact,
+ * so a ball can not tunnel through a brick no matter how large the time step is. Only a ball that
+ * entered the game during the frame, and so has no path yet, is tested where it is with collide.
+ * <p>
+ * The index remembers which cells were emptied since the bricks were placed, so a new game on
+ * the same level can bring the bricks back in place instead of building the level again. It can
+ * also write which cells are alive, and the strategy of every brick, to a snapshot of the game.
+ * <p>
+ * A brick hit through the index leaves it at once, but leaves the game only when the event its
+ * strategy published is applied. The index remembers the cells emptied by hits until then, so
+ * remove reports every brick that leaves exactly once, whichever way it was hit.
+ */
+public abstract class BrickIndex {
+
+    private static final int MAX_HITS_PER_SWEEP = 4;
+    private static final int INITIAL_CLEARED_CAPACITY = 16;
+
+    /**
+     * The strategy type id of a cell where no brick was placed.
+     */
+    protected static final int NO_STRATEGY = -1;
+
+    /**
+     * The x coordinate of the grid's top-left corner.
+     */
+    private final float originX;
+
+    /**
+     * The y coordinate of the grid's top-left corner.
+     */
+    private final float originY;
+
+    /**
+     * The horizontal distance between the left edges of neighbouring cells.
+     */
+    private final float cellWidth;
+
+    /**
+     * The vertical distance between the top edges of neighbouring cells.
+     */
+    private final float cellHeight;
+
+    /**
+     * The number of columns in the grid.
+     */
+    private final int numColumns;
+
+    /**
+     * The number of rows in the grid.
+     */
+    private final int numRows;
+
+    /**
+     * The cells emptied since the bricks were placed or last restored.
+     */
+    private int[] clearedCells;
+
+    /**
+     * The number of cells emptied since the bricks were placed or last restored.
+     */
+    private int numCleared;
+
+    /**
+     * The cells emptied by a hit whose brick was not removed through remove yet.
+     */
+    private final BitSet hitCells;
+
+    /**
+     * Constructs a new BrickIndex.
+     *
+     * @param originX    The x coordinate of the grid's top-left corner.
+     * @param originY    The y coordinate of the grid's top-left corner.
+     * @param cellWidth  The horizontal distance between the left edges of neighbouring cells.
+     * @param cellHeight The vertical distance between the top edges of neighbouring cells.
+     * @param numColumns The number of columns in the grid.
+     * @param numRows    The number of rows in the grid.
+     */
+    protected BrickIndex(float originX, float originY, float cellWidth, float cellHeight,
+                         int numColumns, int numRows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.numColumns = numColumns;
+        this.numRows = numRows;
+        this.clearedCells = new int[INITIAL_CLEARED_CAPACITY];
+        this.hitCells = new BitSet(numColumns * numRows);
+    }
+
+    /**
+     * Removes a brick from the index. The brick's cell is found from its center.
+     * A brick that already left the index because it was hit is removed the first time only.
+     *
+     * @param brick The brick to remove.
+     * @return True if a live brick left the game, i.e. the brick was in the index or was hit and
+     *         not removed yet, false otherwise.
+     */
+    public boolean remove(Brick brick) {
+        Vector2 center = brick.getCenter();
+        int column = columnOf(center.x());
+        int row = rowOf(center.y());
+        if (column < 0 || column >= numColumns || row < 0 || row >= numRows) {
+            return false;
+        }
+        int index = row * numColumns + column;
+        if (hitCells.get(index)) {
+            hitCells.clear(index);
+            return true;
+        }
+        if (!removeAt(index, brick)) {
+            return false;
+        }
+        recordCleared(index);
+        return true;
+    }
+
+    /**
+     * Brings back every brick emptied since the bricks were placed, with its original strategy.
+     * The cost depends on the number of bricks that were removed, not on the size of the level.
+     *
+     * @param restoredBricks Called with the game object of every restored brick, for bricks that
+     *                       are game objects, so they can be added back to the game.
+     * @return The number of restored bricks.
+     */
+    public int restoreAll(Consumer<Brick> restoredBricks) {
+        int numRestored = numCleared;
+        for (int i = 0; i < numCleared; i++) {
+            Brick brick = restoreCell(clearedCells[i]);
+            if (brick != null) {
+                restoredBricks.accept(brick);
+            }
+        }
+        numCleared = 0;
+        hitCells.clear();
+        return numRestored;
+    }
+
+    /**
+     * Returns the number of bytes writeSnapshot writes.
+     *
+     * @return The size of the index's snapshot.
+     */
+    public int getSnapshotSize() {
+        int numCells = numColumns * numRows;
+        return 2 * Integer.BYTES + numCells + Long.BYTES * numSnapshotWords(numCells);
+    }
+
+    /**
+     * Writes the grid's dimensions, the strategy type id of every cell, NO_STRATEGY where no brick
+     * was placed, and one bit per cell telling whether its brick is alive.
+     *
+     * @param buffer The buffer to write to, with at least getSnapshotSize bytes remaining.
+     */
+    public void writeSnapshot(ByteBuffer buffer) {
+        int numCells = numColumns * numRows;
+        buffer.putInt(numColumns).putInt(numRows);
+        for (int index = 0; index < numCells; index++) {
+            buffer.put((byte) getStrategyId(index));
+        }
+        for (int first = 0; first < numCells; first += Long.SIZE) {
+            long word = 0;
+            int end = Math.min(numCells, first + Long.SIZE);
+            for (int index = first; index < end; index++) {
+                if (hasBrick(index)) {
+                    word |= 1L << (index - first);
+                }
+            }
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Brings the bricks back to a snapshot written by writeSnapshot on the same level: every brick
+     * gets the strategy it had, and is brought back or removed so exactly the bricks that were
+     * alive are. The cells that are empty afterwards can be restored by restoreAll as usual.
+     * The snapshot is checked before anything changes.
+     *
+     * @param buffer         The buffer to read from, positioned at the snapshot.
+     * @param restoredBricks Called with the game object of every brick that is brought back, for
+     *                       bricks that are game objects, so they can be added back to the game.
+     * @param removedBricks  Called with the game object of every brick that is removed, for bricks
+     *                       that are game objects, so they can be removed from the game.
+     * @throws IllegalArgumentException if the snapshot was taken on another level.
+     */
+    public void readSnapshot(ByteBuffer buffer, Consumer<Brick> restoredBricks, Consumer<Brick> removedBricks) {
+        int numCells = numColumns * numRows;
+        int snapshotColumns = buffer.getInt();
+        int snapshotRows = buffer.getInt();
+        if (snapshotColumns != numColumns || snapshotRows != numRows) {
+            throw new IllegalArgumentException("Snapshot of a " + snapshotColumns + "x" + snapshotRows +
+                    " level can not be restored on a " + numColumns + "x" + numRows + " level.");
+        }
+        int cellsStart = buffer.position();
+        int wordsStart = cellsStart + numCells;
+        for (int index = 0; index < numCells; index++) {
+            boolean placed = buffer.get(cellsStart + index) != NO_STRATEGY;
+            if (placed != (getStrategyId(index) != NO_STRATEGY) ||
+                    (!placed && isAliveInSnapshot(buffer, wordsStart, index))) {
+                throw new IllegalArgumentException("Snapshot of another level: cell " + index +
+                        " does not match.");
+            }
+        }
+
+        numCleared = 0;
+        hitCells.clear();
+        for (int index = 0; index < numCells; index++) {
+            int strategyId = buffer.get(cellsStart + index);
+            if (strategyId == NO_STRATEGY) {
+                continue;
+            }
+            setStrategyId(index, strategyId);
+            boolean alive = isAliveInSnapshot(buffer, wordsStart, index);
+            if (alive && !hasBrick(index)) {
+                Brick brick = restoreCell(index);
+                if (brick != null) {
+                    restoredBricks.accept(brick);
+                }
+            } else if (!alive) {
+                if (hasBrick(index)) {
+                    Brick brick = getBrickObject(index);
+                    clearCell(index);
+                    if (brick != null) {
+                        removedBricks.accept(brick);
+                    }
+                }
+                recordCleared(index);
+            }
+        }
+        buffer.position(wordsStart + Long.BYTES * numSnapshotWords(numCells));
+    }
+
+    /**
+     * Tests a ball against the bricks in the cells its bounding box overlaps.
+     * Every overlapped brick handles the hit through its collision strategy and leaves the index,
+     * and the ball bounces once off the brick it penetrates the least.
+     *
+     * @param ball The ball to test.
+     */
+    public void collide(Ball ball) {
+        Vector2 topLeft = ball.getTopLeftCorner();
+        Vector2 dimensions = ball.getDimensions();
+        float minX = topLeft.x();
+        float minY = topLeft.y();
+        float maxX = minX + dimensions.x();
+        float maxY = minY + dimensions.y();
+
+        int firstColumn = Math.max(0, columnOf(minX));
+        int lastColumn = Math.min(numColumns - 1, columnOf(maxX));
+        int firstRow = Math.max(0, rowOf(minY));
+        int lastRow = Math.min(numRows - 1, rowOf(maxY));
+        if (firstColumn > lastColumn || firstRow > lastRow) {
+            return;
+        }
+
+        Vector2 bounceNormal = null;
+        float minPenetration = Float.MAX_VALUE;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * numColumns + column;
+                if (!hasBrick(index)) {
+                    continue;
+                }
+                float brickLeft = getBrickLeft(index);
+                float brickTop = getBrickTop(index);
+                float brickWidth = getBrickWidth(index);
+                float brickHeight = getBrickHeight(index);
+                float penetrationX = Math.min(maxX - brickLeft, brickLeft + brickWidth - minX);
+                float penetrationY = Math.min(maxY - brickTop, brickTop + brickHeight - minY);
+                if (penetrationX <= 0 || penetrationY <= 0) {
+                    continue;
+                }
+
+                // The ball is pushed out along the axis it penetrates the least:
+                float penetration = Math.min(penetrationX, penetrationY);
+                if (penetration < minPenetration) {
+                    minPenetration = penetration;
+                    if (penetrationX < penetrationY) {
+                        boolean ballIsLeft = minX + maxX < 2 * brickLeft + brickWidth;
+                        bounceNormal = ballIsLeft ? Vector2.LEFT : Vector2.RIGHT;
+                    } else {
+                        boolean ballIsAbove = minY + maxY < 2 * brickTop + brickHeight;
+                        bounceNormal = ballIsAbove ? Vector2.UP : Vector2.DOWN;
+                    }
+                }
+                clearHit(index, ball);
+            }
+        }
+
+        if (bounceNormal != null) {
+            ball.bounce(bounceNormal);
+        }
+    }
+
+    /**
+     * Sweeps a ball from where it started the frame to where the engine moved it, and hits the
+     * first brick on its way at the time of impact. The brick leaves the index right away, so it can
+     * not be hit twice, even before its strategy's changes are applied to the game.
+     * The ball bounces off that brick and goes on
+     * along the reflected rest of its path, hitting at most a few bricks per frame, and is finally
+     * placed where that path ends.
+     * <p>
+     * The ball is swept as its bounding box, like in collide, by casting its center against
+     * every brick grown by half the ball's dimensions.
+     *
+     * @param ball   The ball to sweep, already moved by the engine.
+     * @param startX The x coordinate of the ball's center at the beginning of the frame.
+     * @param startY The y coordinate of the ball's center at the beginning of the frame.
+     */
+    public void sweep(Ball ball, float startX, float startY) {
+        Vector2 dimensions = ball.getDimensions();
+        float halfWidth = dimensions.x() / 2;
+        float halfHeight = dimensions.y() / 2;
+        float x = startX;
+        float y = startY;
+        float dx = ball.getCenterX() - startX;
+        float dy = ball.getCenterY() - startY;
+        boolean bounced = false;
+
+        for (int numHits = 0; numHits < MAX_HITS_PER_SWEEP; numHits++) {
+            int firstColumn = Math.max(0, columnOf(Math.min(x, x + dx) - halfWidth));
+            int lastColumn = Math.min(numColumns - 1, columnOf(Math.max(x, x + dx) + halfWidth));
+            int firstRow = Math.max(0, rowOf(Math.min(y, y + dy) - halfHeight));
+            int lastRow = Math.min(numRows - 1, rowOf(Math.max(y, y + dy) + halfHeight));
+
+            int hitIndex = -1;
+            float hitTime = Float.MAX_VALUE;
+            Vector2 hitNormal = null;
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int index = row * numColumns + column;
+                    if (!hasBrick(index)) {
+                        continue;
+                    }
+                    // The brick grown by half the ball, so the ball can be swept as a point:
+                    float left = getBrickLeft(index) - halfWidth;
+                    float top = getBrickTop(index) - halfHeight;
+                    float right = left + getBrickWidth(index) + 2 * halfWidth;
+                    float bottom = top + getBrickHeight(index) + 2 * halfHeight;
+
+                    if ((dx == 0 && (x <= left || x >= right)) || (dy == 0 && (y <= top || y >= bottom))) {
+                        continue;
+                    }
+                    float entryX = Float.NEGATIVE_INFINITY;
+                    float exitX = Float.POSITIVE_INFINITY;
+                    if (dx != 0) {
+                        entryX = Math.min((left - x) / dx, (right - x) / dx);
+                        exitX = Math.max((left - x) / dx, (right - x) / dx);
+                    }
+                    float entryY = Float.NEGATIVE_INFINITY;
+                    float exitY = Float.POSITIVE_INFINITY;
+                    if (dy != 0) {
+                        entryY = Math.min((top - y) / dy, (bottom - y) / dy);
+                        exitY = Math.max((top - y) / dy, (bottom - y) / dy);
+                    }
+                    float entry = Math.max(entryX, entryY);
+                    float exit = Math.min(exitX, exitY);
+                    if (entry >= exit || exit <= 0 || entry > 1 || entry >= hitTime) {
+                        continue;
+                    }
+
+                    hitIndex = index;
+                    if (entry <= 0) {
+                        // Already overlapping at the start: pushed out along the least penetrated axis
+                        hitTime = 0;
+                        float penetrationX = Math.min(x - left, right - x);
+                        float penetrationY = Math.min(y - top, bottom - y);
+                        if (penetrationX < penetrationY) {
+                            hitNormal = 2 * x < left + right ? Vector2.LEFT : Vector2.RIGHT;
+                        } else {
+                            hitNormal = 2 * y < top + bottom ? Vector2.UP : Vector2.DOWN;
+                        }
+                    } else {
+                        hitTime = entry;
+                        if (entryX > entryY) {
+                            hitNormal = dx > 0 ? Vector2.LEFT : Vector2.RIGHT;
+                        } else {
+                            hitNormal = dy > 0 ? Vector2.UP : Vector2.DOWN;
+                        }
+                    }
+                }
+            }
+            if (hitIndex < 0) {
+                break;
+            }
+
+            // Move to the point of impact, and reflect the rest of the path off the brick:
+            x += dx * hitTime;
+            y += dy * hitTime;
+            dx *= 1 - hitTime;
+            dy *= 1 - hitTime;
+            if (dx * hitNormal.x() + dy * hitNormal.y() < 0) {
+                if (hitNormal.x() != 0) {
+                    dx = -dx;
+                } else {
+                    dy = -dy;
+                }
+            }
+            clearHit(hitIndex, ball);
+            ball.bounce(hitNormal);
+            bounced = true;
+        }
+
+        if (bounced) {
+            ball.setCenter(new Vector2(x + dx, y + dy));
+        }
+    }
+
+    /**
+     * Returns the x coordinate of the left edge of the given column.
+     *
+     * @param column The column index.
+     * @return The x coordinate of the column's left edge.
+     */
+    protected float cellLeft(int column) {
+        return originX + column * cellWidth;
+    }
+
+    /**
+     * Returns the y coordinate of the top edge of the given row.
+     *
+     * @param row The row index.
+     * @return The y coordinate of the row's top edge.
+     */
+    protected float cellTop(int row) {
+        return originY + row * cellHeight;
+    }
+
+    /**
+     * Returns the number of columns in the grid.
+     *
+     * @return The number of columns.
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * Returns the number of rows in the grid.
+     *
+     * @return The number of rows.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Checks whether the cell with the given index holds a brick.
+     *
+     * @param index The row-major index of the cell.
+     * @return True if there is a brick in the cell, false otherwise.
+     */
+    protected abstract boolean hasBrick(int index);
+
+    /**
+     * Returns the x coordinate of the left edge of the brick in the given cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's left edge.
+     */
+    protected abstract float getBrickLeft(int index);
+
+    /**
+     * Returns the y coordinate of the top edge of the brick in the given cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's top edge.
+     */
+    protected abstract float getBrickTop(int index);
+
+    /**
+     * Returns the width of the brick in the given cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's width.
+     */
+    protected abstract float getBrickWidth(int index);
+
+    /**
+     * Returns the height of the brick in the given cell.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's height.
+     */
+    protected abstract float getBrickHeight(int index);
+
+    /**
+     * Lets the brick in the given cell handle a hit by a ball.
+     *
+     * @param index The row-major index of the cell.
+     * @param ball  The ball that hit the brick.
+     */
+    protected abstract void hit(int index, Ball ball);
+
+    /**
+     * Empties the given cell, after the brick in it was hit.
+     *
+     * @param index The row-major index of the cell.
+     */
+    protected abstract void clearCell(int index);
+
+    /**
+     * Removes the given brick from the given cell, if it is there.
+     *
+     * @param index The row-major index of the cell.
+     * @param brick The brick to remove.
+     * @return True if the brick was removed, false otherwise.
+     */
+    protected abstract boolean removeAt(int index, Brick brick);
+
+    /**
+     * Returns the game object of the brick in the given cell.
+     *
+     * @param index The row-major index of a cell that holds a brick.
+     * @return The brick's game object, or null if the bricks are not game objects.
+     */
+    protected abstract Brick getBrickObject(int index);
+
+    /**
+     * Returns the strategy type id of the brick placed in the given cell, whether it is alive or not.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's strategy type id, or NO_STRATEGY if no brick was placed in the cell.
+     */
+    protected abstract int getStrategyId(int index);
+
+    /**
+     * Replaces the strategy of the brick placed in the given cell.
+     *
+     * @param index      The row-major index of a cell where a brick was placed.
+     * @param strategyId The brick's new strategy type id.
+     */
+    protected abstract void setStrategyId(int index, int strategyId);
+
+    /**
+     * Puts the original brick back in the given cell, after it was emptied.
+     *
+     * @param index The row-major index of the cell.
+     * @return The brick's game object, or null if the bricks are not game objects.
+     */
+    protected abstract Brick restoreCell(int index);
+
+    /**
+     * Hits the brick of a cell and empties the cell, remembering that its brick was hit but has
+     * not left the game yet.
+     *
+     * @param index The row-major index of the cell.
+     * @param ball  The ball that hit the brick.
+     */
+    private void clearHit(int index, Ball ball) {
+        hit(index, ball);
+        clearCell(index);
+        recordCleared(index);
+        hitCells.set(index);
+    }
+
+    /**
+     * Remembers that a cell was emptied, so its brick can be restored.
+     *
+     * @param index The row-major index of the cell.
+     */
+    private void recordCleared(int index) {
+        if (numCleared == clearedCells.length) {
+            clearedCells = Arrays.copyOf(clearedCells, 2 * numCleared);
+        }
+        clearedCells[numCleared++] = index;
+    }
+
+    /**
+     * Returns the number of words holding the alive bits of a snapshot.
+     *
+     * @param numCells The number of cells in the grid.
+     * @return The number of longs needed for one bit per cell.
+     */
+    private static int numSnapshotWords(int numCells) {
+        return (numCells + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Reads the alive bit of a cell from a snapshot, without moving the buffer's position.
+     *
+     * @param buffer     The buffer holding the snapshot.
+     * @param wordsStart The position of the snapshot's first word of alive bits.
+     * @param index      The row-major index of the cell.
+     * @return True if the cell's brick was alive when the snapshot was written.
+     */
+    private static boolean isAliveInSnapshot(ByteBuffer buffer, int wordsStart, int index) {
+        long word = buffer.getLong(wordsStart + Long.BYTES * (index / Long.SIZE));
+        return (word & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    /**
+     * Returns the column that contains the given x coordinate.
+     *
+     * @param x The x coordinate.
+     * @return The column index, possibly outside the grid.
+     */
+    private int columnOf(float x) {
+        return (int) Math.floor((x - originX) / cellWidth);
+    }
+
+    /**
+     * Returns the row that contains the given y coordinate.
+     *
+     * @param y The y coordinate.
+     * @return The row index, possibly outside the grid.
+     */
+    private int rowOf(float y) {
+        return (int) Math.floor((y - originY) / cellHeight);
+    }
+}
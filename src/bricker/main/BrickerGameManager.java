@@ -1,6 +1,15 @@
 package bricker.main;
 
+import bricker.assets.AssetCache;
+import bricker.audio.AudioMixer;
 import bricker.brick_strategies.*;
+import bricker.heartStrategy.HeartCollideStrategy;
+import bricker.level.Level;
+import bricker.level.LevelReader;
+import bricker.metrics.FrameMetrics;
+import bricker.metrics.TimedCollisionStrategy;
+import bricker.replay.GameEventListener;
+import bricker.replay.GameRecorder;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
@@ -13,10 +22,13 @@ import bricker.gameobjects.*;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 /**
  * Manages the Bricker game, handling initialization, game updates, object creation, and collision logic.
@@ -25,33 +37,28 @@ public class BrickerGameManager extends GameManager {
 
     // CONSTANTS:
     private static final int PADDLE_HEIGHT = 15;
-    private static final int PADDLE_WIDTH = 100;
-    private static final int MAX_EXTRA_PADDLE_HITS = 4;
     private static final int BALL_RADIUS = 20;
-    private static final float BALL_SPEED = 250;
     private static final int NUM_BRICKS_PER_ROW = 8;
     private static final int NUM_ROWS = 7;
     private static final int BRICK_HEIGHT = 15;
+    private static final int BRICK_GAP = 2;
     private static final int WALL_WIDTH = 10;
-    private static final int NUM_OF_LIVES_START = 3;
     private static final int HEART_SIZE = 30;
     private static final int HEART_COR_Y = 20;
     private static final int MARGIN = 5;
     private static final int TEXT_SIZE_X = 80;
     private static final int TEXT_SIZE_Y = 20;
     private static final int TEXT_COR_Y = 50;
-    private static final int BASIC = 0;
-    private static final int EXTRA_PACK = 1;
-    private static final int EXTRA_PADDLE = 2;
-    private static final int TURBO = 3;
-    private static final int RETURN_LIVE = 4;
-    private static final int MULTIPLE_BEHAVIORS = 5;
-    private static final float TURBO_MULTIPLIER = 1.4f;
-    private static final int TURBO_COLLISION_THRESHOLD = 6;
+    public static final int BASIC = 0;
+    public static final int EXTRA_PACK = 1;
+    public static final int EXTRA_PADDLE = 2;
+    public static final int TURBO = 3;
+    public static final int RETURN_LIVE = 4;
+    public static final int MULTIPLE_BEHAVIORS = 5;
+    public static final int NUM_BEHAVIOURS = MULTIPLE_BEHAVIORS + 1;
+    private static final int NO_BRICK = -1;
     private static final int NEGATIVE_DIRECTION = -1;
     private static final float WALL_POSITION_ADJUSTMENT = 0.5f;
-    private static final float PROBABILITIES_SUM = 1.0f;
-    private static final float PROBABILITIES_TOLERANCE = 1e-6f;
     private static final String TURBO_BALL_IMAGE_PATH = "assets/redball.png";
     private static final String HEART_IMAGE_PATH = "assets/heart.png";
     private static final String BALL_COLLISION_SOUND_PATH = "assets/blop.wav";
@@ -59,43 +66,106 @@ public class BrickerGameManager extends GameManager {
     private static final String PADDLE_IMAGE_PATH = "assets/paddle.png";
     private static final String BRICK_IMAGE_PATH = "assets/brick.png";
     private static final String BACKGROUND_IMAGE_PATH = "assets/DARK_BG2_small.jpeg";
-
-
-    // right probabilities:
-     private static final float[] STRATEGY_PROBABILITIES = {0.5f, 0.1f, 0.1f, 0.1f, 0.1f, 0.1f};
+    private static final String PACK_IMAGE_PATH = "assets/mockBall.png";
+    private static final int PACK_POOL_CAPACITY = 64;
+    private static final int HEART_POOL_CAPACITY = 16;
+    private static final int AUDIO_QUEUE_CAPACITY = 64;
+    private static final int MAX_SOUNDS_PER_FRAME = 8;
+    private static final int MAX_AUDIO_VOICES = 4;
+    private static final String[] STRATEGY_NAMES = {"basic", "extraPack", "extraPaddle", "turbo",
+            "returnLive", "multipleBehaviors"};
+    private static final int METRICS_OVERLAY_WIDTH = 260;
+    private static final float PACK_CULL_MARGIN = 0;
+    private static final float HEART_CULL_MARGIN = 0;
+    private static final String CONFIG_OPTION = "--config";
+    private static final String LEVEL_OPTION = "--level";
+    private static final String RECORD_OPTION = "--record";
 
 
     // Bricks fields:
     /**
      * Number of bricks per row in the game grid.
      */
-    private final int numBricksPerRow;
+    private int numBricksPerRow;
 
     /**
      * Number of rows of bricks in the game grid.
      */
-    private final int numRows;
+    private int numRows;
+
+    /**
+     * The layout of the bricks of the current level.
+     */
+    private Level level;
+
+    /**
+     * Alias table of the current level's own strategy probabilities, or null if it uses the game's.
+     */
+    private AliasSampler levelSampler;
+
+    /**
+     * The number of bricks the current game started with.
+     */
+    private int numBricks;
 
     /**
      * A counter used to track the number of bricks left in the game.
      */
     private danogl.util.Counter bricksCountDown;
 
-    // Ball fields:
     /**
-     * Flag indicating whether turbo mode is active.
+     * Grid index of the bricks, used to find the bricks each ball may hit.
+     */
+    private BrickIndex brickIndex;
+
+    /**
+     * Whether the bricks are stored in a compact BrickField instead of as game objects.
+     */
+    private boolean compactBrickField;
+
+    /**
+     * The shared strategy instance of each strategy type, indexed by type id.
+     */
+    private CollisionStrategy[] strategyFlyweights;
+
+    /**
+     * The center of the ball and of every pack at the beginning of the frame, as interleaved
+     * x and y coordinates: the ball first, then the packs in the order of the pack list.
      */
-    private boolean isTurboOn;
+    private float[] sweepStarts;
 
     /**
-     * The number of collisions the ball has made, used to manage turbo mode.
+     * The number of balls whose center is stored in sweepStarts.
      */
-    private int numCollisions;
+    private int numSweepStarts;
 
     /**
-     * List of hearts representing the player's lives.
+     * The number of times each strategy type was triggered, indexed by type id.
      */
-    private List<Heart> heartsLifeList;
+    private final long[] strategyTriggerCounts;
+
+    /**
+     * The single source of randomness of the game, shared by the manager and every strategy.
+     * Seeding it makes a whole game reproducible.
+     */
+    private GameRandom random;
+
+    /**
+     * The seed of the random source.
+     */
+    private long seed;
+
+    // Ball fields:
+    /**
+     * Every ball in the game: the primary balls the player keeps in play, and the packs.
+     */
+    private final BallRegistry balls;
+
+    /**
+     * The tunable parameters of the game, e.g. the speeds, limits and strategy probabilities.
+     */
+    private final GameConfig config;
+
 
     /**
      * Object used to display the number of lives numerically.
@@ -103,9 +173,14 @@ public class BrickerGameManager extends GameManager {
     private LifeNumeric lifeNumeric;
 
     /**
-     * The game object used to display the number of lives as text.
+     * The on-screen hearts and text showing the number of lives.
+     */
+    private LivesDisplay livesDisplay;
+
+    /**
+     * The number of lives lost since the game manager was created.
      */
-    private GameObject lifeTextObject;
+    private int livesLost;
 
 
     /**
@@ -113,12 +188,12 @@ public class BrickerGameManager extends GameManager {
      */
     private List<Heart> movingHeartsList;
 
-    // Initialization fields:
     /**
-     * The ball object in the game.
+     * The position of every moving heart in movingHeartsList.
      */
-    private Ball ball;
+    private final SlotIndex<Heart> movingHeartSlots;
 
+    // Initialization fields:
     /**
      * Dimensions of the game window.
      */
@@ -130,25 +205,100 @@ public class BrickerGameManager extends GameManager {
     private WindowController windowController;
 
     /**
-     * Reader for loading images.
+     * Shared cache of every image and sound the game uses.
      */
-    private ImageReader imageReader;
+    private AssetCache assetCache;
 
     /**
-     * Listener for user input (e.g., keyboard events).
+     * Plays the collision sounds off the game thread. Null in headless mode.
+     */
+    private AudioMixer audioMixer;
+
+    /**
+     * Listener for user input (e.g., keyboard events). Null in headless mode.
      */
     private UserInputListener inputListener;
 
+    /**
+     * Controller that moves the paddles, either from the keyboard or from a script.
+     */
+    private PaddleController paddleController;
+
+    /**
+     * Whether the game runs without a window, rendering or audio.
+     */
+    private boolean headless;
+
+    /**
+     * Receives the game's inputs and events, e.g. a recorder. Null if nobody listens.
+     */
+    private GameEventListener eventListener;
+
+    /**
+     * The file the next game is recorded to, or null if it is not recorded.
+     */
+    private Path recordingFile;
+
+    /**
+     * Ends the recording if the process exits before the game does, or null if nothing is recorded.
+     */
+    private Thread recordingShutdownHook;
+
+    /**
+     * The paddle the player controls.
+     */
+    private Paddle paddle;
+
+    /**
+     * Whether a win was requested for the current frame, e.g. by a replay of the W key.
+     */
+    private boolean winRequested;
+
+    /**
+     * The result of the current game.
+     */
+    private GameOutcome gameOutcome;
+
     // Pack fields:
     /**
-     * Array holding all packs in the game.
+     * Pool of packs that fell out of the game area, reused by later pack bricks.
+     */
+    private final ObjectPool<Pack> packPool;
+
+    /**
+     * Pool of falling hearts that left the game, reused by later heart bricks.
+     */
+    private final ObjectPool<Heart> heartPool;
+
+    /**
+     * Removes the packs and falling hearts that fall out of the game area.
+     */
+    private CullingStage culling;
+
+    /**
+     * The culling type id of the packs.
      */
-    private List<Pack> packList;
+    private int packCullType;
 
     /**
-     * Reader for loading sound files.
+     * The culling type id of the falling hearts.
      */
-    private SoundReader soundReader;
+    private int heartCullType;
+
+    /**
+     * The collision strategy shared by every falling heart.
+     */
+    private final CollisionStrategy heartCollideStrategy;
+
+    /**
+     * The game changes published by the strategies during the current frame.
+     */
+    private final GameEventQueue events;
+
+    /**
+     * The game objects added and removed during the current frame, applied together at its end.
+     */
+    private final GameObjectStaging staging;
 
     // Paddles fields:
     /**
@@ -156,6 +306,17 @@ public class BrickerGameManager extends GameManager {
      */
     private boolean extraPaddleOn;
 
+    // Metrics fields:
+    /**
+     * Frame-time metrics of the game. Disabled unless turned on through getMetrics.
+     */
+    private final FrameMetrics metrics;
+
+    /**
+     * Whether an on-screen overlay shows the frame-time metrics.
+     */
+    private boolean metricsOverlay;
+
     /**
      * The extra paddle object, if applicable.
      */
@@ -174,28 +335,138 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
                               int numBricksPerRow, int numRows) {
+        this(windowTitle, windowDimensions, numBricksPerRow, numRows, GameConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor for the BrickerGameManager with a game configuration, e.g. one point of a
+     * parameter sweep.
+     *
+     * @param windowTitle Title of the game window.
+     * @param windowDimensions Dimensions of the game window.
+     * @param numBricksPerRow Number of bricks per row.
+     * @param numRows Number of rows of bricks.
+     * @param config The tunable parameters of the game.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int numBricksPerRow, int numRows, GameConfig config) {
         super(windowTitle, windowDimensions);
+        this.config = config;
         this.numBricksPerRow = numBricksPerRow;
         this.numRows = numRows;
+        this.level = Level.uniform(numBricksPerRow, numRows);
         this.bricksCountDown = new danogl.util.Counter();
-        this.packList = new ArrayList<>();
+        this.balls = new BallRegistry();
 //        this.movingHeartsList = new Heart[numBricksPerRow*numRows*2];
         this.movingHeartsList = new ArrayList<>();
-        this.heartsLifeList = new ArrayList<>();
-        this.lifeNumeric = new LifeNumeric(NUM_OF_LIVES_START);
+        this.movingHeartSlots = new SlotIndex<>(HEART_POOL_CAPACITY);
+        this.lifeNumeric = new LifeNumeric(config.getStartLives(), config.getMaxLives());
         this.extraPaddleOn = false;
         this.extraPaddle = null;
-        this.isTurboOn = false;
+        this.headless = false;
+        this.gameOutcome = GameOutcome.IN_PROGRESS;
+        this.packPool = new ObjectPool<>(this::createPack, this::resetPack, PACK_POOL_CAPACITY);
+        this.heartPool = new ObjectPool<>(this::createFallingHeart, this::resetHeart, HEART_POOL_CAPACITY);
+        this.heartCollideStrategy = new HeartCollideStrategy(this);
+        this.events = new GameEventQueue();
+        this.staging = new GameObjectStaging();
+        setSeed(new SplittableRandom().nextLong());
+        this.metrics = new FrameMetrics(STRATEGY_NAMES);
+        this.strategyTriggerCounts = new long[NUM_BEHAVIOURS];
+        this.sweepStarts = new float[2 * (1 + PACK_POOL_CAPACITY)];
+        this.livesLost = 0;
+        this.metricsOverlay = false;
+    }
+
+    /**
+     * Returns the frame-time metrics of the game.
+     * Strategy collisions are only timed if the metrics are enabled before the game is set up.
+     *
+     * @return The game's metrics.
+     */
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Shows or hides the on-screen overlay of the frame-time metrics in the next game.
+     * Showing the overlay also enables the metrics.
+     *
+     * @param metricsOverlay True to show the overlay, false to hide it.
+     */
+    public void setMetricsOverlay(boolean metricsOverlay) {
+        this.metricsOverlay = metricsOverlay;
+        if (metricsOverlay) {
+            metrics.setEnabled(true);
+        }
+    }
+
+    /**
+     * Returns the tunable parameters of the game.
+     *
+     * @return The game's configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the number of times a strategy type was triggered since the game manager was created.
+     * Behaviors triggered by a multiple behaviors brick are counted under their own types as well.
+     *
+     * @param behaviour The strategy type id (e.g., BASIC, EXTRA_PACK).
+     * @return The trigger count of the strategy type.
+     */
+    public long getStrategyTriggerCount(int behaviour) {
+        return strategyTriggerCounts[behaviour];
+    }
+
+    /**
+     * Returns the number of lives lost since the game manager was created.
+     *
+     * @return The number of lives lost.
+     */
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    /**
+     * Seeds the random source of the game. Given the same seed and the same paddle input,
+     * the brick layout, the ball resets and every strategy's random choice are the same.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+    }
+
+    /**
+     * Returns the seed of the random source, e.g. to record it with the game.
+     *
+     * @return The last seed set, or the random seed chosen when the game manager was created.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the random source of the game. Strategies draw from it instead of owning their own
+     * generator, so a single seed controls the whole game. Must only be used on the game thread.
+     *
+     * @return The game's random source.
+     */
+    public GameRandom getRandom() {
+        return random;
     }
 
     /**
-     * Removes a specified game object from the game.
-     * If the removed object is a brick, it updates the brick counter.
+     * Removes a specified game object from the game at the end of the frame.
      *
      * @param object The game object to remove.
      */
     public void removeGeneralObject(GameObject object) {
-        this.gameObjects().removeGameObject(object);
+        staging.remove(object, Layer.DEFAULT);
     }
 
     /**
@@ -205,34 +476,101 @@ public class BrickerGameManager extends GameManager {
      * @param paddle The paddle object to remove.
      */
     public void removePaddle(Paddle paddle) {
-        boolean removed = this.gameObjects().removeGameObject(paddle);
-        if (removed) {
+        if (paddle == extraPaddle) {
+            staging.remove(paddle, Layer.DEFAULT);
             extraPaddle = null;
             extraPaddleOn = false;
         }
     }
 
     /**
-     * Removes a brick from the game.
-     * If the brick is removed, it increments the brick counter.
+     * Removes a brick from the game and increments the brick counter, unless the brick already
+     * left the game. Strategies do not call this directly: they publish a BRICK_DESTROYED event,
+     * which is applied once per brick when the event queue is drained.
      *
      * @param brick The brick object to remove.
      */
     public void removeBrick(Brick brick) {
-        boolean removed = this.gameObjects().removeGameObject(brick);
-        if (removed) {
-            this.bricksCountDown.increment();
+        if (!brickIndex.remove(brick)) {
+            return;
+        }
+        if (!compactBrickField) {
+            staging.remove(brick, Layer.STATIC_OBJECTS);
+        }
+        this.bricksCountDown.increment();
+        if (eventListener != null) {
+            Vector2 center = brick.getCenter();
+            eventListener.onEvent(GameEventListener.BRICK_DESTROYED, center.x(), center.y());
+        }
+    }
+
+    /**
+     * Returns the queue strategies publish their game changes to.
+     *
+     * @return The game's event queue.
+     */
+    public GameEventQueue getEvents() {
+        return events;
+    }
+
+    /**
+     * Applies every game change published since the last drain, in publishing order,
+     * and empties the queue. Called once per frame, after the collisions.
+     */
+    public void drainEvents() {
+        for (int i = 0; i < events.size(); i++) {
+            GameObject subject = events.getSubject(i);
+            switch (events.getType(i)) {
+                case GameEventQueue.BRICK_DESTROYED:
+                    removeBrick((Brick) subject);
+                    break;
+                case GameEventQueue.SPAWN_PACK:
+                    addPack((Pack) subject);
+                    break;
+                case GameEventQueue.SPAWN_HEART:
+                    addHeart(subject);
+                    break;
+                case GameEventQueue.SPAWN_PADDLE:
+                    addPaddle((Paddle) subject);
+                    break;
+                case GameEventQueue.TURBO_REQUESTED:
+                    setTurboMode((Ball) subject);
+                    break;
+                case GameEventQueue.HEART_COLLECTED:
+                    removeHeart((Heart) subject);
+                    updateLives(true);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown game event: " + events.getType(i));
+            }
         }
+        events.clear();
     }
 
     /**
-     * Adds a specified game object to the game.
-     * If the added object is a pack, it tracks the pack.
+     * Adds a specified game object to the game at the end of the frame.
      *
      * @param object The game object to add.
      */
     public void addGeneralObject(GameObject object) {
-        this.gameObjects().addGameObject(object);
+        staging.add(object, Layer.DEFAULT);
+    }
+
+    /**
+     * Returns the staging of the game objects added and removed during the current frame.
+     *
+     * @return The game's object staging.
+     */
+    public GameObjectStaging getStaging() {
+        return staging;
+    }
+
+    /**
+     * Applies every game object added or removed since the last call to the engine's collection,
+     * one layer at a time. Called once per frame, after every check.
+     */
+    public void applyStagedObjects() {
+        staging.apply(this.gameObjects());
     }
 
     /**
@@ -241,8 +579,157 @@ public class BrickerGameManager extends GameManager {
      * @param object The heart object to add.
      */
     public void addHeart(GameObject object) {
-        this.gameObjects().addGameObject(object);
-        this.movingHeartsList.add((Heart) object);
+        staging.add(object, Layer.DEFAULT);
+        trackMovingHeart((Heart) object);
+    }
+
+    /**
+     * Adds a heart that is already in the game to the moving hearts and to the culling stage.
+     *
+     * @param heart The falling heart.
+     */
+    void trackMovingHeart(Heart heart) {
+        movingHeartSlots.put(heart, movingHeartsList.size());
+        movingHeartsList.add(heart);
+        culling.track(heart, heartCullType);
+    }
+
+    /**
+     * Removes a heart from the moving hearts by moving the last moving heart into its place.
+     *
+     * @param heart The heart to remove.
+     * @return Whether the heart was moving.
+     */
+    private boolean removeMovingHeart(Heart heart) {
+        int slot = movingHeartSlots.get(heart);
+        if (slot < 0) {
+            return false;
+        }
+        movingHeartSlots.remove(heart);
+        Heart last = movingHeartsList.remove(movingHeartsList.size() - 1);
+        if (last != heart) {
+            movingHeartsList.set(slot, last);
+            movingHeartSlots.put(last, slot);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every moving heart, without culling or releasing them.
+     */
+    void clearMovingHearts() {
+        movingHeartsList.clear();
+        movingHeartSlots.clear();
+    }
+
+    /**
+     * Removes a falling heart from the game and returns it to the heart pool.
+     *
+     * @param heart The heart to remove.
+     */
+    public void removeHeart(Heart heart) {
+        if (removeMovingHeart(heart)) {
+            culling.untrack(heart);
+            staging.remove(heart, Layer.DEFAULT);
+            heartPool.release(heart);
+        }
+    }
+
+    /**
+     * Returns the hearts falling towards the paddle.
+     *
+     * @return A read-only view of the falling hearts.
+     */
+    public List<Heart> getFallingHearts() {
+        return Collections.unmodifiableList(movingHeartsList);
+    }
+
+    /**
+     * Returns a pack ready to be placed in the game, reusing a fallen pack when possible.
+     * The caller sets its position and velocity and then publishes it with GameEventQueue.publishSpawnPack.
+     *
+     * @return A pack that is not part of the game.
+     */
+    public Pack obtainPack() {
+        return packPool.obtain();
+    }
+
+    /**
+     * Returns a falling heart ready to be placed in the game, reusing a fallen heart when possible.
+     * The caller sets its position and velocity and then publishes it with GameEventQueue.publishSpawnHeart.
+     *
+     * @return A heart that is not part of the game.
+     */
+    public Heart obtainHeart() {
+        return heartPool.obtain();
+    }
+
+    /**
+     * Returns the pool of packs.
+     *
+     * @return The pack pool, e.g. for reading its statistics.
+     */
+    public ObjectPool<Pack> getPackPool() {
+        return packPool;
+    }
+
+    /**
+     * Returns the pool of falling hearts.
+     *
+     * @return The heart pool, e.g. for reading its statistics.
+     */
+    public ObjectPool<Heart> getHeartPool() {
+        return heartPool;
+    }
+
+    /**
+     * Creates a new pack for the pack pool.
+     *
+     * @return A new pack.
+     */
+    private Pack createPack() {
+        Renderable packImage = assetCache.readImage(PACK_IMAGE_PATH, true);
+        Sound collisionSound = assetCache.readSound(BALL_COLLISION_SOUND_PATH);
+        Pack pack = new Pack(Vector2.ZERO,
+                new Vector2(BALL_RADIUS, BALL_RADIUS),
+                packImage,
+                collisionSound,
+                audioMixer);
+        pack.setTag("Pack");
+        return pack;
+    }
+
+    /**
+     * Brings a pack reused from the pack pool back to the state of a new pack, with no collisions
+     * and no velocity.
+     *
+     * @param pack The reused pack.
+     */
+    private void resetPack(Pack pack) {
+        pack.setCollisionCounter(0);
+        pack.setVelocity(Vector2.ZERO);
+    }
+
+    /**
+     * Brings a heart reused from the heart pool back to the state of a new heart, with no velocity.
+     *
+     * @param heart The reused heart.
+     */
+    private void resetHeart(Heart heart) {
+        heart.setVelocity(Vector2.ZERO);
+    }
+
+    /**
+     * Creates a new falling heart for the heart pool.
+     *
+     * @return A new heart that grants a life when caught by the paddle.
+     */
+    private Heart createFallingHeart() {
+        Renderable heartImage = assetCache.readImage(HEART_IMAGE_PATH, false);
+        Heart heart = new Heart(Vector2.ZERO, new Vector2(HEART_SIZE, HEART_SIZE),
+                heartImage, heartCollideStrategy);
+        heart.setTag("Heart");
+        return heart;
     }
 
     /**
@@ -254,21 +741,21 @@ public class BrickerGameManager extends GameManager {
     public void addPaddle(Paddle paddle) {
         // Check there aren't one already:
         if (!extraPaddleOn) {
-            this.gameObjects().addGameObject(paddle);
+            staging.add(paddle, Layer.DEFAULT);
             extraPaddle = paddle;
             extraPaddleOn = true;
         }
     }
 
     /**
-     * Adds a pack to the game and updates the pack counter.
+     * Adds a pack to the game as a secondary ball.
      *
      * @param pack The pack object to add.
      */
     public void addPack(Pack pack) {
-        // Add to the list and counter:
-        this.packList.add(pack);
-        this.gameObjects().addGameObject(pack);
+        balls.add(pack, false);
+        staging.add(pack, Layer.DEFAULT);
+        culling.track(pack, packCullType);
     }
 
     /**
@@ -286,32 +773,134 @@ public class BrickerGameManager extends GameManager {
                                UserInputListener inputListener,
                                WindowController windowController) {
         this.windowController = windowController;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+        if (this.assetCache == null) {
+            this.assetCache = new AssetCache(imageReader, soundReader);
+        }
+        if (this.audioMixer == null) {
+            this.audioMixer = new AudioMixer(AUDIO_QUEUE_CAPACITY, MAX_SOUNDS_PER_FRAME, MAX_AUDIO_VOICES);
+        }
+        preloadAssets();
 
         // initialization:
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
         windowDimensions = windowController.getWindowDimensions();
         this.inputListener = inputListener;
+        this.paddleController = new KeyboardPaddleController(inputListener);
+        setUpGame();
+    }
+
+    /**
+     * Initializes the game without a window, rendering or audio.
+     * The game is then driven by calling update with a fixed time step, and its result
+     * is reported through getGameOutcome instead of a dialog.
+     *
+     * @param windowDimensions The dimensions of the simulated game area.
+     * @param paddleController The controller that moves the paddles.
+     */
+    public void initializeHeadless(Vector2 windowDimensions, PaddleController paddleController) {
+        this.headless = true;
+        this.windowController = null;
+        this.inputListener = null;
+        this.assetCache = new AssetCache(null, null);
+        this.audioMixer = null;
+
+        super.initializeGame(null, null, null, null);
+        this.windowDimensions = windowDimensions;
+        this.paddleController = paddleController;
+        setUpGame();
+    }
+
+    /**
+     * Returns the result of the current game.
+     *
+     * @return The game outcome, IN_PROGRESS while the game is still running.
+     */
+    public GameOutcome getGameOutcome() {
+        return gameOutcome;
+    }
+
+    /**
+     * Creates every game object of a new game.
+     */
+    private void setUpGame() {
+        gameOutcome = GameOutcome.IN_PROGRESS;
+
+        // Objects staged for the previous game's collection are dropped with it:
+        staging.clear();
+
+        // Packs and hearts of a previous game are no longer part of the game:
+        for (int slot = 0; slot < balls.size(); slot++) {
+            if (!balls.isPrimary(slot)) {
+                packPool.release((Pack) balls.get(slot));
+            }
+        }
+        balls.clear();
+        movingHeartsList.forEach(heartPool::release);
+        clearMovingHearts();
+        createCullingStage(windowDimensions);
 
         // Adding background
-        addBackground(imageReader, windowDimensions);
+        addBackground(windowDimensions);
 
         // Creating ball:
-        createBall(imageReader, windowDimensions, soundReader);
+        createBall(windowDimensions);
 
         // Creating paddle:
-        createPaddle(imageReader, inputListener, windowDimensions);
+        createPaddle(windowDimensions);
 
         // Creating walls:
         createWalls(windowDimensions);
 
         // Creating break:
-        createBricks(windowDimensions, imageReader);
+        createStrategyFlyweights();
+        createBricks(windowDimensions);
 
         // Creating lives:
-        createLives(imageReader, windowDimensions, NUM_OF_LIVES_START);
-        createLifeText(NUM_OF_LIVES_START);
+        createLives(windowDimensions, config.getStartLives());
+
+        // Creating metrics overlay:
+        if (metricsOverlay && !headless) {
+            createMetricsOverlay();
+        }
+
+        // Starting the recording, only of the first game:
+        if (recordingFile != null) {
+            eventListener = new GameRecorder(recordingFile, seed, windowDimensions, config, level,
+                    compactBrickField);
+            recordingFile = null;
+            recordingShutdownHook = new Thread(this::endRecordingOnExit);
+            Runtime.getRuntime().addShutdownHook(recordingShutdownHook);
+        }
+    }
+
+    /**
+     * Adds the text showing the frame-time metrics to the top-left corner of the UI layer.
+     */
+    private void createMetricsOverlay() {
+        GameObject overlay = new GameObject(new Vector2(WALL_WIDTH + MARGIN, MARGIN),
+                new Vector2(METRICS_OVERLAY_WIDTH, TEXT_SIZE_Y), metrics.createOverlay());
+        overlay.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        this.gameObjects().addGameObject(overlay, Layer.UI);
+    }
+
+    /**
+     * Decodes every image and sound the game may need, so that no disk I/O happens
+     * later on, e.g. inside collision callbacks.
+     */
+    private void preloadAssets() {
+        assetCache.preloadImages(false, BACKGROUND_IMAGE_PATH, BRICK_IMAGE_PATH, HEART_IMAGE_PATH);
+        assetCache.preloadImages(true, BALL_IMAGE_PATH, TURBO_BALL_IMAGE_PATH, PADDLE_IMAGE_PATH,
+                HEART_IMAGE_PATH, PACK_IMAGE_PATH, ExstraPaddleStrategy.PADDLE_IMAGE_PATH);
+        assetCache.preloadSounds(BALL_COLLISION_SOUND_PATH);
+    }
+
+    /**
+     * Returns the cache holding every image and sound used by the game.
+     *
+     * @return The game's asset cache.
+     */
+    public AssetCache getAssetCache() {
+        return assetCache;
     }
     /**
      * Updates the game state on each frame.
@@ -321,80 +910,268 @@ public class BrickerGameManager extends GameManager {
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        long frameStart = metrics.start();
+        paddleController.update(deltaTime);
+        if (eventListener != null) {
+            eventListener.onFrame(deltaTime, currentInput());
+        }
+        recordSweepStarts();
+        updateEngine(deltaTime);
+        long lap = metrics.lap(FrameMetrics.ENGINE_UPDATE, frameStart);
+        collideWithBricks();
+        lap = metrics.lap(FrameMetrics.BRICK_COLLISIONS, lap);
+        drainEvents();
+        lap = metrics.lap(FrameMetrics.APPLY_EVENTS, lap);
         checkForGameEnd();
-        checkPacksStatus();
+        lap = metrics.lap(FrameMetrics.CHECK_GAME_END, lap);
+        culling.cull(deltaTime);
+        lap = metrics.lap(FrameMetrics.CULL_OFF_SCREEN, lap);
         checkExtraPaddleStatus();
-        checkHeartsStatus();
+        lap = metrics.lap(FrameMetrics.CHECK_EXTRA_PADDLE, lap);
         checkTurboStatus();
+        lap = metrics.lap(FrameMetrics.CHECK_TURBO, lap);
+        applyStagedObjects();
+        metrics.lap(FrameMetrics.APPLY_OBJECTS, lap);
+        if (audioMixer != null) {
+            audioMixer.endFrame();
+        }
+        if (metrics.isEnabled()) {
+            metrics.endFrame(frameStart, getBricksLeft(),
+                    balls.size() - balls.getNumPrimary(), movingHeartsList.size(), extraPaddle != null ? 2 : 1);
+        }
+    }
+
+    /**
+     * Lets the engine move the game objects and handle their collisions. Every other part of a
+     * frame is the game's own work.
+     *
+     * @param deltaTime The time passed since the last frame.
+     */
+    void updateEngine(float deltaTime) {
+        super.update(deltaTime);
+    }
+
+    /**
+     * Stores where every ball and pack is before the engine moves them,
+     * so their whole path during the frame can be swept.
+     */
+    private void recordSweepStarts() {
+        numSweepStarts = balls.size();
+        if (sweepStarts.length < 2 * numSweepStarts) {
+            sweepStarts = new float[4 * numSweepStarts];
+        }
+        for (int slot = 0; slot < numSweepStarts; slot++) {
+            storeSweepStart(slot, balls.get(slot));
+        }
+    }
+
+    /**
+     * Stores the current center of a ball in sweepStarts.
+     *
+     * @param slot The ball's slot in the ball registry.
+     * @param ball The ball or pack.
+     */
+    private void storeSweepStart(int slot, Ball ball) {
+        sweepStarts[2 * slot] = ball.getCenterX();
+        sweepStarts[2 * slot + 1] = ball.getCenterY();
+    }
+
+    /**
+     * Sweeps every ball and pack along its path of this frame against the bricks and the
+     * walls, so they bounce at the time of impact even when they move further than a brick or
+     * a wall is thick in a single frame. Packs spawned by strategies only enter the game when the
+     * events are drained, before the next frame's sweep starts are recorded; a ball added to the
+     * game in any other way during the frame is only tested where it is.
+     */
+    private void collideWithBricks() {
+        for (int slot = 0, numBalls = balls.size(); slot < numBalls; slot++) {
+            Ball ball = balls.get(slot);
+            if (slot < numSweepStarts) {
+                brickIndex.sweep(ball, sweepStarts[2 * slot], sweepStarts[2 * slot + 1]);
+            } else {
+                brickIndex.collide(ball);
+            }
+            keepInsideWalls(ball);
+        }
+    }
+
+    /**
+     * Reflects a ball that moved past the inner face of a wall back inside the game area,
+     * as if it had bounced off the wall at the time of impact. The ball only bounces if it is
+     * still moving into the wall, i.e. if the engine did not catch the collision itself.
+     *
+     * @param ball The ball or pack to keep inside.
+     */
+    private void keepInsideWalls(Ball ball) {
+        Vector2 dimensions = ball.getDimensions();
+        float leftFace = getLeftWallFace() + dimensions.x() / 2;
+        float rightFace = getRightWallFace() - dimensions.x() / 2;
+        float topFace = getCeilingFace() + dimensions.y() / 2;
+        float x = ball.getCenterX();
+        float y = ball.getCenterY();
+        Vector2 normalX = null;
+        Vector2 normalY = null;
+        if (x < leftFace) {
+            x = 2 * leftFace - x;
+            normalX = Vector2.RIGHT;
+        } else if (x > rightFace) {
+            x = 2 * rightFace - x;
+            normalX = Vector2.LEFT;
+        }
+        if (y < topFace) {
+            y = 2 * topFace - y;
+            normalY = Vector2.DOWN;
+        }
+        if (normalX == null && normalY == null) {
+            return;
+        }
+        // Only the mirrored coordinates are set, through the transform's scalar setters
+        if (normalX != null) {
+            ball.transform().setCenterX(x);
+        }
+        if (normalY != null) {
+            ball.transform().setCenterY(y);
+        }
+        Vector2 velocity = ball.getVelocity();
+        if (normalX != null && velocity.x() * normalX.x() < 0) {
+            ball.bounce(normalX);
+        }
+        if (normalY != null && velocity.y() * normalY.y() < 0) {
+            ball.bounce(normalY);
+        }
+    }
+
+    /**
+     * Returns the x coordinate of the left wall's inner face, which the balls bounce off.
+     *
+     * @return The left edge of the play area.
+     */
+    public float getLeftWallFace() {
+        return MARGIN + WALL_WIDTH * WALL_POSITION_ADJUSTMENT;
+    }
+
+    /**
+     * Returns the x coordinate of the right wall's inner face, which the balls bounce off.
+     *
+     * @return The right edge of the play area.
+     */
+    public float getRightWallFace() {
+        return windowDimensions.x() - MARGIN - WALL_WIDTH * WALL_POSITION_ADJUSTMENT;
+    }
+
+    /**
+     * Returns the y coordinate of the upper wall's inner face, which the balls bounce off.
+     *
+     * @return The top edge of the play area.
+     */
+    public float getCeilingFace() {
+        return WALL_WIDTH;
     }
 
     /**
-     * Retrieves the current status of turbo mode.
+     * Retrieves the turbo mode of a ball.
      *
-     * @return True if turbo mode is active, false otherwise.
+     * @param ball The ball.
+     * @return True if the ball is in turbo mode, false otherwise.
      */
-    public boolean getTurboMode() {
-        return isTurboOn;
+    public boolean isTurbo(Ball ball) {
+        int slot = balls.indexOf(ball);
+        return slot >= 0 && balls.isTurbo(slot);
     }
 
     /**
-     * Activates turbo mode for the ball.
-     * Increases ball speed and changes the ball's appearance.
+     * Activates turbo mode for a ball, unless it is already on or the ball is no longer in the game.
+     * Increases the ball's speed and changes its appearance, until it collides
+     * TURBO_COLLISION_THRESHOLD more times.
      *
-     * @param numCollisions The number of collisions the ball has made,
-     *                       used to determine when to deactivate turbo mode.
+     * @param ball The ball that hit a turbo brick.
      */
-    public void setTurboMode(int numCollisions) {
-        isTurboOn = true;
-        this.numCollisions = numCollisions;
+    public void setTurboMode(Ball ball) {
+        int slot = balls.indexOf(ball);
+        if (slot < 0 || balls.isTurbo(slot)) {
+            return;
+        }
+        balls.startTurbo(slot);
 
         // Set ball velocity and change its appearance:
-        ball.setVelocity(ball.getVelocity().mult(TURBO_MULTIPLIER));
-        Renderable redBallImage = imageReader.readImage(TURBO_BALL_IMAGE_PATH, true);
+        ball.setVelocity(ball.getVelocity().mult(config.getTurboMultiplier()));
+        Renderable redBallImage = assetCache.readImage(TURBO_BALL_IMAGE_PATH, true);
         ball.renderer().setRenderable(redBallImage);
     }
 
 
     /**
-     * Checks if turbo mode is active and deactivates it once the
+     * Checks every ball in turbo mode and deactivates it once the
      * required number of collisions have been reached.
      */
     private void checkTurboStatus() {
-        if (isTurboOn && ball.getCollisionCounter() == numCollisions + TURBO_COLLISION_THRESHOLD) {
-            // Change the ball back to normal speed and appearance
-            resetBall();
-            isTurboOn = false;
+        if (balls.getNumTurbo() == 0) {
+            return;
+        }
+        for (int slot = 0; slot < balls.size(); slot++) {
+            if (balls.isTurbo(slot) && balls.get(slot).getCollisionCounter() ==
+                    balls.getTurboStartCollisions(slot) + config.getTurboCollisionThreshold()) {
+                // Change the ball back to normal speed and appearance
+                stopTurbo(slot, true);
+            }
         }
     }
 
     /**
-     * Removes packs that fall out of the game area.
+     * Takes a ball out of turbo mode and gives it back its normal appearance.
+     *
+     * @param slot         The slot of the ball in the ball registry.
+     * @param restoreSpeed Whether to slow the ball back down, false if its velocity is about to be reset.
      */
-    private void checkPacksStatus() {
-        // Use iterator to safely remove while iterating
-        packList.removeIf(pack -> {
-            if (pack.getCenter().y() > windowDimensions.y()) {
-                removeGeneralObject(pack);
-                return true; // Remove from list
-            }
-            return false;
-        });
+    private void stopTurbo(int slot, boolean restoreSpeed) {
+        Ball ball = balls.get(slot);
+        balls.stopTurbo(slot);
+        if (restoreSpeed) {
+            ball.setVelocity(ball.getVelocity().mult(1 / config.getTurboMultiplier()));
+        }
+        ball.renderer().setRenderable(assetCache.readImage(BALL_IMAGE_PATH, true));
     }
 
     /**
-     * Checks the status of all hearts in the game.
-     * Removes hearts that fall out of the game area.
+     * Creates the culling stage of a new game, with a type for the packs and one for the hearts.
+     *
+     * @param windowDimensions The dimensions of the game window.
      */
-    private void checkHeartsStatus() {
-        // Use iterator to safely remove while iterating
-        movingHeartsList.removeIf(heart -> {
-            if (heart.getCenter().y() > windowDimensions.y()) {
-                removeGeneralObject(heart); // Remove from game objects
-                return true;               // Indicate removal from list
-            }
-            return false; // Retain in list
-        });
+    private void createCullingStage(Vector2 windowDimensions) {
+        culling = new CullingStage(windowDimensions.y());
+        packCullType = culling.registerType(PACK_CULL_MARGIN, this::cullPack);
+        heartCullType = culling.registerType(HEART_CULL_MARGIN, this::cullHeart);
+    }
+
+    /**
+     * Returns the stage that removes the packs and hearts that fall out of the game area.
+     *
+     * @return The game's culling stage.
+     */
+    public CullingStage getCulling() {
+        return culling;
+    }
+
+    /**
+     * Removes a pack that fell out of the game area and returns it to the pack pool.
+     *
+     * @param pack The pack that fell out.
+     */
+    private void cullPack(GameObject pack) {
+        balls.remove((Pack) pack);
+        removeGeneralObject(pack);
+        packPool.release((Pack) pack);
+    }
+
+    /**
+     * Removes a heart that fell out of the game area and returns it to the heart pool.
+     *
+     * @param heart The heart that fell out.
+     */
+    private void cullHeart(GameObject heart) {
+        removeMovingHeart((Heart) heart);
+        removeGeneralObject(heart);
+        heartPool.release((Heart) heart);
     }
 
 
@@ -404,7 +1181,7 @@ public class BrickerGameManager extends GameManager {
      */
     private void checkExtraPaddleStatus() {
         if (extraPaddle != null) {
-            if (extraPaddle.getNumCollision() >= MAX_EXTRA_PADDLE_HITS) {
+            if (extraPaddle.getNumCollision() >= config.getMaxExtraPaddleHits()) {
                 removePaddle(extraPaddle);
             }
         }
@@ -415,35 +1192,45 @@ public class BrickerGameManager extends GameManager {
      * Prompts the user for a decision when the game ends, either to restart or exit.
      */
     private void checkForGameEnd() {
-        float ballHeight = ball.getCenter().y();
         String prompt = "";
 
         // Check if the user won (all bricks are gone or the W key is pressed)
-        if (bricksCountDown.value() == numBricksPerRow * numRows ||
-                inputListener.isKeyPressed(KeyEvent.VK_W)) {
+        if (bricksCountDown.value() == numBricks || isWinKeyPressed()) {
             prompt = "You Win!";
+            gameOutcome = GameOutcome.WON;
         }
 
-        // Check if the user lost (ball fell out of bounds)
-        if (ballHeight > windowDimensions.y()) {
-            isTurboOn = false;
-            resetBall();
-            updateLives(false);
+        // Check if the user lost a ball (a primary ball fell out of bounds). Slots are visited
+        // from the last, so a removal only moves a ball that was already checked:
+        for (int slot = balls.size() - 1; slot >= 0; slot--) {
+            if (balls.isPrimary(slot) && balls.get(slot).getCenterY() > windowDimensions.y()) {
+                loseBall(slot);
+            }
         }
 
         // Check if the user has no more lives
         if (this.lifeNumeric.getNumLives() <= 0) {
             prompt = "You Lose!";
+            gameOutcome = GameOutcome.LOST;
+        }
+
+        winRequested = false;
+
+        // The recording ends with the game:
+        if (gameOutcome != GameOutcome.IN_PROGRESS) {
+            stopRecording();
+        }
+
+        // Headless games have no one to ask, the outcome is simply kept
+        if (headless) {
+            return;
         }
 
         // Display end game prompt and handle user response
         if (!prompt.isEmpty()) {
             prompt += " Play again?";
             if (windowController.openYesNoDialog(prompt)) {
-                this.lifeNumeric = new LifeNumeric(NUM_OF_LIVES_START);
-                bricksCountDown.reset(); // Reset brick counter (or similar logic)
-                this.isTurboOn = false;
-                windowController.resetGame();
+                softReset();
             } else {
                 windowController.closeWindow();
             }
@@ -475,78 +1262,153 @@ public class BrickerGameManager extends GameManager {
     /**
      * Adds the background to the game window.
      *
-     * @param imageReader    The reader used to load the background image.
      * @param windowDimensions The dimensions of the game window.
      */
-    private void addBackground(ImageReader imageReader, Vector2 windowDimensions) {
-        Renderable backgroundImage = imageReader.readImage(BACKGROUND_IMAGE_PATH, false);
+    private void addBackground(Vector2 windowDimensions) {
+        Renderable backgroundImage = assetCache.readImage(BACKGROUND_IMAGE_PATH, false);
         GameObject background = new GameObject(Vector2.ZERO, windowDimensions, backgroundImage);
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         this.gameObjects().addGameObject(background, Layer.BACKGROUND);
     }
 
     /**
-     * Creates and adds hearts representing the player's lives in the game.
+     * Creates the display of the player's lives: a heart slot for every possible life, of which
+     * only the first numHearts are visible, and the text showing the number of lives.
+     * Later life changes only toggle slots and rewrite the text.
      *
-     * @param imageReader     The reader used to load the heart image.
      * @param windowDimensions The dimensions of the game window.
      * @param numHearts       The number of hearts (lives) to display.
      */
-    private void createLives(ImageReader imageReader, Vector2 windowDimensions, int numHearts) {
-        Renderable heartImage = imageReader.readImage(HEART_IMAGE_PATH, true);
+    private void createLives(Vector2 windowDimensions, int numHearts) {
+        Renderable heartImage = assetCache.readImage(HEART_IMAGE_PATH, true);
+        Vector2 heartSize = new Vector2(HEART_SIZE, HEART_SIZE);
 
-
-        for (int i = 0; i < numHearts; i++) {
-            Vector2 heartSize = new Vector2(HEART_SIZE, HEART_SIZE);
+        Heart[] heartSlots = new Heart[config.getMaxLives()];
+        for (int i = 0; i < heartSlots.length; i++) {
             float corX = windowDimensions.x() - (i + 1) * (heartSize.x() + MARGIN);
             Vector2 heartCoors = new Vector2(corX, HEART_COR_Y);
 
             Heart heart = new Heart(heartCoors, heartSize, heartImage);
             heart.setTag("Heart");
-            heartsLifeList.add(heart); // Add heart to the list
+            heartSlots[i] = heart;
             this.gameObjects().addGameObject(heart, Layer.UI);
         }
+
+        TextRenderable textRenderable = new TextRenderable("");
+        float corX = windowDimensions.x() - 100;
+        Vector2 textPosition = new Vector2(corX, TEXT_COR_Y);
+        Vector2 textSize = new Vector2(TEXT_SIZE_X, TEXT_SIZE_Y);
+        this.gameObjects().addGameObject(new GameObject(textPosition, textSize, textRenderable), Layer.UI);
+
+        livesDisplay = new LivesDisplay(heartSlots, textRenderable, numHearts);
     }
 
     /**
-     * Creates and updates the text that displays the number of lives remaining.
+     * Checks whether the player asked to win the current frame, with the W key or through requestWin.
      *
-     * @param numLives The number of lives remaining.
+     * @return True if a win was requested, false otherwise.
      */
-    private void createLifeText(int numLives) {
-        TextRenderable textRenderable = new TextRenderable("Lives: " + numLives);
+    private boolean isWinKeyPressed() {
+        return winRequested || (inputListener != null && inputListener.isKeyPressed(KeyEvent.VK_W));
+    }
 
-        // Set the text color based on the number of lives
-        if (numLives == 1) {
-            textRenderable.setColor(Color.red);
-        } else if (numLives == 2) {
-            textRenderable.setColor(Color.yellow);
-        } else {
-            textRenderable.setColor(Color.green);
+    /**
+     * Returns the input of the current frame as a bit mask of GameEventListener's input bits.
+     *
+     * @return The input bit mask.
+     */
+    private byte currentInput() {
+        byte input = 0;
+        if (paddleController.isMovingLeft(paddle)) {
+            input |= GameEventListener.INPUT_LEFT;
+        }
+        if (paddleController.isMovingRight(paddle)) {
+            input |= GameEventListener.INPUT_RIGHT;
         }
+        if (isWinKeyPressed()) {
+            input |= GameEventListener.INPUT_WIN;
+        }
+        return input;
+    }
 
-        float corX = windowDimensions.x() - 100;
-        Vector2 textPosition = new Vector2(corX, TEXT_COR_Y);
-        Vector2 textSize = new Vector2(TEXT_SIZE_X, TEXT_SIZE_Y);
+    /**
+     * Requests a win in the next frame, as if the W key was pressed. Used to replay recorded games.
+     */
+    public void requestWin() {
+        winRequested = true;
+    }
+
+    /**
+     * Sets the listener that receives the game's inputs and events, e.g. to check a replay.
+     *
+     * @param eventListener The listener, or null to stop reporting.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Records the next game to the given file, so it can be replayed with a GameReplayer.
+     * Must be called before the game is initialized.
+     *
+     * @param recordingFile The file to record to.
+     */
+    public void setRecordingFile(Path recordingFile) {
+        this.recordingFile = recordingFile;
+    }
 
-        // Remove the old text object if it exists
-        if (lifeTextObject != null) {
-            this.gameObjects().removeGameObject(lifeTextObject, Layer.UI);
+    /**
+     * Ends the recording with the game's current state and stops reporting to the event listener.
+     * Called when the game ends, when the window closes and when the process exits, so a game
+     * closed before it ends is recorded up to that point with an outcome still in progress.
+     * Does nothing if the recording already ended.
+     */
+    public void stopRecording() {
+        GameEventListener listener = eventListener;
+        if (listener != null) {
+            eventListener = null;
+            listener.onGameEnd(gameOutcome, getBricksLeft(), this.lifeNumeric.getNumLives());
+        }
+        if (recordingShutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(recordingShutdownHook);
+            } catch (IllegalStateException e) {
+                // The process is already exiting, the hook finds the recording ended
+            }
+            recordingShutdownHook = null;
         }
-        // Create the new text object
-        lifeTextObject = new GameObject(textPosition, textSize, textRenderable);
-        this.gameObjects().addGameObject(lifeTextObject, Layer.UI);
     }
 
     /**
-     * Deletes all the heart objects representing the player's lives.
+     * Ends the recording when the process exits before the game does. Runs on the shutdown hook's
+     * thread, so the listener is left in place for the game thread, whose later records the
+     * ended recording ignores.
      */
-    private void deleteHearts() {
-        for (Heart heart : heartsLifeList) {
-            this.gameObjects().removeGameObject(heart, Layer.UI);
+    private void endRecordingOnExit() {
+        GameEventListener listener = eventListener;
+        if (listener != null) {
+            listener.onGameEnd(gameOutcome, getBricksLeft(), this.lifeNumeric.getNumLives());
         }
     }
 
+    /**
+     * Returns the number of bricks left in the game.
+     *
+     * @return The number of bricks not destroyed yet.
+     */
+    public int getBricksLeft() {
+        return numBricks - bricksCountDown.value();
+    }
+
+    /**
+     * Returns the number of lives the player has left.
+     *
+     * @return The current number of lives.
+     */
+    public int getNumLives() {
+        return lifeNumeric.getNumLives();
+    }
+
     /**
      * Updates the player's lives, both numerically and visually.
      * Adds or removes a life and updates the hearts and life text.
@@ -561,131 +1423,228 @@ public class BrickerGameManager extends GameManager {
             this.lifeNumeric.loseLife();
         }
 
-        int numLives = this.lifeNumeric.getNumLives();
-
-        // Clear old hearts and recreate based on new life count
-        deleteHearts();
-        if (numLives > 0) {
-            createLives(imageReader, windowDimensions, numLives);
+        // Show or hide only the hearts that changed, and update the life text
+        livesDisplay.setLives(this.lifeNumeric.getNumLives());
+        if (eventListener != null) {
+            eventListener.onEvent(GameEventListener.LIVES_CHANGED, this.lifeNumeric.getNumLives(), 0);
         }
-
-        // Update the life text
-        createLifeText(numLives);
     }
 
     /**
      * Creates the ball object that the player controls in the game.
      *
-     * @param imageReader    The reader used to load the ball image.
      * @param windowDimensions The dimensions of the game window.
-     * @param soundReader    The reader used to load the ball's collision sound.
      */
-    private void createBall(ImageReader imageReader, Vector2 windowDimensions, SoundReader soundReader) {
-        Renderable ballImage = imageReader.readImage(BALL_IMAGE_PATH, true);
-        Sound collisionSound = soundReader.readSound(BALL_COLLISION_SOUND_PATH);
+    private void createBall(Vector2 windowDimensions) {
+        Ball ball = createPrimaryBall();
+        balls.add(ball, true);
+        this.gameObjects().addGameObject(ball);
+    }
 
-        ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS), ballImage, collisionSound);
-        ball.setTag("Ball");
+    /**
+     * Adds another primary ball to the game, launched from the center of the window like the
+     * first one. A life is only lost once every primary ball has fallen.
+     *
+     * @return The added ball.
+     */
+    public Ball addBall() {
+        Ball ball = createPrimaryBall();
+        balls.add(ball, true);
+        staging.add(ball, Layer.DEFAULT);
+        return ball;
+    }
 
-        resetBall();
+    /**
+     * Returns the registry of every ball and pack in the game.
+     *
+     * @return The game's ball registry.
+     */
+    public BallRegistry getBalls() {
+        return balls;
     }
 
     /**
-     * Resets the ball to its default position and speed.
-     * If turbo mode is active, adjusts the ball's velocity and appearance.
+     * Creates a primary ball at the center of the window, moving in a random diagonal direction.
+     *
+     * @return The new ball, not yet part of the game.
      */
-    private void resetBall() {
-        // if Turbo is On:
-        if (isTurboOn) {
-            ball.setVelocity(ball.getVelocity().mult(1 / TURBO_MULTIPLIER));
-            Renderable redBallImage = imageReader.readImage(BALL_IMAGE_PATH, true);
-            ball.renderer().setRenderable(redBallImage);
-        }
-        // else, fully-reset:
-        else {
-            float ballVelX = BALL_SPEED;
-            float ballVelY = BALL_SPEED;
-            Random rand = new Random();
-            if (rand.nextBoolean()) {
-                ballVelX *= NEGATIVE_DIRECTION;
-            }
-            if (rand.nextBoolean()) {
-                ballVelY *= NEGATIVE_DIRECTION;
-            }
-            ball.setVelocity(new Vector2(ballVelX, ballVelY));
+    Ball createPrimaryBall() {
+        Renderable ballImage = assetCache.readImage(BALL_IMAGE_PATH, true);
+        Sound collisionSound = assetCache.readSound(BALL_COLLISION_SOUND_PATH);
+
+        Ball ball = new Ball(Vector2.ZERO, new Vector2(BALL_RADIUS, BALL_RADIUS), ballImage, collisionSound,
+                audioMixer);
+        ball.setTag("Ball");
+        resetBall(ball);
+        return ball;
+    }
 
-            ball.setCenter(windowDimensions.mult(0.5f));
+    /**
+     * Resets a ball to its default position and speed.
+     *
+     * @param ball The ball to reset, not in turbo mode.
+     */
+    private void resetBall(Ball ball) {
+        float ballVelX = config.getBallSpeed();
+        float ballVelY = config.getBallSpeed();
+        if (random.nextBoolean()) {
+            ballVelX *= NEGATIVE_DIRECTION;
+        }
+        if (random.nextBoolean()) {
+            ballVelY *= NEGATIVE_DIRECTION;
+        }
+        ball.setVelocity(new Vector2(ballVelX, ballVelY));
 
-            Renderable redBallImage = imageReader.readImage(BALL_IMAGE_PATH, true);
-            ball.renderer().setRenderable(redBallImage);
+        ball.setCenter(windowDimensions.mult(0.5f));
+    }
 
-            this.gameObjects().addGameObject(ball);
+    /**
+     * Handles a primary ball that fell out of the game area. While other primary balls are in play
+     * the ball simply leaves the game; the last one costs a life and is launched again.
+     *
+     * @param slot The slot of the fallen ball in the ball registry.
+     */
+    private void loseBall(int slot) {
+        Ball ball = balls.get(slot);
+        if (balls.getNumPrimary() > 1) {
+            balls.removeAt(slot);
+            staging.remove(ball, Layer.DEFAULT);
+            return;
+        }
+        if (balls.isTurbo(slot)) {
+            stopTurbo(slot, false);
         }
+        resetBall(ball);
+        updateLives(false);
+        livesLost++;
     }
 
     /**
      * Creates the paddle that the player controls in the game.
      *
-     * @param imageReader     The reader used to load the paddle image.
-     * @param inputListener   The input listener for player control.
      * @param windowDimensions The dimensions of the game window.
      */
-    private void createPaddle(ImageReader imageReader,
-                              UserInputListener inputListener,
-                              Vector2 windowDimensions) {
-        Renderable paddleImage = imageReader.readImage(PADDLE_IMAGE_PATH, true);
-        Paddle paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT),
-                paddleImage, inputListener, windowDimensions, false);
+    private void createPaddle(Vector2 windowDimensions) {
+        Renderable paddleImage = assetCache.readImage(PADDLE_IMAGE_PATH, true);
+        paddle = new Paddle(Vector2.ZERO, new Vector2(config.getPaddleWidth(), PADDLE_HEIGHT),
+                paddleImage, paddleController, windowDimensions, false);
         paddle.setTag("Paddle");
         paddle.setCenter(new Vector2(windowDimensions.x() / 2, windowDimensions.y() - WALL_WIDTH));
         this.gameObjects().addGameObject(paddle);
     }
 
     /**
-     * Creates the brick objects arranged in rows.
+     * Creates the brick objects arranged in rows, and the grid that indexes them.
+     * Bricks live in the static objects layer, which does not collide with the balls' layer:
+     * ball-brick collisions are found through the brick grid instead of by the engine.
      *
      * @param windowDimensions The dimensions of the game window.
-     * @param imageReader      The reader used to load the brick image.
      */
-    private void createBricks(Vector2 windowDimensions, ImageReader imageReader) {
+    private void createBricks(Vector2 windowDimensions) {
+        this.gameObjects().layers().shouldLayersCollide(Layer.DEFAULT, Layer.STATIC_OBJECTS, false);
+        if (compactBrickField) {
+            createBrickField(windowDimensions);
+            return;
+        }
+
+        numBricks = 0;
+        int brickWidth = computeBrickWidth(windowDimensions, this.numBricksPerRow);
+        BrickGrid brickGrid = new BrickGrid(WALL_WIDTH, WALL_WIDTH, brickWidth + BRICK_GAP,
+                BRICK_HEIGHT + BRICK_GAP, this.numBricksPerRow, this.numRows, strategyFlyweights);
         for (int i = 0; i < this.numRows; i++) {
-            createBricksRow(windowDimensions, imageReader, this.numBricksPerRow, i);
+            createBricksRow(brickGrid, windowDimensions, this.numBricksPerRow, i);
+        }
+        brickIndex = brickGrid;
+    }
+
+    /**
+     * Creates the bricks as a compact BrickField, drawn by a single game object.
+     *
+     * @param windowDimensions The dimensions of the game window.
+     */
+    private void createBrickField(Vector2 windowDimensions) {
+        int brickWidth = computeBrickWidth(windowDimensions, this.numBricksPerRow);
+        BrickField brickField = new BrickField(WALL_WIDTH, WALL_WIDTH, new Vector2(brickWidth, BRICK_HEIGHT),
+                BRICK_GAP, this.numBricksPerRow, this.numRows, strategyFlyweights);
+        numBricks = 0;
+        for (int row = 0; row < this.numRows; row++) {
+            for (int column = 0; column < this.numBricksPerRow; column++) {
+                int strategy = chooseStrategy(column, row);
+                if (strategy != NO_BRICK) {
+                    brickField.add(column, row, strategy);
+                    numBricks++;
+                }
+            }
         }
+
+        Renderable brickImage = assetCache.readImage(BRICK_IMAGE_PATH, false);
+        Vector2 fieldDims = new Vector2(this.numBricksPerRow * (brickWidth + BRICK_GAP),
+                this.numRows * (BRICK_HEIGHT + BRICK_GAP));
+        GameObject fieldObject = new GameObject(new Vector2(WALL_WIDTH, WALL_WIDTH), fieldDims,
+                brickImage == null ? null : brickField.createRenderable(brickImage));
+        this.gameObjects().addGameObject(fieldObject, Layer.STATIC_OBJECTS);
+        brickIndex = brickField;
+    }
+
+    /**
+     * Chooses whether the bricks of the next game are stored in a compact BrickField,
+     * as primitive arrays drawn by a single game object, instead of as one game object per brick.
+     * Meant for very large stress levels. Takes effect when the game is initialized.
+     *
+     * @param compactBrickField True to use a compact brick field, false for regular bricks.
+     */
+    public void setCompactBrickField(boolean compactBrickField) {
+        this.compactBrickField = compactBrickField;
+    }
+
+    /**
+     * Computes the width of a brick so that a row of bricks fills the space between the walls.
+     *
+     * @param windowDimensions The dimensions of the game window.
+     * @param numBricks        The number of bricks in a row.
+     * @return The width of a single brick.
+     */
+    private int computeBrickWidth(Vector2 windowDimensions, int numBricks) {
+        return ((int)windowDimensions.x() - (2* WALL_WIDTH) - BRICK_GAP*(numBricks-1)) / numBricks;
     }
 
     /**
      * Creates a row of bricks at a specific row index.
      *
+     * @param brickGrid        The grid the bricks are placed in.
      * @param windowDimensions The dimensions of the game window.
-     * @param imageReader      The reader used to load the brick image.
      * @param numBricks        The number of bricks in the row.
      * @param rowIdx           The index of the row.
      */
-    private void createBricksRow(Vector2 windowDimensions, ImageReader imageReader,
-                                 int numBricks, int rowIdx) {
-        int brickWidth = ((int)windowDimensions.x() - (2* WALL_WIDTH) - 2*(numBricks-1)) / numBricks;
+    private void createBricksRow(BrickGrid brickGrid, Vector2 windowDimensions, int numBricks, int rowIdx) {
+        int brickWidth = computeBrickWidth(windowDimensions, numBricks);
         Vector2 brickDims = new Vector2(brickWidth, BRICK_HEIGHT);
+        Renderable brickImage = assetCache.readImage(BRICK_IMAGE_PATH, false);
         for (int i = 0; i < numBricks; i++) {
-            float corX = i*brickWidth + 0.5f*brickWidth + WALL_WIDTH + 2*i;
-            float corY = rowIdx*BRICK_HEIGHT + 0.5f*BRICK_HEIGHT + WALL_WIDTH + 2*rowIdx;
+            int strategy = chooseStrategy(i, rowIdx);
+            if (strategy == NO_BRICK) {
+                continue;
+            }
+            float corX = i*brickWidth + 0.5f*brickWidth + WALL_WIDTH + BRICK_GAP*i;
+            float corY = rowIdx*BRICK_HEIGHT + 0.5f*BRICK_HEIGHT + WALL_WIDTH + BRICK_GAP*rowIdx;
             Vector2 brickCoors = new Vector2(corX, corY);
-            createBrick(imageReader, brickDims, brickCoors);
+            Brick brick = createBrick(brickImage, brickDims, brickCoors, strategyFlyweights[strategy]);
+            brickGrid.add(i, rowIdx, brick, strategy);
+            this.numBricks++;
         }
     }
 
     /**
      * Creates a brick game object and adds it to the game objects collection.
      *
-     * @param imageReader The ImageReader used to read the brick's image.
+     * @param brickImage The shared image of the bricks.
      * @param brickDims The dimensions (width and height) of the brick.
      * @param brickCoors The coordinates (x, y) of the brick in the game world.
+     * @param collisionStrategy The shared strategy of the brick's type.
+     * @return The new brick.
      */
-    private void createBrick(ImageReader imageReader,
-                             Vector2 brickDims, Vector2 brickCoors) {
-        Renderable brickImage = imageReader.readImage(BRICK_IMAGE_PATH, false);
-
-        // create strategy:
-        CollisionStrategy collisionStrategy = createBrickCollisionStrategy();
+    private Brick createBrick(Renderable brickImage,
+                             Vector2 brickDims, Vector2 brickCoors, CollisionStrategy collisionStrategy) {
 
         Brick brick = new Brick(Vector2.ZERO,
                 new Vector2(brickDims),
@@ -694,60 +1653,346 @@ public class BrickerGameManager extends GameManager {
         brick.setTag("Brick");
         brick.setCenter(brickCoors);
 
-        this.gameObjects().addGameObject(brick);
+        this.gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+        return brick;
+    }
+
+    /**
+     * Chooses the strategy type of the brick in a cell of the current level.
+     * Random cells are drawn from the level's strategy probabilities, or the game's if it has none,
+     * using their alias table.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return The strategy type id of the brick, or NO_BRICK if the cell is empty.
+     */
+    private int chooseStrategy(int column, int row) {
+        byte cell = level.getCell(column, row);
+        if (cell == Level.EMPTY) {
+            return NO_BRICK;
+        }
+        if (cell == Level.RANDOM) {
+            return (levelSampler != null ? levelSampler : config.getStrategySampler()).sample(random);
+        }
+        // setLevel checked that the cell is a strategy type id
+        return cell;
+    }
+
+    /**
+     * Reads a level file, binary or text, and plays it. See setLevel.
+     *
+     * @param file The level file. Files ending with ".txt" are read as text levels.
+     * @throws IllegalArgumentException if the file is not a valid level.
+     * @throws java.io.UncheckedIOException if the file can not be read.
+     */
+    public void loadLevel(Path file) {
+        setLevel(LevelReader.read(file));
+    }
+
+    /**
+     * Replaces the level. If a game is already running it is restarted on the new level right away,
+     * in the same window; otherwise the level is used once the game is initialized.
+     *
+     * @param level The new level.
+     * @throws IllegalArgumentException if a cell of the level is neither EMPTY, RANDOM nor a strategy
+     *                                  type id, or the level's strategy probabilities are not a
+     *                                  distribution over every strategy type. The current level is
+     *                                  kept.
+     */
+    public void setLevel(Level level) {
+        validateCells(level);
+        float[] probabilities = level.getStrategyProbabilities();
+        AliasSampler sampler = null;
+        if (probabilities != null) {
+            if (probabilities.length != NUM_BEHAVIOURS) {
+                throw new IllegalArgumentException("Expected " + NUM_BEHAVIOURS +
+                        " strategy probabilities, got " + probabilities.length + ".");
+            }
+            sampler = new AliasSampler(probabilities);
+        }
+        this.level = level;
+        this.levelSampler = sampler;
+        this.numBricksPerRow = level.getNumColumns();
+        this.numRows = level.getNumRows();
+        if (windowDimensions != null) {
+            restartGame();
+        }
+    }
+
+    /**
+     * Validates that every cell of a level is empty, random or a known strategy type, so a bad
+     * level is rejected before it replaces the current one rather than halfway through building
+     * its bricks. Reads every cell once, e.g. every byte of a memory-mapped binary level.
+     *
+     * @param level The level to validate.
+     * @throws IllegalArgumentException if a cell holds anything else.
+     */
+    private static void validateCells(Level level) {
+        for (int row = 0; row < level.getNumRows(); row++) {
+            for (int column = 0; column < level.getNumColumns(); column++) {
+                byte cell = level.getCell(column, row);
+                if (cell != Level.EMPTY && cell != Level.RANDOM && (cell < 0 || cell >= NUM_BEHAVIOURS)) {
+                    throw new IllegalArgumentException("Unknown strategy behaviour " + cell + " in level cell (" +
+                            column + ", " + row + ").");
+                }
+            }
+        }
     }
 
     /**
-     * Validates that the probabilities array sums to 1.0.
+     * Returns the current level.
      *
-     * @param probabilities The array of probabilities to validate.
-     * @throws IllegalArgumentException if the probabilities do not sum to 1.0.
+     * @return The layout of the current level's bricks.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Starts a new game, with full lives and every brick of the current level.
+     */
+    private void restartGame() {
+        this.lifeNumeric = new LifeNumeric(config.getStartLives(), config.getMaxLives());
+        bricksCountDown.reset();
+        if (headless) {
+            initializeHeadless(windowDimensions, paddleController);
+        } else {
+            windowController.resetGame();
+        }
+    }
+
+    /**
+     * Starts a new game on the same level without building the game again: the removed bricks are
+     * put back with their original strategies, the ball and paddle are moved back to their starting
+     * places, and the packs, hearts, extra balls and extra paddle leave the game. Nothing is loaded
+     * or created, so the cost depends only on how many objects the last game removed or added.
      */
-    private void validateProbabilities(float[] probabilities) {
-        float sum = 0;
-        for (float prob : probabilities) {
-            sum += prob;
+    public void softReset() {
+        gameOutcome = GameOutcome.IN_PROGRESS;
+        winRequested = false;
+        events.clear();
+
+        // Keep the first primary ball, every other ball and pack leaves the game:
+        Ball mainBall = null;
+        for (int slot = 0; slot < balls.size(); slot++) {
+            Ball ball = balls.get(slot);
+            if (balls.isTurbo(slot)) {
+                stopTurbo(slot, false);
+            }
+            if (mainBall == null && balls.isPrimary(slot)) {
+                mainBall = ball;
+                continue;
+            }
+            staging.remove(ball, Layer.DEFAULT);
+            if (!balls.isPrimary(slot)) {
+                packPool.release((Pack) ball);
+            }
+        }
+        balls.clear();
+        if (mainBall == null) {
+            mainBall = createPrimaryBall();
+            staging.add(mainBall, Layer.DEFAULT);
+        }
+        balls.add(mainBall, true);
+        resetBall(mainBall);
+        mainBall.setCollisionCounter(0);
+
+        for (Heart heart : movingHeartsList) {
+            staging.remove(heart, Layer.DEFAULT);
+            heartPool.release(heart);
         }
-        if (Math.abs(sum - PROBABILITIES_SUM) > PROBABILITIES_TOLERANCE) {
-            throw new IllegalArgumentException("Probabilities must sum to 1.");
+        clearMovingHearts();
+        culling.clear();
+        if (extraPaddle != null) {
+            removePaddle(extraPaddle);
         }
+        paddle.setCenter(new Vector2(windowDimensions.x() / 2, windowDimensions.y() - WALL_WIDTH));
+        paddle.setVelocity(Vector2.ZERO);
+
+        // Bricks that were not game objects come back through the brick index alone:
+        brickIndex.restoreAll(brick -> staging.add(brick, Layer.STATIC_OBJECTS));
+        bricksCountDown.reset();
+        numSweepStarts = 0;
+
+        this.lifeNumeric = new LifeNumeric(config.getStartLives(), config.getMaxLives());
+        livesDisplay.setLives(this.lifeNumeric.getNumLives());
+    }
+
+    /**
+     * Returns the number of bytes saveSnapshot writes for the current state of the game.
+     *
+     * @return The size of a snapshot of the game as it is now.
+     */
+    public int getSnapshotSize() {
+        return GameSnapshot.getSize(this);
+    }
+
+    /**
+     * Writes the state of the running game to a buffer, so it can be brought back later with
+     * restoreSnapshot, e.g. to roll back a search or to branch simulations from the same point.
+     * Saving has no effect on the game, not even on its random source, so a game that is saved
+     * along the way plays the same as one that is not. Must be called between frames. The snapshot's contents are described in GameSnapshot.
+     *
+     * @param buffer The buffer to write to, with at least getSnapshotSize bytes remaining.
+     */
+    public void saveSnapshot(ByteBuffer buffer) {
+        GameSnapshot.save(this, buffer);
+    }
+
+    /**
+     * Brings the game back to a snapshot written by saveSnapshot on the same level, reusing the
+     * objects already in the game. The level is checked before anything changes. Must be called
+     * between frames.
+     *
+     * @param buffer The buffer to read from, positioned at the snapshot.
+     * @throws IllegalArgumentException if the buffer does not hold a snapshot of a supported
+     *                                  version, or the snapshot was taken on another level.
+     */
+    public void restoreSnapshot(ByteBuffer buffer) {
+        GameSnapshot.restore(this, buffer);
     }
 
+    /**
+     * Returns the index of the game's bricks.
+     *
+     * @return The brick index.
+     */
+    BrickIndex getBrickIndex() {
+        return brickIndex;
+    }
+
+    /**
+     * Returns the number of bricks destroyed in the current game.
+     *
+     * @return The destroyed brick count.
+     */
+    int getBricksDestroyed() {
+        return bricksCountDown.value();
+    }
+
+    /**
+     * Returns the state of the random source, without drawing from it.
+     *
+     * @return The random source's state.
+     */
+    long getRandomState() {
+        return random.getState();
+    }
+
+    /**
+     * Brings back the random source, the outcome, the lives and the brick counter of a saved game,
+     * and drops everything pending from the current frame.
+     *
+     * @param randomState     The state of the random source.
+     * @param outcome         The game's outcome.
+     * @param numLives        The number of lives.
+     * @param bricksDestroyed The number of bricks destroyed.
+     */
+    void restoreProgress(long randomState, GameOutcome outcome, int numLives, int bricksDestroyed) {
+        random = new GameRandom(randomState);
+        gameOutcome = outcome;
+        winRequested = false;
+        events.clear();
+        numSweepStarts = 0;
+        this.lifeNumeric = new LifeNumeric(numLives, config.getMaxLives());
+        livesDisplay.setLives(numLives);
+        bricksCountDown.reset();
+        bricksCountDown.increaseBy(bricksDestroyed);
+    }
+
+    /**
+     * Returns the paddle the player controls.
+     *
+     * @return The main paddle.
+     */
+    Paddle getPaddle() {
+        return paddle;
+    }
 
     /**
-     * Creates a collision strategy for a brick based on weighted random selection.
-     * This method assigns a collision strategy to a brick using random probability
-     * weighted by predefined values.
+     * Returns the extra paddle.
      *
-     * @return A `CollisionStrategy` object for the brick, selected based on random weights.
+     * @return The extra paddle, or null if it is not in the game.
      */
-    private CollisionStrategy createBrickCollisionStrategy() {
-        Random random = new Random();
+    Paddle getExtraPaddle() {
+        return extraPaddle;
+    }
 
-        // Validate probabilities sum to 1
-        validateProbabilities(STRATEGY_PROBABILITIES);
+    /**
+     * Adds or removes the extra paddle, so it is in the game exactly when asked.
+     *
+     * @param present Whether the game should have an extra paddle.
+     * @return The extra paddle, or null if present is false.
+     */
+    Paddle setExtraPaddlePresent(boolean present) {
+        if (present && extraPaddle == null) {
+            addPaddle(createExtraPaddle());
+        } else if (!present && extraPaddle != null) {
+            removePaddle(extraPaddle);
+        }
+        return extraPaddle;
+    }
 
-        // Compute cumulative probabilities
-        float[] cumulativeProbabilities = new float[STRATEGY_PROBABILITIES.length];
-        cumulativeProbabilities[0] = STRATEGY_PROBABILITIES[0];
-        for (int i = 1; i < STRATEGY_PROBABILITIES.length; i++) {
-            cumulativeProbabilities[i] = cumulativeProbabilities[i - 1] + STRATEGY_PROBABILITIES[i];
+    /**
+     * Gives a ball in the game the image of its kind, and lets the culling stage track it if it
+     * is a pack.
+     *
+     * @param ball      The ball.
+     * @param isPrimary Whether the ball is a primary ball, and not a pack.
+     * @param isTurbo   Whether the ball is in turbo mode.
+     */
+    void showBall(Ball ball, boolean isPrimary, boolean isTurbo) {
+        String imagePath = isTurbo ? TURBO_BALL_IMAGE_PATH : isPrimary ? BALL_IMAGE_PATH : PACK_IMAGE_PATH;
+        ball.renderer().setRenderable(assetCache.readImage(imagePath, true));
+        if (!isPrimary) {
+            culling.track(ball, packCullType);
         }
+    }
 
-        // Generate a random number between 0 and 1
-        float randomValue = random.nextFloat();
+    /**
+     * Creates an extra paddle like the one an extra paddle brick adds, e.g. when a snapshot with
+     * an extra paddle is restored.
+     *
+     * @return The new paddle, not yet part of the game.
+     */
+    private Paddle createExtraPaddle() {
+        Renderable paddleImage = assetCache.readImage(ExstraPaddleStrategy.PADDLE_IMAGE_PATH, true);
+        Paddle extra = new Paddle(Vector2.ZERO, new Vector2(config.getPaddleWidth(), PADDLE_HEIGHT),
+                paddleImage, paddleController, windowDimensions, true);
+        extra.setTag("Paddle");
+        return extra;
+    }
 
-        // Determine the strategy type based on random value
-        int selectedStrategy = 0;
-        for (int i = 0; i < cumulativeProbabilities.length; i++) {
-            if (randomValue <= cumulativeProbabilities[i]) {
-                selectedStrategy = i;
-                break;
+    /**
+     * Creates the single, shared instance of each strategy type.
+     * Strategies hold no per-brick state, so every brick of a type uses the same instance.
+     * Every instance is wrapped so its triggers are counted and, when metrics are enabled,
+     * its collisions are timed.
+     */
+    private void createStrategyFlyweights() {
+        strategyFlyweights = new CollisionStrategy[NUM_BEHAVIOURS];
+        for (int behaviour = 0; behaviour < strategyFlyweights.length; behaviour++) {
+            strategyFlyweights[behaviour] = new CountingCollisionStrategy(createStrategy(behaviour),
+                    strategyTriggerCounts, behaviour);
+            if (metrics.isEnabled()) {
+                strategyFlyweights[behaviour] =
+                        new TimedCollisionStrategy(strategyFlyweights[behaviour], behaviour, metrics);
             }
         }
+    }
 
-        // Create the appropriate strategy based on the selected enum value
-        return createStrategy(selectedStrategy);
+    /**
+     * Returns the shared strategy instance of the given type.
+     *
+     * @param behaviour An integer representing the behavior type (e.g., BASIC, EXTRA_PACK).
+     * @return The shared CollisionStrategy of that type.
+     * @throws IllegalArgumentException if the behavior type is unknown.
+     */
+    public CollisionStrategy getStrategy(int behaviour) {
+        if (behaviour < 0 || behaviour >= strategyFlyweights.length) {
+            throw new IllegalArgumentException("Unknown strategy behaviour: " + behaviour);
+        }
+        return strategyFlyweights[behaviour];
     }
 
     /**
@@ -757,21 +2002,21 @@ public class BrickerGameManager extends GameManager {
      * @return A CollisionStrategy object corresponding to the specified behavior.
      * @throws IllegalArgumentException if the behavior type is unknown.
      */
-    private CollisionStrategy createStrategy(int behaviour) {
+    public CollisionStrategy createStrategy(int behaviour) {
         switch (behaviour) {
             case BASIC:
                 return new BasicCollisionStrategy(this);
             case EXTRA_PACK:
-                return new ExstraPackStrategy(this, imageReader, soundReader, BALL_SPEED, BALL_RADIUS);
+                return new ExstraPackStrategy(this, config.getBallSpeed(), config.getNumPacksPerBrick());
             case EXTRA_PADDLE:
-                return new ExstraPaddleStrategy(this, windowDimensions, inputListener,
-                        imageReader, PADDLE_WIDTH, PADDLE_HEIGHT);
+                return new ExstraPaddleStrategy(this, windowDimensions, paddleController,
+                        assetCache, config.getPaddleWidth(), PADDLE_HEIGHT);
             case TURBO:
-                return new TurboStrategy(this, ball);
+                return new TurboStrategy(this);
             case RETURN_LIVE:
-                return new ReturnLiveStrategy(this, windowDimensions, imageReader, HEART_SIZE);
+                return new ReturnLiveStrategy(this, config.getHeartSpeed());
             case MULTIPLE_BEHAVIORS:
-                return new MultipleBehaviorsStrategy(this, getMultipleStrategies());
+                return new MultipleBehaviorsStrategy(this);
 
             default:
                 throw new IllegalArgumentException("Unknown strategy behaviour: " + behaviour);
@@ -779,64 +2024,66 @@ public class BrickerGameManager extends GameManager {
     }
 
     /**
-     * Generates an array of multiple collision strategies.
-     * Randomly selects two or three strategies based on predefined logic.
+     * Runs the game. Options: --config followed by a properties file of GameConfig, --level
+     * followed by a level file, --record followed by the file to record the game to, and the number
+     * of bricks per row and of rows, e.g. "--record game.rec 10 5". A level sets the grid itself.
      *
-     * @return An array of CollisionStrategy objects.
+     * @param args The options.
+     * @throws IllegalArgumentException if an option is unknown or misses its value.
      */
-    private CollisionStrategy[] getMultipleStrategies() {
-        boolean threeBehaviors = false;
-        int behave1 = getRandomNum(EXTRA_PACK, MULTIPLE_BEHAVIORS);
-        int behave2;
-        int behave3 = -1;
-        do {
-            behave2 = getRandomNum(EXTRA_PACK, MULTIPLE_BEHAVIORS);
-        } while (behave1 == behave2);
-        if (behave1 == MULTIPLE_BEHAVIORS || behave2 == MULTIPLE_BEHAVIORS) {
-            threeBehaviors = true;
-            behave1 = (behave1 == MULTIPLE_BEHAVIORS) ? behave2 : behave1;
-
-            behave2 = getRandomNum(EXTRA_PACK, RETURN_LIVE);
-            do {
-                behave3 = getRandomNum(EXTRA_PACK, RETURN_LIVE);
-            } while (behave2 == behave3);
+    public static void main(String[] args) {
+        int numBricks = NUM_BRICKS_PER_ROW;
+        int numRows = NUM_ROWS;
+        GameConfig config = GameConfig.DEFAULT;
+        Level level = null;
+        Path recording = null;
+        int numDimensions = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case CONFIG_OPTION:
+                    config = GameConfig.load(Paths.get(optionValue(args, i++)));
+                    break;
+                case LEVEL_OPTION:
+                    level = LevelReader.read(Paths.get(optionValue(args, i++)));
+                    break;
+                case RECORD_OPTION:
+                    recording = Paths.get(optionValue(args, i++));
+                    break;
+                default:
+                    if (!args[i].matches("\\d+") || numDimensions == 2) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                    }
+                    if (numDimensions++ == 0) {
+                        numBricks = Integer.parseInt(args[i]);
+                    } else {
+                        numRows = Integer.parseInt(args[i]);
+                    }
+            }
         }
-        // Create the strategies array
-        if (threeBehaviors) {
-            return new CollisionStrategy[] {
-                    createStrategy(behave1),
-                    createStrategy(behave2),
-                    createStrategy(behave3)
-            };
-        } else {
-            return new CollisionStrategy[] {
-                    createStrategy(behave1),
-                    createStrategy(behave2)
-            };
+        BrickerGameManager trial = new BrickerGameManager("bouncing ball",
+                new Vector2(700, 500), numBricks, numRows, config);
+        if (level != null) {
+            trial.setLevel(level);
         }
+        if (recording != null) {
+            trial.setRecordingFile(recording);
+        }
+        trial.run();
+        trial.stopRecording();
     }
 
     /**
-     * Generates a random integer within a specified range.
+     * Returns the value that follows an option on the command line.
      *
-     * @param min The minimum value (inclusive).
-     * @param max The maximum value (inclusive).
-     * @return A random integer between min and max.
+     * @param args  The command line.
+     * @param index The index of the option.
+     * @return The option's value.
+     * @throws IllegalArgumentException if the option is the last argument.
      */
-    private int getRandomNum(int min, int max){
-        return ThreadLocalRandom.current().nextInt(min, max + 1); // Inclusive of `max`
-    }
-
-
-    public static void main(String[] args) {
-        int numBricks = NUM_BRICKS_PER_ROW;
-        int numRows = NUM_ROWS;
-        if (args.length == 2) {
-            numBricks = Integer.parseInt(args[0]);
-            numRows = Integer.parseInt(args[1]);
+    private static String optionValue(String[] args, int index) {
+        if (index + 1 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index]);
         }
-        BrickerGameManager trial = new BrickerGameManager("bouncing ball",
-                new Vector2(700, 500), numBricks, numRows);
-        trial.run();
+        return args[index + 1];
     }
 }
@@ -0,0 +1,336 @@
+package bricker.main;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Removes transient objects, such as packs and falling hearts, once they fall below the bottom
+ * of the game area.
+ * <p>
+ * Instead of testing every tracked object every frame, the stage keeps the objects in a binary
+ * min-heap, backed by primitive arrays, keyed by the earliest time the object could cross its
+ * limit: its distance from the limit divided by its speed. Bounces change an object's direction
+ * but not its speed, so that time is a safe lower bound. Each frame only the objects whose time
+ * has come are tested; an object still inside is pushed back with a new key, so objects far from
+ * the bottom cost nothing until they may have reached it. Every object type has its own limit
+ * and its own handler for the objects it culls. The heap position of every object is indexed, so
+ * an object that leaves the game some other way stops being tracked in logarithmic time.
+ */
+public class CullingStage {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The y coordinate objects are culled below, before the type's margin.
+     */
+    private final float bottom;
+
+    /**
+     * The tracked objects, in heap order.
+     */
+    private GameObject[] objects;
+
+    /**
+     * The heap position of every tracked object.
+     */
+    private final SlotIndex<GameObject> positions;
+
+    /**
+     * The earliest time each tracked object could cross its limit, in heap order.
+     */
+    private double[] exitTimes;
+
+    /**
+     * The type id of each tracked object, in heap order.
+     */
+    private int[] types;
+
+    /**
+     * The number of tracked objects.
+     */
+    private int size;
+
+    /**
+     * The distance below the bottom each type's objects are culled at, indexed by type id.
+     */
+    private float[] margins;
+
+    /**
+     * The handler of each type's culled objects, indexed by type id.
+     */
+    private Consumer<GameObject>[] handlers;
+
+    /**
+     * The number of registered types.
+     */
+    private int numTypes;
+
+    /**
+     * The time passed since the stage was created.
+     */
+    private double now;
+
+    /**
+     * The number of times a tracked object was tested against its limit.
+     */
+    private long testedCount;
+
+    /**
+     * The number of objects culled.
+     */
+    private long culledCount;
+
+    /**
+     * Constructs a new CullingStage with no types and no tracked objects.
+     *
+     * @param bottom The y coordinate objects are culled below, usually the height of the game area.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CullingStage(float bottom) {
+        this.bottom = bottom;
+        this.objects = new GameObject[INITIAL_CAPACITY];
+        this.positions = new SlotIndex<>(INITIAL_CAPACITY);
+        this.exitTimes = new double[INITIAL_CAPACITY];
+        this.types = new int[INITIAL_CAPACITY];
+        this.margins = new float[INITIAL_CAPACITY];
+        this.handlers = new Consumer[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Registers a type of culled objects.
+     *
+     * @param margin  How far below the bottom an object's center must be before it is culled.
+     * @param handler Called with every culled object of the type, after it stopped being tracked.
+     * @return The id of the type, to track its objects with.
+     * @throws IllegalArgumentException if the margin is negative.
+     */
+    public int registerType(float margin, Consumer<GameObject> handler) {
+        if (margin < 0) {
+            throw new IllegalArgumentException("Culling margin must not be negative.");
+        }
+        if (numTypes == margins.length) {
+            margins = Arrays.copyOf(margins, 2 * numTypes);
+            handlers = Arrays.copyOf(handlers, 2 * numTypes);
+        }
+        margins[numTypes] = margin;
+        handlers[numTypes] = handler;
+        return numTypes++;
+    }
+
+    /**
+     * Starts tracking an object. Its velocity should already be set.
+     *
+     * @param object The object to track.
+     * @param type   The id of the object's type.
+     * @throws IllegalArgumentException if the type is not registered or the object is already tracked.
+     */
+    public void track(GameObject object, int type) {
+        if (type < 0 || type >= numTypes) {
+            throw new IllegalArgumentException("Unknown culling type: " + type);
+        }
+        if (positions.get(object) >= 0) {
+            throw new IllegalArgumentException("Object is already tracked.");
+        }
+        if (size == objects.length) {
+            objects = Arrays.copyOf(objects, 2 * size);
+            exitTimes = Arrays.copyOf(exitTimes, 2 * size);
+            types = Arrays.copyOf(types, 2 * size);
+        }
+        objects[size] = object;
+        positions.put(object, size);
+        types[size] = type;
+        exitTimes[size] = exitTime(object, type);
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Stops tracking an object that left the game some other way, e.g. a caught heart.
+     *
+     * @param object The object to stop tracking.
+     * @return Whether the object was tracked.
+     */
+    public boolean untrack(GameObject object) {
+        int position = positions.get(object);
+        if (position < 0) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    /**
+     * Advances the stage's time and culls every tracked object that fell below its limit.
+     *
+     * @param deltaTime The time passed since the last cull.
+     */
+    public void cull(float deltaTime) {
+        now += deltaTime;
+        while (size > 0 && exitTimes[0] <= now) {
+            GameObject object = objects[0];
+            int type = types[0];
+            testedCount++;
+            if (centerY(object) > bottom + margins[type]) {
+                removeAt(0);
+                culledCount++;
+                handlers[type].accept(object);
+            } else {
+                exitTimes[0] = exitTime(object, type);
+                siftDown(0);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking every object, without calling the handlers.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of tracked objects.
+     *
+     * @return The stage's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of times a tracked object was tested against its limit.
+     *
+     * @return The tested object count.
+     */
+    public long getTestedCount() {
+        return testedCount;
+    }
+
+    /**
+     * Returns the number of objects culled.
+     *
+     * @return The culled object count.
+     */
+    public long getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * Computes the earliest time an object could cross its type's limit, strictly after now.
+     *
+     * @param object The object.
+     * @param type   The id of the object's type.
+     * @return The object's key in the heap.
+     */
+    private double exitTime(GameObject object, int type) {
+        float distance = bottom + margins[type] - centerY(object);
+        float speed = object.getVelocity().magnitude();
+        if (speed == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(now + distance / speed, Math.nextUp(now));
+    }
+
+    /**
+     * Returns the y coordinate of an object's center, without allocating a vector for it.
+     *
+     * @param object The object.
+     * @return The y coordinate of its center.
+     */
+    private static float centerY(GameObject object) {
+        // The engine keeps the corner and dimensions, while the center is computed anew
+        Vector2 topLeft = object.getTopLeftCorner();
+        return topLeft.y() + object.getDimensions().y() / 2;
+    }
+
+    /**
+     * Removes the object at an index of the heap.
+     *
+     * @param index The index to remove.
+     */
+    private void removeAt(int index) {
+        positions.remove(objects[index]);
+        size--;
+        if (index != size) {
+            move(size, index);
+            siftDown(index);
+            siftUp(index);
+        }
+        objects[size] = null;
+    }
+
+    /**
+     * Moves an object up the heap while its key is smaller than its parent's.
+     *
+     * @param index The index of the object.
+     */
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (exitTimes[parent] <= exitTimes[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * Moves an object down the heap while its key is larger than one of its children's.
+     *
+     * @param index The index of the object.
+     */
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && exitTimes[left] < exitTimes[smallest]) {
+                smallest = left;
+            }
+            if (right < size && exitTimes[right] < exitTimes[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    /**
+     * Copies the entry at one index of the heap over the entry at another.
+     *
+     * @param from The index to copy from.
+     * @param to   The index to copy to.
+     */
+    private void move(int from, int to) {
+        objects[to] = objects[from];
+        positions.put(objects[to], to);
+        exitTimes[to] = exitTimes[from];
+        types[to] = types[from];
+    }
+
+    /**
+     * Swaps two entries of the heap.
+     *
+     * @param i The index of the first entry.
+     * @param j The index of the second entry.
+     */
+    private void swap(int i, int j) {
+        GameObject object = objects[i];
+        double exitTime = exitTimes[i];
+        int type = types[i];
+        move(j, i);
+        objects[j] = object;
+        positions.put(object, j);
+        exitTimes[j] = exitTime;
+        types[j] = type;
+    }
+}
@@ -0,0 +1,632 @@
+package bricker.main;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The tunable parameters of a game: paddle and ball sizes and speeds, the turbo and extra paddle
+ * limits, the packs and hearts bricks release, the lives and the strategy probabilities.
+ * <p>
+ * A configuration is immutable, so one instance can be shared by any number of game managers,
+ * including ones running on other threads. It is built with a Builder, usually starting from
+ * DEFAULT or from another configuration, or loaded from a properties file whose keys are the
+ * KEY_ constants. Keys that are missing keep their default value.
+ */
+public final class GameConfig {
+
+    /**
+     * Properties key of the paddle width.
+     */
+    public static final String KEY_PADDLE_WIDTH = "paddleWidth";
+
+    /**
+     * Properties key of the ball speed.
+     */
+    public static final String KEY_BALL_SPEED = "ballSpeed";
+
+    /**
+     * Properties key of the turbo multiplier.
+     */
+    public static final String KEY_TURBO_MULTIPLIER = "turboMultiplier";
+
+    /**
+     * Properties key of the number of collisions a turbo lasts.
+     */
+    public static final String KEY_TURBO_COLLISION_THRESHOLD = "turboCollisionThreshold";
+
+    /**
+     * Properties key of the number of hits the extra paddle takes.
+     */
+    public static final String KEY_MAX_EXTRA_PADDLE_HITS = "maxExtraPaddleHits";
+
+    /**
+     * Properties key of the number of packs an extra pack brick releases.
+     */
+    public static final String KEY_NUM_PACKS_PER_BRICK = "numPacksPerBrick";
+
+    /**
+     * Properties key of the falling speed of the hearts.
+     */
+    public static final String KEY_HEART_SPEED = "heartSpeed";
+
+    /**
+     * Properties key of the number of lives a game starts with.
+     */
+    public static final String KEY_START_LIVES = "startLives";
+
+    /**
+     * Properties key of the maximal number of lives.
+     */
+    public static final String KEY_MAX_LIVES = "maxLives";
+
+    /**
+     * Properties key of the strategy probabilities, separated by commas or spaces.
+     */
+    public static final String KEY_STRATEGY_PROBABILITIES = "strategyProbabilities";
+
+    private static final int DEFAULT_PADDLE_WIDTH = 100;
+    private static final float DEFAULT_BALL_SPEED = 250;
+    private static final float DEFAULT_TURBO_MULTIPLIER = 1.4f;
+    private static final int DEFAULT_TURBO_COLLISION_THRESHOLD = 6;
+    private static final int DEFAULT_MAX_EXTRA_PADDLE_HITS = 4;
+    private static final int DEFAULT_NUM_PACKS_PER_BRICK = 2;
+    private static final float DEFAULT_HEART_SPEED = 100;
+    private static final int DEFAULT_START_LIVES = 3;
+    private static final int DEFAULT_MAX_LIVES = 4;
+    private static final float[] DEFAULT_STRATEGY_PROBABILITIES = {0.5f, 0.1f, 0.1f, 0.1f, 0.1f, 0.1f};
+    private static final String PROBABILITIES_SEPARATOR = "[,\\s]+";
+
+    /**
+     * The configuration of the original game.
+     */
+    public static final GameConfig DEFAULT = new Builder().build();
+
+    /**
+     * The width of the paddles.
+     */
+    private final int paddleWidth;
+
+    /**
+     * The speed of the balls and packs.
+     */
+    private final float ballSpeed;
+
+    /**
+     * The factor a ball's speed is multiplied by in turbo mode.
+     */
+    private final float turboMultiplier;
+
+    /**
+     * The number of collisions after which a ball leaves turbo mode.
+     */
+    private final int turboCollisionThreshold;
+
+    /**
+     * The number of hits after which the extra paddle disappears.
+     */
+    private final int maxExtraPaddleHits;
+
+    /**
+     * The number of packs an extra pack brick releases.
+     */
+    private final int numPacksPerBrick;
+
+    /**
+     * The falling speed of the hearts released by bricks.
+     */
+    private final float heartSpeed;
+
+    /**
+     * The number of lives a game starts with.
+     */
+    private final int startLives;
+
+    /**
+     * The maximal number of lives, and the number of heart slots on screen.
+     */
+    private final int maxLives;
+
+    /**
+     * The probability of each strategy type, indexed by type id.
+     */
+    private final float[] strategyProbabilities;
+
+    /**
+     * Alias table of the strategy probabilities, shared by every game using the configuration.
+     */
+    private final AliasSampler strategySampler;
+
+    /**
+     * Constructs a new GameConfig from a validated builder.
+     *
+     * @param builder The builder holding the parameters.
+     */
+    private GameConfig(Builder builder) {
+        this.paddleWidth = builder.paddleWidth;
+        this.ballSpeed = builder.ballSpeed;
+        this.turboMultiplier = builder.turboMultiplier;
+        this.turboCollisionThreshold = builder.turboCollisionThreshold;
+        this.maxExtraPaddleHits = builder.maxExtraPaddleHits;
+        this.numPacksPerBrick = builder.numPacksPerBrick;
+        this.heartSpeed = builder.heartSpeed;
+        this.startLives = builder.startLives;
+        this.maxLives = builder.maxLives;
+        this.strategyProbabilities = builder.strategyProbabilities.clone();
+        this.strategySampler = new AliasSampler(this.strategyProbabilities);
+    }
+
+    /**
+     * Creates a builder holding the default configuration.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder holding this configuration, e.g. to change a single parameter of a sweep.
+     *
+     * @return A new builder.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .setPaddleWidth(paddleWidth)
+                .setBallSpeed(ballSpeed)
+                .setTurboMultiplier(turboMultiplier)
+                .setTurboCollisionThreshold(turboCollisionThreshold)
+                .setMaxExtraPaddleHits(maxExtraPaddleHits)
+                .setNumPacksPerBrick(numPacksPerBrick)
+                .setHeartSpeed(heartSpeed)
+                .setStartLives(startLives)
+                .setMaxLives(maxLives)
+                .setStrategyProbabilities(strategyProbabilities);
+    }
+
+    /**
+     * Reads a configuration from a properties file. Missing keys keep their default value.
+     *
+     * @param file The properties file.
+     * @return The configuration.
+     * @throws IllegalArgumentException if a key is unknown or a value is not valid.
+     * @throws UncheckedIOException     if the file can not be read.
+     */
+    public static GameConfig load(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read game configuration " + file, e);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds a configuration from properties. Missing keys keep their default value.
+     *
+     * @param properties The properties, keyed by the KEY_ constants.
+     * @return The configuration.
+     * @throws IllegalArgumentException if a key is unknown or a value is not valid.
+     */
+    public static GameConfig fromProperties(Properties properties) {
+        Builder builder = new Builder();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            switch (key) {
+                case KEY_PADDLE_WIDTH:
+                    builder.setPaddleWidth(parseInt(key, value));
+                    break;
+                case KEY_BALL_SPEED:
+                    builder.setBallSpeed(parseFloat(key, value));
+                    break;
+                case KEY_TURBO_MULTIPLIER:
+                    builder.setTurboMultiplier(parseFloat(key, value));
+                    break;
+                case KEY_TURBO_COLLISION_THRESHOLD:
+                    builder.setTurboCollisionThreshold(parseInt(key, value));
+                    break;
+                case KEY_MAX_EXTRA_PADDLE_HITS:
+                    builder.setMaxExtraPaddleHits(parseInt(key, value));
+                    break;
+                case KEY_NUM_PACKS_PER_BRICK:
+                    builder.setNumPacksPerBrick(parseInt(key, value));
+                    break;
+                case KEY_HEART_SPEED:
+                    builder.setHeartSpeed(parseFloat(key, value));
+                    break;
+                case KEY_START_LIVES:
+                    builder.setStartLives(parseInt(key, value));
+                    break;
+                case KEY_MAX_LIVES:
+                    builder.setMaxLives(parseInt(key, value));
+                    break;
+                case KEY_STRATEGY_PROBABILITIES:
+                    String[] values = value.split(PROBABILITIES_SEPARATOR);
+                    float[] probabilities = new float[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        probabilities[i] = parseFloat(key, values[i]);
+                    }
+                    builder.setStrategyProbabilities(probabilities);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown game configuration key: " + key);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses an integer value of a properties file.
+     *
+     * @param key   The value's key, used in error messages.
+     * @param value The text of the value.
+     * @return The integer.
+     * @throws IllegalArgumentException if the text is not an integer.
+     */
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad integer for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Parses a decimal value of a properties file.
+     *
+     * @param key   The value's key, used in error messages.
+     * @param value The text of the value.
+     * @return The number.
+     * @throws IllegalArgumentException if the text is not a number.
+     */
+    private static float parseFloat(String key, String value) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad number for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Returns the width of the paddles.
+     *
+     * @return The paddle width, in pixels.
+     */
+    public int getPaddleWidth() {
+        return paddleWidth;
+    }
+
+    /**
+     * Returns the speed of the balls and packs.
+     *
+     * @return The ball speed, in pixels per second along each axis.
+     */
+    public float getBallSpeed() {
+        return ballSpeed;
+    }
+
+    /**
+     * Returns the factor a ball's speed is multiplied by in turbo mode.
+     *
+     * @return The turbo multiplier.
+     */
+    public float getTurboMultiplier() {
+        return turboMultiplier;
+    }
+
+    /**
+     * Returns the number of collisions after which a ball leaves turbo mode.
+     *
+     * @return The turbo collision threshold.
+     */
+    public int getTurboCollisionThreshold() {
+        return turboCollisionThreshold;
+    }
+
+    /**
+     * Returns the number of hits after which the extra paddle disappears.
+     *
+     * @return The number of hits the extra paddle takes.
+     */
+    public int getMaxExtraPaddleHits() {
+        return maxExtraPaddleHits;
+    }
+
+    /**
+     * Returns the number of packs an extra pack brick releases.
+     *
+     * @return The packs per brick.
+     */
+    public int getNumPacksPerBrick() {
+        return numPacksPerBrick;
+    }
+
+    /**
+     * Returns the falling speed of the hearts released by bricks.
+     *
+     * @return The heart speed, in pixels per second.
+     */
+    public float getHeartSpeed() {
+        return heartSpeed;
+    }
+
+    /**
+     * Returns the number of lives a game starts with.
+     *
+     * @return The starting lives.
+     */
+    public int getStartLives() {
+        return startLives;
+    }
+
+    /**
+     * Returns the maximal number of lives.
+     *
+     * @return The lives a player can have at most.
+     */
+    public int getMaxLives() {
+        return maxLives;
+    }
+
+    /**
+     * Returns the probabilities used to choose the strategies of random bricks.
+     *
+     * @return A copy of the probability of each strategy type, indexed by type id.
+     */
+    public float[] getStrategyProbabilities() {
+        return strategyProbabilities.clone();
+    }
+
+    /**
+     * Returns the alias table of the strategy probabilities. It holds no random state, so it is
+     * shared by every game using the configuration.
+     *
+     * @return The strategy sampler.
+     */
+    AliasSampler getStrategySampler() {
+        return strategySampler;
+    }
+
+    /**
+     * Formats the configuration as properties, in the format load reads.
+     *
+     * @return The configuration's properties.
+     */
+    @Override
+    public String toString() {
+        StringBuilder probabilities = new StringBuilder();
+        for (int i = 0; i < strategyProbabilities.length; i++) {
+            probabilities.append(i == 0 ? "" : ",").append(strategyProbabilities[i]);
+        }
+        return KEY_PADDLE_WIDTH + "=" + paddleWidth + "\n" +
+                KEY_BALL_SPEED + "=" + ballSpeed + "\n" +
+                KEY_TURBO_MULTIPLIER + "=" + turboMultiplier + "\n" +
+                KEY_TURBO_COLLISION_THRESHOLD + "=" + turboCollisionThreshold + "\n" +
+                KEY_MAX_EXTRA_PADDLE_HITS + "=" + maxExtraPaddleHits + "\n" +
+                KEY_NUM_PACKS_PER_BRICK + "=" + numPacksPerBrick + "\n" +
+                KEY_HEART_SPEED + "=" + heartSpeed + "\n" +
+                KEY_START_LIVES + "=" + startLives + "\n" +
+                KEY_MAX_LIVES + "=" + maxLives + "\n" +
+                KEY_STRATEGY_PROBABILITIES + "=" + probabilities + "\n";
+    }
+
+    /**
+     * Builds a GameConfig. Every parameter starts at its default value, and is only checked when
+     * the configuration is built.
+     */
+    public static final class Builder {
+
+        /**
+         * The width of the paddles.
+         */
+        private int paddleWidth = DEFAULT_PADDLE_WIDTH;
+
+        /**
+         * The speed of the balls and packs.
+         */
+        private float ballSpeed = DEFAULT_BALL_SPEED;
+
+        /**
+         * The factor a ball's speed is multiplied by in turbo mode.
+         */
+        private float turboMultiplier = DEFAULT_TURBO_MULTIPLIER;
+
+        /**
+         * The number of collisions after which a ball leaves turbo mode.
+         */
+        private int turboCollisionThreshold = DEFAULT_TURBO_COLLISION_THRESHOLD;
+
+        /**
+         * The number of hits after which the extra paddle disappears.
+         */
+        private int maxExtraPaddleHits = DEFAULT_MAX_EXTRA_PADDLE_HITS;
+
+        /**
+         * The number of packs an extra pack brick releases.
+         */
+        private int numPacksPerBrick = DEFAULT_NUM_PACKS_PER_BRICK;
+
+        /**
+         * The falling speed of the hearts released by bricks.
+         */
+        private float heartSpeed = DEFAULT_HEART_SPEED;
+
+        /**
+         * The number of lives a game starts with.
+         */
+        private int startLives = DEFAULT_START_LIVES;
+
+        /**
+         * The maximal number of lives.
+         */
+        private int maxLives = DEFAULT_MAX_LIVES;
+
+        /**
+         * The probability of each strategy type, indexed by type id.
+         */
+        private float[] strategyProbabilities = DEFAULT_STRATEGY_PROBABILITIES.clone();
+
+        /**
+         * Constructs a new Builder holding the default configuration.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the width of the paddles.
+         *
+         * @param paddleWidth The paddle width, in pixels. Must be positive.
+         * @return This builder.
+         */
+        public Builder setPaddleWidth(int paddleWidth) {
+            this.paddleWidth = paddleWidth;
+            return this;
+        }
+
+        /**
+         * Sets the speed of the balls and packs.
+         *
+         * @param ballSpeed The ball speed, in pixels per second along each axis. Must be positive.
+         * @return This builder.
+         */
+        public Builder setBallSpeed(float ballSpeed) {
+            this.ballSpeed = ballSpeed;
+            return this;
+        }
+
+        /**
+         * Sets the factor a ball's speed is multiplied by in turbo mode.
+         *
+         * @param turboMultiplier The turbo multiplier. Must be positive.
+         * @return This builder.
+         */
+        public Builder setTurboMultiplier(float turboMultiplier) {
+            this.turboMultiplier = turboMultiplier;
+            return this;
+        }
+
+        /**
+         * Sets the number of collisions after which a ball leaves turbo mode.
+         *
+         * @param turboCollisionThreshold The turbo collision threshold. Must be positive.
+         * @return This builder.
+         */
+        public Builder setTurboCollisionThreshold(int turboCollisionThreshold) {
+            this.turboCollisionThreshold = turboCollisionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of hits after which the extra paddle disappears.
+         *
+         * @param maxExtraPaddleHits The number of hits the extra paddle takes. Must be positive.
+         * @return This builder.
+         */
+        public Builder setMaxExtraPaddleHits(int maxExtraPaddleHits) {
+            this.maxExtraPaddleHits = maxExtraPaddleHits;
+            return this;
+        }
+
+        /**
+         * Sets the number of packs an extra pack brick releases.
+         *
+         * @param numPacksPerBrick The packs per brick. Must not be negative.
+         * @return This builder.
+         */
+        public Builder setNumPacksPerBrick(int numPacksPerBrick) {
+            this.numPacksPerBrick = numPacksPerBrick;
+            return this;
+        }
+
+        /**
+         * Sets the falling speed of the hearts released by bricks.
+         *
+         * @param heartSpeed The heart speed, in pixels per second. Must be positive.
+         * @return This builder.
+         */
+        public Builder setHeartSpeed(float heartSpeed) {
+            this.heartSpeed = heartSpeed;
+            return this;
+        }
+
+        /**
+         * Sets the number of lives a game starts with.
+         *
+         * @param startLives The starting lives. Must be positive and at most the maximal lives.
+         * @return This builder.
+         */
+        public Builder setStartLives(int startLives) {
+            this.startLives = startLives;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of lives, which is also the number of heart slots on screen.
+         *
+         * @param maxLives The lives a player can have at most. Must be positive.
+         * @return This builder.
+         */
+        public Builder setMaxLives(int maxLives) {
+            this.maxLives = maxLives;
+            return this;
+        }
+
+        /**
+         * Sets the probabilities used to choose the strategies of random bricks.
+         *
+         * @param strategyProbabilities The probability of each strategy type, indexed by type id.
+         *                              Must be a distribution over every strategy type.
+         * @return This builder.
+         */
+        public Builder setStrategyProbabilities(float[] strategyProbabilities) {
+            this.strategyProbabilities = strategyProbabilities.clone();
+            return this;
+        }
+
+        /**
+         * Builds the configuration.
+         *
+         * @return The new, immutable configuration.
+         * @throws IllegalArgumentException if a parameter is out of its range.
+         */
+        public GameConfig build() {
+            requirePositive(KEY_PADDLE_WIDTH, paddleWidth);
+            requirePositive(KEY_BALL_SPEED, ballSpeed);
+            requirePositive(KEY_TURBO_MULTIPLIER, turboMultiplier);
+            requirePositive(KEY_TURBO_COLLISION_THRESHOLD, turboCollisionThreshold);
+            requirePositive(KEY_MAX_EXTRA_PADDLE_HITS, maxExtraPaddleHits);
+            requirePositive(KEY_HEART_SPEED, heartSpeed);
+            requirePositive(KEY_MAX_LIVES, maxLives);
+            if (numPacksPerBrick < 0) {
+                throw new IllegalArgumentException(KEY_NUM_PACKS_PER_BRICK + " must not be negative.");
+            }
+            if (startLives <= 0 || startLives > maxLives) {
+                throw new IllegalArgumentException(KEY_START_LIVES + " must be between 1 and " +
+                        KEY_MAX_LIVES + ".");
+            }
+            if (strategyProbabilities.length != BrickerGameManager.NUM_BEHAVIOURS) {
+                throw new IllegalArgumentException("Expected " + BrickerGameManager.NUM_BEHAVIOURS +
+                        " strategy probabilities, got " + strategyProbabilities.length + ".");
+            }
+            return new GameConfig(this);
+        }
+
+        /**
+         * Checks that a parameter is positive.
+         *
+         * @param key   The parameter's key, used in the error message.
+         * @param value The parameter's value.
+         * @throws IllegalArgumentException if the value is not positive.
+         */
+        private static void requirePositive(String key, float value) {
+            if (!(value > 0)) {
+                throw new IllegalArgumentException(key + " must be positive, got " + value + ".");
+            }
+        }
+    }
+}
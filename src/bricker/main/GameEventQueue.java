@@ -0,0 +1,232 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Pack;
+import bricker.gameobjects.Paddle;
+import danogl.GameObject;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The queue of the game changes requested by collision strategies during a frame.
+ * <p>
+ * Strategies run in the middle of collision handling, while the engine may be iterating over
+ * its game objects, so instead of changing the game directly they publish typed events here.
+ * The game manager drains the queue once per frame, after the collisions, and applies all the
+ * changes together. An event that repeats an event already queued in the same frame, e.g. the
+ * same brick destroyed twice by a multiple behaviors cascade, is coalesced into the first one.
+ * Queued events are indexed by subject, so spotting a repeat takes constant time. The queue is
+ * backed by arrays and a map that are reused every frame, so publishing does not allocate.
+ */
+public class GameEventQueue {
+
+    /**
+     * Event of a brick that should leave the game. Its subject is the brick.
+     */
+    public static final byte BRICK_DESTROYED = 0;
+
+    /**
+     * Event of a pack that should enter the game. Its subject is the pack, already placed.
+     */
+    public static final byte SPAWN_PACK = 1;
+
+    /**
+     * Event of a falling heart that should enter the game. Its subject is the heart, already placed.
+     */
+    public static final byte SPAWN_HEART = 2;
+
+    /**
+     * Event of an extra paddle that should enter the game. Its subject is the paddle, already placed.
+     */
+    public static final byte SPAWN_PADDLE = 3;
+
+    /**
+     * Event of a ball that should enter turbo mode. Its subject is the ball.
+     */
+    public static final byte TURBO_REQUESTED = 4;
+
+    /**
+     * Event of a falling heart caught by a paddle. Its subject is the heart.
+     */
+    public static final byte HEART_COLLECTED = 5;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * The type of each queued event.
+     */
+    private byte[] types;
+
+    /**
+     * The subject of each queued event.
+     */
+    private GameObject[] subjects;
+
+    /**
+     * The number of queued events.
+     */
+    private int size;
+
+    /**
+     * The subject of every queued event, mapped to a bit mask of the types queued for it.
+     */
+    private final Map<GameObject, Byte> queuedTypes;
+
+    /**
+     * The number of events published.
+     */
+    private long publishedCount;
+
+    /**
+     * The number of published events coalesced into an event already queued.
+     */
+    private long coalescedCount;
+
+    /**
+     * Constructs a new, empty GameEventQueue.
+     */
+    public GameEventQueue() {
+        this.types = new byte[INITIAL_CAPACITY];
+        this.subjects = new GameObject[INITIAL_CAPACITY];
+        this.queuedTypes = new IdentityHashMap<>(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Requests a brick to leave the game.
+     *
+     * @param brick The brick that was destroyed.
+     */
+    public void publishBrickDestroyed(Brick brick) {
+        publish(BRICK_DESTROYED, brick);
+    }
+
+    /**
+     * Requests a pack to enter the game.
+     *
+     * @param pack The pack, with its position and velocity already set.
+     */
+    public void publishSpawnPack(Pack pack) {
+        publish(SPAWN_PACK, pack);
+    }
+
+    /**
+     * Requests a falling heart to enter the game.
+     *
+     * @param heart The heart, with its position and velocity already set.
+     */
+    public void publishSpawnHeart(Heart heart) {
+        publish(SPAWN_HEART, heart);
+    }
+
+    /**
+     * Requests an extra paddle to enter the game.
+     *
+     * @param paddle The paddle, with its position already set.
+     */
+    public void publishSpawnPaddle(Paddle paddle) {
+        publish(SPAWN_PADDLE, paddle);
+    }
+
+    /**
+     * Requests a ball to enter turbo mode.
+     *
+     * @param ball The ball that hit a turbo brick.
+     */
+    public void publishTurboRequested(Ball ball) {
+        publish(TURBO_REQUESTED, ball);
+    }
+
+    /**
+     * Reports a falling heart caught by a paddle.
+     *
+     * @param heart The caught heart.
+     */
+    public void publishHeartCollected(Heart heart) {
+        publish(HEART_COLLECTED, heart);
+    }
+
+    /**
+     * Returns the number of queued events.
+     *
+     * @return The queue's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of a queued event.
+     *
+     * @param index The index of the event, in publishing order.
+     * @return The event type, e.g. BRICK_DESTROYED.
+     */
+    public byte getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the subject of a queued event.
+     *
+     * @param index The index of the event, in publishing order.
+     * @return The game object the event is about.
+     */
+    public GameObject getSubject(int index) {
+        return subjects[index];
+    }
+
+    /**
+     * Empties the queue, once its events were applied.
+     */
+    public void clear() {
+        Arrays.fill(subjects, 0, size, null);
+        size = 0;
+        queuedTypes.clear();
+    }
+
+    /**
+     * Returns the number of events published so far.
+     *
+     * @return The published event count.
+     */
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * Returns the number of published events coalesced into an event already queued.
+     *
+     * @return The coalesced event count.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Queues an event, unless the same event is already queued.
+     *
+     * @param type    The event type.
+     * @param subject The game object the event is about.
+     */
+    private void publish(byte type, GameObject subject) {
+        publishedCount++;
+        // the masks are Byte values, which are all cached, so updating them does not allocate
+        Byte queued = queuedTypes.get(subject);
+        int mask = queued == null ? 0 : queued;
+        if ((mask & (1 << type)) != 0) {
+            coalescedCount++;
+            return;
+        }
+        queuedTypes.put(subject, (byte) (mask | (1 << type)));
+        if (size == types.length) {
+            types = Arrays.copyOf(types, 2 * size);
+            subjects = Arrays.copyOf(subjects, 2 * size);
+        }
+        types[size] = type;
+        subjects[size] = subject;
+        size++;
+    }
+}
@@ -0,0 +1,280 @@
+package bricker.main;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Collects the game objects added to and removed from the game during a frame, and applies them
+ * to the engine's collection together at the end of the frame, one layer after the other.
+ * <p>
+ * Every object has at most one pending mutation. Adding an object whose removal is pending, or
+ * removing an object whose addition is pending, cancels both, e.g. a pooled pack that falls out
+ * and is reused in the same frame never leaves the collection. Repeating a pending mutation is
+ * dropped. Both cases are counted as coalesced mutations. The pending mutations are indexed by
+ * object, so finding the one to coalesce with takes constant time.
+ */
+public class GameObjectStaging {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * The objects with a pending mutation.
+     */
+    private GameObject[] objects;
+
+    /**
+     * The layer of each pending mutation.
+     */
+    private int[] layers;
+
+    /**
+     * Whether each pending mutation is an addition, and not a removal.
+     */
+    private boolean[] additions;
+
+    /**
+     * The number of pending mutations.
+     */
+    private int size;
+
+    /**
+     * Each object with a pending mutation, mapped to the index of its latest pending mutation.
+     */
+    private final Map<GameObject, Integer> indices;
+
+    /**
+     * The boxed index of every mutation slot, reused so indexing a mutation does not allocate.
+     */
+    private Integer[] slotIndices;
+
+    /**
+     * The distinct layers of the pending mutations, in the order they were first staged.
+     */
+    private int[] pendingLayers;
+
+    /**
+     * The number of distinct layers of the pending mutations.
+     */
+    private int numPendingLayers;
+
+    /**
+     * The number of mutations staged.
+     */
+    private long stagedCount;
+
+    /**
+     * The number of staged mutations that were cancelled or dropped instead of applied.
+     */
+    private long coalescedCount;
+
+    /**
+     * The number of mutations applied to the engine's collection.
+     */
+    private long appliedCount;
+
+    /**
+     * Constructs a new GameObjectStaging with no pending mutations.
+     */
+    public GameObjectStaging() {
+        this.objects = new GameObject[INITIAL_CAPACITY];
+        this.layers = new int[INITIAL_CAPACITY];
+        this.additions = new boolean[INITIAL_CAPACITY];
+        this.pendingLayers = new int[INITIAL_CAPACITY];
+        this.indices = new IdentityHashMap<>(INITIAL_CAPACITY);
+        this.slotIndices = boxIndices(new Integer[0], INITIAL_CAPACITY);
+    }
+
+    /**
+     * Stages the addition of an object to a layer.
+     *
+     * @param object The object to add.
+     * @param layer  The layer to add it to.
+     */
+    public void add(GameObject object, int layer) {
+        stage(object, layer, true);
+    }
+
+    /**
+     * Stages the removal of an object from a layer.
+     *
+     * @param object The object to remove.
+     * @param layer  The layer to remove it from.
+     */
+    public void remove(GameObject object, int layer) {
+        stage(object, layer, false);
+    }
+
+    /**
+     * Applies every pending mutation to the engine's collection, layer by layer, and empties the staging.
+     *
+     * @param gameObjects The engine's collection of game objects.
+     */
+    public void apply(GameObjectCollection gameObjects) {
+        for (int l = 0; l < numPendingLayers; l++) {
+            int layer = pendingLayers[l];
+            for (int i = 0; i < size; i++) {
+                if (layers[i] != layer) {
+                    continue;
+                }
+                if (additions[i]) {
+                    gameObjects.addGameObject(objects[i], layer);
+                } else {
+                    gameObjects.removeGameObject(objects[i], layer);
+                }
+                appliedCount++;
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Drops every pending mutation without applying it, e.g. when the game is set up again
+     * with a new collection.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        numPendingLayers = 0;
+        indices.clear();
+    }
+
+    /**
+     * Returns the number of pending mutations.
+     *
+     * @return The staging's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of mutations staged so far.
+     *
+     * @return The staged mutation count.
+     */
+    public long getStagedCount() {
+        return stagedCount;
+    }
+
+    /**
+     * Returns the number of staged mutations that were cancelled or dropped instead of applied.
+     *
+     * @return The coalesced mutation count.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of mutations applied to the engine's collection so far.
+     *
+     * @return The applied mutation count.
+     */
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * Stages a mutation, coalescing it with a pending mutation of the same object.
+     *
+     * @param object   The object to add or remove.
+     * @param layer    The layer of the mutation.
+     * @param addition Whether the object is added, and not removed.
+     */
+    private void stage(GameObject object, int layer, boolean addition) {
+        stagedCount++;
+        Integer pending = indices.get(object);
+        if (pending != null && layers[pending] == layer) {
+            if (additions[pending] == addition) {
+                // The same mutation is already pending
+                coalescedCount++;
+            } else {
+                // The mutation undoes the pending one, so neither reaches the collection
+                coalescedCount += 2;
+                removeAt(pending);
+            }
+            return;
+        }
+        if (size == objects.length) {
+            objects = Arrays.copyOf(objects, 2 * size);
+            layers = Arrays.copyOf(layers, 2 * size);
+            additions = Arrays.copyOf(additions, 2 * size);
+            slotIndices = boxIndices(slotIndices, 2 * size);
+        }
+        objects[size] = object;
+        layers[size] = layer;
+        additions[size] = addition;
+        indices.put(object, slotIndices[size]);
+        size++;
+        addPendingLayer(layer);
+    }
+
+    /**
+     * Removes a pending mutation, moving the last one into its place.
+     *
+     * @param index The index of the mutation to remove.
+     */
+    private void removeAt(int index) {
+        if (isIndexedAt(objects[index], index)) {
+            indices.remove(objects[index]);
+        }
+        size--;
+        if (index < size) {
+            objects[index] = objects[size];
+            layers[index] = layers[size];
+            additions[index] = additions[size];
+            if (isIndexedAt(objects[index], size)) {
+                indices.put(objects[index], slotIndices[index]);
+            }
+        }
+        objects[size] = null;
+    }
+
+    /**
+     * Checks whether an object's latest pending mutation is at the given index.
+     *
+     * @param object The object with a pending mutation.
+     * @param index  The index of one of its pending mutations.
+     * @return True if the object is indexed at the given index, false otherwise.
+     */
+    private boolean isIndexedAt(GameObject object, int index) {
+        Integer indexed = indices.get(object);
+        return indexed != null && indexed == index;
+    }
+
+    /**
+     * Grows an array of boxed slot indices, boxing the new indices once.
+     *
+     * @param boxed    The boxed indices so far.
+     * @param capacity The number of slots to box.
+     * @return The boxed indices of every slot up to the capacity.
+     */
+    private static Integer[] boxIndices(Integer[] boxed, int capacity) {
+        Integer[] grown = Arrays.copyOf(boxed, capacity);
+        for (int i = boxed.length; i < capacity; i++) {
+            grown[i] = i;
+        }
+        return grown;
+    }
+
+    /**
+     * Records a layer as having pending mutations, unless it already has.
+     *
+     * @param layer The layer of a newly staged mutation.
+     */
+    private void addPendingLayer(int layer) {
+        for (int l = 0; l < numPendingLayers; l++) {
+            if (pendingLayers[l] == layer) {
+                return;
+            }
+        }
+        if (numPendingLayers == pendingLayers.length) {
+            pendingLayers = Arrays.copyOf(pendingLayers, 2 * numPendingLayers);
+        }
+        pendingLayers[numPendingLayers++] = layer;
+    }
+}
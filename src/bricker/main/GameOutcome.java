@@ -0,0 +1,21 @@
+package bricker.main;
+
+/**
+ * The possible states of a game's result.
+ */
+public enum GameOutcome {
+    /**
+     * The game has not ended yet.
+     */
+    IN_PROGRESS,
+
+    /**
+     * The player destroyed every brick.
+     */
+    WON,
+
+    /**
+     * The player ran out of lives.
+     */
+    LOST
+}
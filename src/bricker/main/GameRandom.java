@@ -0,0 +1,163 @@
+package bricker.main;
+
+/**
+ * The random source of a game: a SplitMix64 generator whose whole state is one long that can be
+ * read and set, so a game can be saved without disturbing its draws.
+ * <p>
+ * The generator is the one SplittableRandom uses with its default gamma, and every method draws
+ * exactly what the SplittableRandom method of the same name draws for the same seed, so games
+ * recorded with a SplittableRandom play the same. Not thread-safe: a game draws from it on the
+ * game thread only.
+ */
+public final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * The generator's state, advanced by GOLDEN_GAMMA at every draw.
+     */
+    private long state;
+
+    /**
+     * Constructs a new GameRandom.
+     *
+     * @param seed The seed, which is also the initial state.
+     */
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Returns the state of the generator. A GameRandom constructed with it draws what this one
+     * draws from now on.
+     *
+     * @return The state.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Draws a uniformly distributed long.
+     *
+     * @return The next long.
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * Draws a uniformly distributed int.
+     *
+     * @return The next int.
+     */
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * Draws a uniformly distributed int between 0 (inclusive) and a bound (exclusive).
+     *
+     * @param bound The bound. Must be positive.
+     * @return The next int below the bound.
+     * @throws IllegalArgumentException if the bound is not positive.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive.");
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // Rejects the draws that would favor the smaller values
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // draw again
+        }
+        return r;
+    }
+
+    /**
+     * Draws a uniformly distributed int between an origin (inclusive) and a bound (exclusive).
+     *
+     * @param origin The smallest value.
+     * @param bound  The bound. Must be larger than the origin.
+     * @return The next int in the range.
+     * @throws IllegalArgumentException if the bound is not larger than the origin.
+     */
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        }
+        int r = nextInt();
+        int n = bound - origin;
+        int m = n - 1;
+        if ((n & m) == 0) {
+            return (r & m) + origin;
+        }
+        if (n > 0) {
+            for (int u = r >>> 1; u + m - (r = u % n) < 0; u = nextInt() >>> 1) {
+                // draw again
+            }
+            return r + origin;
+        }
+        // The range does not fit in an int
+        while (r < origin || r >= bound) {
+            r = nextInt();
+        }
+        return r;
+    }
+
+    /**
+     * Draws a uniformly distributed double between 0 (inclusive) and 1 (exclusive).
+     *
+     * @return The next double.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Draws a boolean, true and false being equally likely.
+     *
+     * @return The next boolean.
+     */
+    public boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    /**
+     * Advances the state.
+     *
+     * @return The new state.
+     */
+    private long nextSeed() {
+        state += GOLDEN_GAMMA;
+        return state;
+    }
+
+    /**
+     * Mixes a state into a uniformly distributed long.
+     *
+     * @param z The state.
+     * @return The mixed bits.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Mixes a state into a uniformly distributed int.
+     *
+     * @param z The state.
+     * @return The mixed bits.
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+}
@@ -0,0 +1,296 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Pack;
+import bricker.gameobjects.Paddle;
+import danogl.GameObject;
+import danogl.collisions.Layer;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes the state of a running game to a buffer and brings a game back to such a snapshot.
+ * <p>
+ * A snapshot holds the bricks that are alive and the strategy of every brick, the position and
+ * velocity of every ball, pack and falling heart, the turbo state and collision counter of every
+ * ball, the paddles and the extra paddle's hits, the lives and the game's outcome. Statistics such
+ * as the strategy trigger counts are not part of the game's state. The layout, all big-endian:
+ * <pre>
+ * int   magic        0x42534E50 ("BSNP")
+ * short version
+ * long  random source state
+ * byte  game outcome, byte lives, int bricks destroyed
+ * ...   the brick index, see BrickIndex.writeSnapshot
+ * ...   the paddle, a byte telling if there is an extra paddle, the extra paddle (or the paddle
+ *       again) and the extra paddle's hits
+ * int   ball count, then per ball: byte flags, int collision counter, int turbo start, motion
+ * int   heart count, then per heart: motion
+ * </pre>
+ * A paddle is its top-left corner and horizontal velocity, a motion is a top-left corner and a
+ * velocity. The engine keeps the corner, so saving the corner and not the center brings every
+ * object back to the same float coordinates.
+ */
+final class GameSnapshot {
+
+    private static final int MAGIC = 0x42534E50;
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES + 2 + Integer.BYTES;
+    private static final int PADDLE_SIZE = 3 * Float.BYTES;
+    private static final int BALL_SIZE = 1 + 2 * Integer.BYTES + 4 * Float.BYTES;
+    private static final int HEART_SIZE = 4 * Float.BYTES;
+    private static final byte PRIMARY_BALL = 1;
+    private static final byte TURBO_BALL = 2;
+
+    /**
+     * Private constructor, this class only holds static methods.
+     */
+    private GameSnapshot() {
+    }
+
+    /**
+     * Returns the number of bytes save writes for the current state of a game.
+     *
+     * @param gameManager The game.
+     * @return The size of a snapshot of the game as it is now.
+     */
+    static int getSize(BrickerGameManager gameManager) {
+        return HEADER_SIZE + gameManager.getBrickIndex().getSnapshotSize() +
+                PADDLE_SIZE + 1 + PADDLE_SIZE + Integer.BYTES +
+                Integer.BYTES + gameManager.getBalls().size() * BALL_SIZE +
+                Integer.BYTES + gameManager.getFallingHearts().size() * HEART_SIZE;
+    }
+
+    /**
+     * Writes the state of a running game to a buffer. The game itself is left untouched, including
+     * its random source, so a game saved along the way plays the same as one that is not.
+     *
+     * @param gameManager The game, between frames.
+     * @param buffer      The buffer to write to, with at least getSize bytes remaining.
+     */
+    static void save(BrickerGameManager gameManager, ByteBuffer buffer) {
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putLong(gameManager.getRandomState())
+                .put((byte) gameManager.getGameOutcome().ordinal())
+                .put((byte) gameManager.getNumLives())
+                .putInt(gameManager.getBricksDestroyed());
+        gameManager.getBrickIndex().writeSnapshot(buffer);
+
+        Paddle extraPaddle = gameManager.getExtraPaddle();
+        writePaddle(buffer, gameManager.getPaddle());
+        buffer.put((byte) (extraPaddle != null ? 1 : 0));
+        writePaddle(buffer, extraPaddle != null ? extraPaddle : gameManager.getPaddle());
+        buffer.putInt(extraPaddle != null ? extraPaddle.getNumCollision() : 0);
+
+        BallRegistry balls = gameManager.getBalls();
+        buffer.putInt(balls.size());
+        for (int slot = 0; slot < balls.size(); slot++) {
+            Ball ball = balls.get(slot);
+            byte flags = 0;
+            if (balls.isPrimary(slot)) {
+                flags |= PRIMARY_BALL;
+            }
+            if (balls.isTurbo(slot)) {
+                flags |= TURBO_BALL;
+            }
+            buffer.put(flags)
+                    .putInt(ball.getCollisionCounter())
+                    .putInt(balls.isTurbo(slot) ? balls.getTurboStartCollisions(slot) : 0);
+            writeMotion(buffer, ball);
+        }
+
+        List<Heart> hearts = gameManager.getFallingHearts();
+        buffer.putInt(hearts.size());
+        for (int i = 0; i < hearts.size(); i++) {
+            writeMotion(buffer, hearts.get(i));
+        }
+    }
+
+    /**
+     * Brings a game back to a snapshot written by save on the same level. The balls, packs,
+     * hearts and paddles that are already in the game are reused, missing ones are taken from the
+     * pools and extra ones leave the game, so restoring a nearby state changes only a few objects.
+     * The level is checked before anything changes.
+     *
+     * @param gameManager The game, between frames.
+     * @param buffer      The buffer to read from, positioned at the snapshot.
+     * @throws IllegalArgumentException if the buffer does not hold a snapshot of a supported
+     *                                  version, or the snapshot was taken on another level.
+     */
+    static void restore(BrickerGameManager gameManager, ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IllegalArgumentException("Not a supported Bricker snapshot.");
+        }
+        long randomState = buffer.getLong();
+        int outcomeOrdinal = buffer.get();
+        if (outcomeOrdinal < 0 || outcomeOrdinal >= GameOutcome.values().length) {
+            throw new IllegalArgumentException("Corrupt snapshot: bad game outcome " + outcomeOrdinal);
+        }
+        GameOutcome outcome = GameOutcome.values()[outcomeOrdinal];
+        int numLives = buffer.get();
+        int bricksDestroyed = buffer.getInt();
+        GameObjectStaging staging = gameManager.getStaging();
+        gameManager.getBrickIndex().readSnapshot(buffer, brick -> staging.add(brick, Layer.STATIC_OBJECTS),
+                brick -> staging.remove(brick, Layer.STATIC_OBJECTS));
+
+        readPaddle(buffer, gameManager.getPaddle());
+        Paddle extraPaddle = gameManager.setExtraPaddlePresent(buffer.get() != 0);
+        if (extraPaddle != null) {
+            readPaddle(buffer, extraPaddle);
+            extraPaddle.setNumCollision(buffer.getInt());
+        } else {
+            buffer.position(buffer.position() + PADDLE_SIZE + Integer.BYTES);
+        }
+
+        gameManager.getCulling().clear();
+        restoreBalls(gameManager, buffer);
+        restoreHearts(gameManager, buffer);
+        // Last, so creating missing balls does not draw from the restored random source
+        gameManager.restoreProgress(randomState, outcome, numLives, bricksDestroyed);
+        gameManager.applyStagedObjects();
+    }
+
+    /**
+     * Brings the balls and packs back to a snapshot, reusing the ones in the game.
+     *
+     * @param gameManager The game.
+     * @param buffer      The buffer to read from, positioned at the snapshot's balls.
+     */
+    private static void restoreBalls(BrickerGameManager gameManager, ByteBuffer buffer) {
+        BallRegistry balls = gameManager.getBalls();
+        GameObjectStaging staging = gameManager.getStaging();
+        Ball[] primaryBalls = new Ball[balls.getNumPrimary()];
+        Pack[] packs = new Pack[balls.size() - balls.getNumPrimary()];
+        int numPrimaryBalls = 0;
+        int numPacks = 0;
+        for (int slot = 0; slot < balls.size(); slot++) {
+            if (balls.isPrimary(slot)) {
+                primaryBalls[numPrimaryBalls++] = balls.get(slot);
+            } else {
+                packs[numPacks++] = (Pack) balls.get(slot);
+            }
+        }
+        balls.clear();
+
+        int usedPrimaryBalls = 0;
+        int usedPacks = 0;
+        int numBalls = buffer.getInt();
+        for (int i = 0; i < numBalls; i++) {
+            byte flags = buffer.get();
+            boolean isPrimary = (flags & PRIMARY_BALL) != 0;
+            boolean isTurbo = (flags & TURBO_BALL) != 0;
+            Ball ball;
+            if (isPrimary) {
+                ball = usedPrimaryBalls < numPrimaryBalls ? primaryBalls[usedPrimaryBalls++] : null;
+                if (ball == null) {
+                    ball = gameManager.createPrimaryBall();
+                    staging.add(ball, Layer.DEFAULT);
+                }
+            } else {
+                ball = usedPacks < numPacks ? packs[usedPacks++] : null;
+                if (ball == null) {
+                    ball = gameManager.obtainPack();
+                    staging.add(ball, Layer.DEFAULT);
+                }
+            }
+            balls.add(ball, isPrimary);
+            ball.setCollisionCounter(buffer.getInt());
+            int turboStartCollisions = buffer.getInt();
+            readMotion(buffer, ball);
+            if (isTurbo) {
+                balls.startTurbo(balls.size() - 1, turboStartCollisions);
+            }
+            gameManager.showBall(ball, isPrimary, isTurbo);
+        }
+
+        // The balls and packs the snapshot has no room for leave the game:
+        for (int i = usedPrimaryBalls; i < numPrimaryBalls; i++) {
+            staging.remove(primaryBalls[i], Layer.DEFAULT);
+        }
+        for (int i = usedPacks; i < numPacks; i++) {
+            staging.remove(packs[i], Layer.DEFAULT);
+            gameManager.getPackPool().release(packs[i]);
+        }
+    }
+
+    /**
+     * Brings the falling hearts back to a snapshot, reusing the ones in the game.
+     *
+     * @param gameManager The game.
+     * @param buffer      The buffer to read from, positioned at the snapshot's hearts.
+     */
+    private static void restoreHearts(BrickerGameManager gameManager, ByteBuffer buffer) {
+        Heart[] hearts = gameManager.getFallingHearts().toArray(new Heart[0]);
+        gameManager.clearMovingHearts();
+        int numHearts = buffer.getInt();
+        for (int i = 0; i < numHearts; i++) {
+            Heart heart;
+            if (i < hearts.length) {
+                heart = hearts[i];
+            } else {
+                heart = gameManager.obtainHeart();
+                gameManager.getStaging().add(heart, Layer.DEFAULT);
+            }
+            readMotion(buffer, heart);
+            gameManager.trackMovingHeart(heart);
+        }
+        for (int i = numHearts; i < hearts.length; i++) {
+            gameManager.getStaging().remove(hearts[i], Layer.DEFAULT);
+            gameManager.getHeartPool().release(hearts[i]);
+        }
+    }
+
+    /**
+     * Writes a paddle's top-left corner and horizontal velocity to a snapshot.
+     *
+     * @param buffer The buffer to write to.
+     * @param paddle The paddle.
+     */
+    private static void writePaddle(ByteBuffer buffer, Paddle paddle) {
+        Vector2 topLeft = paddle.getTopLeftCorner();
+        buffer.putFloat(topLeft.x()).putFloat(topLeft.y()).putFloat(paddle.getVelocity().x());
+    }
+
+    /**
+     * Reads a paddle's top-left corner and horizontal velocity from a snapshot.
+     *
+     * @param buffer The buffer to read from.
+     * @param paddle The paddle to move.
+     */
+    private static void readPaddle(ByteBuffer buffer, Paddle paddle) {
+        float topLeftX = buffer.getFloat();
+        float topLeftY = buffer.getFloat();
+        paddle.setTopLeftCorner(new Vector2(topLeftX, topLeftY));
+        paddle.setVelocity(new Vector2(buffer.getFloat(), 0));
+    }
+
+    /**
+     * Writes an object's top-left corner and velocity to a snapshot.
+     *
+     * @param buffer The buffer to write to.
+     * @param object The moving object.
+     */
+    private static void writeMotion(ByteBuffer buffer, GameObject object) {
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 velocity = object.getVelocity();
+        buffer.putFloat(topLeft.x()).putFloat(topLeft.y()).putFloat(velocity.x()).putFloat(velocity.y());
+    }
+
+    /**
+     * Reads an object's top-left corner and velocity from a snapshot.
+     *
+     * @param buffer The buffer to read from.
+     * @param object The object to move.
+     */
+    private static void readMotion(ByteBuffer buffer, GameObject object) {
+        float topLeftX = buffer.getFloat();
+        float topLeftY = buffer.getFloat();
+        object.setTopLeftCorner(new Vector2(topLeftX, topLeftY));
+        float velocityX = buffer.getFloat();
+        float velocityY = buffer.getFloat();
+        object.setVelocity(new Vector2(velocityX, velocityY));
+    }
+}
@@ -0,0 +1,178 @@
+package bricker.main;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable objects.
+ * <p>
+ * Objects that are no longer in use are released back to the pool, and later requests reuse
+ * them instead of allocating new ones. A reused object is reset first, so it keeps no state from
+ * its previous use. The pool keeps at most a fixed number of idle objects; anything released
+ * beyond that capacity is left for the garbage collector.
+ *
+ * @param <T> The type of the pooled objects.
+ */
+public class ObjectPool<T> {
+
+    /**
+     * Creates a new object when the pool is empty.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Brings a reused object back to the state of a new one.
+     */
+    private final Consumer<T> reset;
+
+    /**
+     * The idle objects, ready to be reused.
+     */
+    private final ArrayDeque<T> idleObjects;
+
+    /**
+     * The maximum number of idle objects kept by the pool.
+     */
+    private int capacity;
+
+    /**
+     * The number of objects created by the factory.
+     */
+    private long createdCount;
+
+    /**
+     * The number of requests answered with an idle object.
+     */
+    private long reusedCount;
+
+    /**
+     * The number of objects released back to the pool.
+     */
+    private long releasedCount;
+
+    /**
+     * The number of released objects dropped because the pool was full.
+     */
+    private long droppedCount;
+
+    /**
+     * Constructs a new, empty ObjectPool of objects that hold no state between uses.
+     *
+     * @param factory  Creates a new object when the pool is empty.
+     * @param capacity The maximum number of idle objects kept by the pool.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public ObjectPool(Supplier<T> factory, int capacity) {
+        this(factory, object -> {
+        }, capacity);
+    }
+
+    /**
+     * Constructs a new, empty ObjectPool.
+     *
+     * @param factory  Creates a new object when the pool is empty.
+     * @param reset    Brings a reused object back to the state of a new one.
+     * @param capacity The maximum number of idle objects kept by the pool.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public ObjectPool(Supplier<T> factory, Consumer<T> reset, int capacity) {
+        this.factory = factory;
+        this.reset = reset;
+        this.idleObjects = new ArrayDeque<>();
+        setCapacity(capacity);
+    }
+
+    /**
+     * Returns an idle object, reset, or a new one if the pool is empty.
+     *
+     * @return An object ready to be used.
+     */
+    public T obtain() {
+        T object = idleObjects.pollFirst();
+        if (object != null) {
+            reusedCount++;
+            reset.accept(object);
+            return object;
+        }
+        createdCount++;
+        return factory.get();
+    }
+
+    /**
+     * Returns an object that is no longer in use to the pool.
+     *
+     * @param object The object to release. Must not be used by the caller afterwards.
+     */
+    public void release(T object) {
+        releasedCount++;
+        if (idleObjects.size() < capacity) {
+            idleObjects.addFirst(object);
+        } else {
+            droppedCount++;
+        }
+    }
+
+    /**
+     * Changes the maximum number of idle objects kept by the pool,
+     * dropping idle objects if there are more than the new capacity.
+     *
+     * @param capacity The new capacity.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Pool capacity must not be negative.");
+        }
+        this.capacity = capacity;
+        while (idleObjects.size() > capacity) {
+            idleObjects.pollLast();
+            droppedCount++;
+        }
+    }
+
+    /**
+     * Returns the number of idle objects currently held by the pool.
+     *
+     * @return The idle object count.
+     */
+    public int getIdleCount() {
+        return idleObjects.size();
+    }
+
+    /**
+     * Returns the number of objects created by the factory.
+     *
+     * @return The created object count.
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Returns the number of requests answered with an idle object.
+     *
+     * @return The reused object count.
+     */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * Returns the number of objects released back to the pool.
+     *
+     * @return The released object count.
+     */
+    public long getReleasedCount() {
+        return releasedCount;
+    }
+
+    /**
+     * Returns the number of released objects dropped because the pool was full.
+     *
+     * @return The dropped object count.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,92 @@
+package bricker.main;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The slot of every object stored in an array, by identity, so the owner of the array can find
+ * an object without scanning it.
+ * <p>
+ * The owner keeps the index up to date whenever it moves an object to another slot, e.g. when it
+ * moves its last object into a freed slot. The slot numbers are boxed once, so looking up, adding
+ * and moving objects does not allocate once the index has seen as many slots as the array.
+ *
+ * @param <T> The type of the indexed objects.
+ */
+final class SlotIndex<T> {
+
+    /**
+     * The slot of every indexed object, by identity.
+     */
+    private final Map<T, Integer> slots;
+
+    /**
+     * The boxed number of every slot seen so far, reused so indexing an object does not allocate.
+     */
+    private Integer[] boxedSlots;
+
+    /**
+     * Constructs a new, empty SlotIndex.
+     *
+     * @param capacity The number of slots to prepare for.
+     */
+    SlotIndex(int capacity) {
+        this.slots = new IdentityHashMap<>(capacity);
+        this.boxedSlots = new Integer[0];
+        boxSlots(capacity);
+    }
+
+    /**
+     * Records the slot of an object, replacing its previous slot.
+     *
+     * @param object The object.
+     * @param slot   The object's slot.
+     */
+    void put(T object, int slot) {
+        if (slot >= boxedSlots.length) {
+            boxSlots(Math.max(2 * boxedSlots.length, slot + 1));
+        }
+        slots.put(object, boxedSlots[slot]);
+    }
+
+    /**
+     * Returns the slot of an object.
+     *
+     * @param object The object.
+     * @return The object's slot, or -1 if it is not indexed.
+     */
+    int get(T object) {
+        Integer slot = slots.get(object);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Forgets the slot of an object.
+     *
+     * @param object The object.
+     */
+    void remove(T object) {
+        slots.remove(object);
+    }
+
+    /**
+     * Forgets every object.
+     */
+    void clear() {
+        slots.clear();
+    }
+
+    /**
+     * Boxes the slot numbers up to a capacity.
+     *
+     * @param capacity The number of slots to box.
+     */
+    private void boxSlots(int capacity) {
+        int boxed = boxedSlots.length;
+        boxedSlots = Arrays.copyOf(boxedSlots, capacity);
+        for (int slot = boxed; slot < capacity; slot++) {
+            boxedSlots[slot] = slot;
+        }
+    }
+}
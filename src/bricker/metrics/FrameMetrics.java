@@ -0,0 +1,361 @@
+package bricker.metrics;
+
+import danogl.gui.rendering.TextRenderable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Records where the time of each frame goes.
+ * <p>
+ * The game manager times every section of its update (the engine update, the brick collisions and
+ * each status check), the collision callbacks of each strategy type, and the whole frame, into
+ * latency histograms, and samples the number of live game objects. The results can be shown in an
+ * on-screen overlay and periodically appended to a local file. The periodic dumps are formatted
+ * and written by a background thread, so a frame only pays for copying the histograms.
+ * <p>
+ * When metrics are disabled, timing a section costs a single boolean check and nothing is recorded.
+ */
+public class FrameMetrics {
+
+    /**
+     * The time spent in the engine's update (movement, engine collisions, object updates).
+     */
+    public static final int ENGINE_UPDATE = 0;
+
+    /**
+     * The time spent testing balls against the bricks.
+     */
+    public static final int BRICK_COLLISIONS = 1;
+
+    /**
+     * The time spent in checkForGameEnd.
+     */
+    public static final int CHECK_GAME_END = 2;
+
+    /**
+     * The time spent culling the packs and hearts that fell out of the game area.
+     */
+    public static final int CULL_OFF_SCREEN = 3;
+
+    /**
+     * The time spent in checkExtraPaddleStatus.
+     */
+    public static final int CHECK_EXTRA_PADDLE = 4;
+
+    /**
+     * The time spent in checkTurboStatus.
+     */
+    public static final int CHECK_TURBO = 5;
+
+    /**
+     * The time spent applying the game changes the strategies published during the frame.
+     */
+    public static final int APPLY_EVENTS = 6;
+
+    /**
+     * The time spent applying the game objects added and removed during the frame to the engine.
+     */
+    public static final int APPLY_OBJECTS = 7;
+
+    /**
+     * The time of the whole frame.
+     */
+    public static final int FRAME = 8;
+
+    private static final String[] SECTION_NAMES = {"engineUpdate", "brickCollisions", "checkForGameEnd",
+            "cullOffScreen", "checkExtraPaddleStatus", "checkTurboStatus", "applyEvents", "applyObjects",
+            "frame"};
+    private static final int NUM_SECTIONS = SECTION_NAMES.length;
+    private static final int OVERLAY_REFRESH_FRAMES = 30;
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+
+    /**
+     * Whether metrics are recorded.
+     */
+    private boolean enabled;
+
+    /**
+     * The histogram of each section, indexed by section id.
+     */
+    private final LatencyHistogram[] sections;
+
+    /**
+     * The histogram of the collision callbacks of each strategy type, indexed by type id.
+     */
+    private final LatencyHistogram[] strategyCollisions;
+
+    /**
+     * The name of each strategy type, indexed by type id.
+     */
+    private final String[] strategyNames;
+
+    /**
+     * The object counts sampled in the last frame: bricks, packs, hearts and paddles.
+     */
+    private int numBricks, numPacks, numHearts, numPaddles;
+
+    /**
+     * The number of frames recorded.
+     */
+    private long frameCount;
+
+    /**
+     * The text shown in the on-screen overlay, or null if there is no overlay.
+     */
+    private TextRenderable overlayText;
+
+    /**
+     * The writer that appends the periodic dumps to a file, or null if the metrics are not dumped.
+     */
+    private MetricsWriter dumpWriter;
+
+    /**
+     * The number of frames between two dumps.
+     */
+    private int dumpIntervalFrames;
+
+    /**
+     * Constructs a new, disabled FrameMetrics.
+     *
+     * @param strategyNames The name of each strategy type, indexed by type id.
+     */
+    public FrameMetrics(String[] strategyNames) {
+        this.strategyNames = strategyNames.clone();
+        this.sections = new LatencyHistogram[NUM_SECTIONS];
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            sections[i] = new LatencyHistogram();
+        }
+        this.strategyCollisions = new LatencyHistogram[strategyNames.length];
+        for (int i = 0; i < strategyNames.length; i++) {
+            strategyCollisions[i] = new LatencyHistogram();
+        }
+        this.enabled = false;
+    }
+
+    /**
+     * Turns recording on or off.
+     *
+     * @param enabled True to record metrics, false to ignore every measurement.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return True if metrics are recorded, false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends a summary of the metrics to the given file every given number of frames, on a
+     * background thread. A dump that falls due while the previous one is still being written is
+     * skipped. Replacing or removing the file waits until the pending dump, if any, is written.
+     *
+     * @param dumpFile           The file to append to, or null to stop dumping.
+     * @param dumpIntervalFrames The number of frames between two dumps.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public void setDumpFile(Path dumpFile, int dumpIntervalFrames) {
+        if (dumpIntervalFrames <= 0) {
+            throw new IllegalArgumentException("Dump interval must be positive.");
+        }
+        if (dumpWriter != null) {
+            dumpWriter.shutdown();
+        }
+        this.dumpWriter = dumpFile == null ? null : new MetricsWriter(dumpFile, strategyNames);
+        this.dumpIntervalFrames = dumpIntervalFrames;
+    }
+
+    /**
+     * Returns the number of periodic dumps skipped because the previous one was still being written.
+     *
+     * @return The skipped dump count, or 0 if the metrics are not dumped.
+     */
+    public long getSkippedDumpCount() {
+        return dumpWriter == null ? 0 : dumpWriter.getSkippedCount();
+    }
+
+    /**
+     * Creates the text renderable of an on-screen overlay that shows the frame time percentiles.
+     * The caller is responsible for placing it in the game, e.g. in the UI layer.
+     *
+     * @return The overlay's text renderable.
+     */
+    public TextRenderable createOverlay() {
+        overlayText = new TextRenderable("");
+        return overlayText;
+    }
+
+    /**
+     * Starts timing, if metrics are enabled.
+     *
+     * @return The current time in nanoseconds, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since start in the given section, and starts timing the next section.
+     *
+     * @param section The id of the section that just ended.
+     * @param start   The value returned when the section started.
+     * @return The current time in nanoseconds, or 0 if metrics are disabled.
+     */
+    public long lap(int section, long start) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        sections[section].record(now - start);
+        return now;
+    }
+
+    /**
+     * Records the time of a single collision callback of the given strategy type.
+     *
+     * @param strategyType The strategy type id.
+     * @param start        The value returned by start before the callback.
+     */
+    public void recordCollision(int strategyType, long start) {
+        if (enabled) {
+            strategyCollisions[strategyType].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ends the frame: records its total time and the number of live objects, and refreshes the
+     * overlay and hands a dump to the background writer when due.
+     *
+     * @param frameStart The value returned by start at the beginning of the frame.
+     * @param bricks     The number of bricks left.
+     * @param packs      The number of packs in the game.
+     * @param hearts     The number of falling hearts in the game.
+     * @param paddles    The number of paddles in the game.
+     * @throws UncheckedIOException if an earlier dump could not be written.
+     */
+    public void endFrame(long frameStart, int bricks, int packs, int hearts, int paddles) {
+        if (!enabled) {
+            return;
+        }
+        lap(FRAME, frameStart);
+        numBricks = bricks;
+        numPacks = packs;
+        numHearts = hearts;
+        numPaddles = paddles;
+        frameCount++;
+
+        if (overlayText != null && frameCount % OVERLAY_REFRESH_FRAMES == 0) {
+            LatencyHistogram frame = sections[FRAME];
+            overlayText.setString(String.format(Locale.ROOT, "frame p50 %.0fus p99 %.0fus max %.0fus",
+                    frame.getValueAtPercentile(P50) / NANOS_PER_MICRO,
+                    frame.getValueAtPercentile(P99) / NANOS_PER_MICRO,
+                    frame.getMaxValue() / NANOS_PER_MICRO));
+        }
+        if (dumpWriter != null && frameCount % dumpIntervalFrames == 0) {
+            dumpWriter.offer(this);
+        }
+    }
+
+    /**
+     * Returns the histogram of the given section.
+     *
+     * @param section The section id, e.g. ENGINE_UPDATE or FRAME.
+     * @return The section's histogram.
+     */
+    public LatencyHistogram getSection(int section) {
+        return sections[section];
+    }
+
+    /**
+     * Returns the histogram of the collision callbacks of the given strategy type.
+     *
+     * @param strategyType The strategy type id.
+     * @return The strategy type's histogram.
+     */
+    public LatencyHistogram getStrategyCollisions(int strategyType) {
+        return strategyCollisions[strategyType];
+    }
+
+    /**
+     * Appends a summary of every histogram and of the last object counts to the given file, on the
+     * calling thread.
+     *
+     * @param file The file to append to. Created if it does not exist.
+     * @throws UncheckedIOException if the file can not be written.
+     */
+    public void dump(Path file) {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(summary());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics to " + file, e);
+        }
+    }
+
+    /**
+     * Formats every histogram and the last object counts, one line each.
+     *
+     * @return The summary text.
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "frames=%d bricks=%d packs=%d hearts=%d paddles=%d%n",
+                frameCount, numBricks, numPacks, numHearts, numPaddles));
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            appendHistogram(builder, SECTION_NAMES[i], sections[i]);
+        }
+        for (int i = 0; i < strategyNames.length; i++) {
+            appendHistogram(builder, "collision." + strategyNames[i], strategyCollisions[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Replaces the histograms, object counts and frame count of another FrameMetrics with those of
+     * this one, without allocating. Both must have the same strategy types.
+     *
+     * @param target The FrameMetrics to overwrite.
+     */
+    void copyTo(FrameMetrics target) {
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            target.sections[i].copyFrom(sections[i]);
+        }
+        for (int i = 0; i < strategyCollisions.length; i++) {
+            target.strategyCollisions[i].copyFrom(strategyCollisions[i]);
+        }
+        target.numBricks = numBricks;
+        target.numPacks = numPacks;
+        target.numHearts = numHearts;
+        target.numPaddles = numPaddles;
+        target.frameCount = frameCount;
+    }
+
+    /**
+     * Appends a single histogram line to the summary.
+     *
+     * @param builder   The summary being built.
+     * @param name      The name of the histogram.
+     * @param histogram The histogram.
+     */
+    private static void appendHistogram(StringBuilder builder, String name, LatencyHistogram histogram) {
+        builder.append(String.format(Locale.ROOT, "%-28s count=%d p50=%.1fus p99=%.1fus max=%.1fus%n",
+                name, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(P50) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(P99) / NANOS_PER_MICRO,
+                histogram.getMaxValue() / NANOS_PER_MICRO));
+    }
+}
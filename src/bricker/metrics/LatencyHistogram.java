@@ -0,0 +1,143 @@
+package bricker.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, with constant-time, allocation-free recording.
+ * <p>
+ * Values are grouped into log-linear buckets: every power of two is split into 16 equal buckets,
+ * so percentiles are exact up to about 6% at any scale, from nanoseconds to hours.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final double MAX_PERCENTILE = 100.0;
+
+    /**
+     * The number of recorded values in each bucket.
+     */
+    private final long[] counts;
+
+    /**
+     * The number of recorded values.
+     */
+    private long totalCount;
+
+    /**
+     * The largest recorded value.
+     */
+    private long maxValue;
+
+    /**
+     * Constructs a new, empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[NUM_BUCKETS];
+    }
+
+    /**
+     * Records a single duration.
+     *
+     * @param nanos The duration, in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The lower bound of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(percentile, MAX_PERCENTILE) / MAX_PERCENTILE * totalCount);
+        long seen = 0;
+        for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(lowerBoundOf(bucket), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return The maximal duration, in nanoseconds.
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The value count.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Replaces the recorded values with those of another histogram, without allocating.
+     *
+     * @param other The histogram to copy.
+     */
+    public void copyFrom(LatencyHistogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, NUM_BUCKETS);
+        totalCount = other.totalCount;
+        maxValue = other.maxValue;
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * Returns the bucket that holds the given value.
+     *
+     * @param value A non-negative value.
+     * @return The index of the value's bucket.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the smallest value held by the given bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The bucket's lower bound.
+     */
+    private static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket & SUB_BUCKET_MASK;
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
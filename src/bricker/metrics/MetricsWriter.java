@@ -0,0 +1,136 @@
+package bricker.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appends metrics summaries to a file on a dedicated thread, keeping the formatting and the file
+ * IO out of the game loop.
+ * <p>
+ * The game thread hands over a dump by copying its metrics into a snapshot owned by the writer,
+ * which costs a few array copies and does not allocate. The writer thread then formats the
+ * snapshot and appends it to the file. A dump handed over while the previous one is still being
+ * written is skipped, so a slow disk can never stall a frame.
+ * <p>
+ * offer and shutdown must only be called from the game thread.
+ */
+class MetricsWriter {
+
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final String THREAD_NAME = "bricker-metrics";
+
+    /**
+     * The file the summaries are appended to.
+     */
+    private final Path file;
+
+    /**
+     * The copy of the metrics being written. Owned by the game thread while no dump is pending,
+     * and by the writer thread while one is.
+     */
+    private final FrameMetrics snapshot;
+
+    /**
+     * The thread that writes the summaries.
+     */
+    private final Thread writerThread;
+
+    /**
+     * Whether a snapshot is waiting to be written.
+     */
+    private volatile boolean pending;
+
+    /**
+     * Whether the writer still accepts dumps.
+     */
+    private volatile boolean running;
+
+    /**
+     * The error of the last failed write, or null if every write succeeded so far.
+     */
+    private volatile IOException failure;
+
+    /**
+     * The number of dumps skipped because the previous one was still being written.
+     */
+    private long skippedCount;
+
+    /**
+     * Constructs a new MetricsWriter and starts its writer thread.
+     *
+     * @param file          The file to append to. Created if it does not exist.
+     * @param strategyNames The name of each strategy type, indexed by type id.
+     */
+    MetricsWriter(Path file, String[] strategyNames) {
+        this.file = file;
+        this.snapshot = new FrameMetrics(strategyNames);
+        this.running = true;
+        this.writerThread = new Thread(this::runWriteLoop, THREAD_NAME);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Hands a copy of the given metrics to the writer thread, unless a dump is still pending.
+     *
+     * @param metrics The metrics to dump.
+     * @throws UncheckedIOException if an earlier dump could not be written.
+     */
+    void offer(FrameMetrics metrics) {
+        IOException error = failure;
+        if (error != null) {
+            failure = null;
+            throw new UncheckedIOException("Could not write metrics to " + file, error);
+        }
+        if (pending) {
+            skippedCount++;
+            return;
+        }
+        metrics.copyTo(snapshot);
+        pending = true;
+        LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * Stops the writer thread once the pending dump, if any, is written, and waits for it.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of dumps skipped because the previous one was still being written.
+     *
+     * @return The skipped dump count.
+     */
+    long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * The body of the writer thread: writes every snapshot handed over until the writer is shut
+     * down and nothing is pending.
+     */
+    private void runWriteLoop() {
+        while (running || pending) {
+            if (!pending) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                snapshot.dump(file);
+            } catch (UncheckedIOException e) {
+                failure = e.getCause();
+            }
+            pending = false;
+        }
+    }
+}
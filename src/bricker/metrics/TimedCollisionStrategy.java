@@ -0,0 +1,52 @@
+package bricker.metrics;
+
+import bricker.brick_strategies.CollisionStrategy;
+import danogl.GameObject;
+
+/**
+ * A collision strategy that times every collision of the strategy it wraps,
+ * recording the durations under the wrapped strategy's type.
+ */
+public class TimedCollisionStrategy implements CollisionStrategy {
+
+    /**
+     * The strategy that actually handles the collisions.
+     */
+    private final CollisionStrategy strategy;
+
+    /**
+     * The strategy type id of the wrapped strategy.
+     */
+    private final int strategyType;
+
+    /**
+     * The metrics the durations are recorded in.
+     */
+    private final FrameMetrics metrics;
+
+    /**
+     * Constructs a new TimedCollisionStrategy.
+     *
+     * @param strategy     The strategy to time.
+     * @param strategyType The strategy type id of the strategy.
+     * @param metrics      The metrics to record the durations in.
+     */
+    public TimedCollisionStrategy(CollisionStrategy strategy, int strategyType, FrameMetrics metrics) {
+        this.strategy = strategy;
+        this.strategyType = strategyType;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Lets the wrapped strategy handle the collision, and records how long it took.
+     *
+     * @param object1 The first GameObject involved in the collision.
+     * @param object2 The second GameObject involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject object1, GameObject object2) {
+        long start = metrics.start();
+        strategy.onCollision(object1, object2);
+        metrics.recordCollision(strategyType, start);
+    }
+}
@@ -0,0 +1,63 @@
+package bricker.replay;
+
+import bricker.main.GameOutcome;
+
+/**
+ * Receives the stream of a game's inputs and events, e.g. to record the game or to check a replay.
+ * <p>
+ * The game manager reports every frame's time step and input before updating the game, the
+ * game events of the frame as they happen, and the final state once the game ends.
+ */
+public interface GameEventListener {
+
+    /**
+     * Input bit of a frame in which the paddle moves left.
+     */
+    byte INPUT_LEFT = 1;
+
+    /**
+     * Input bit of a frame in which the paddle moves right.
+     */
+    byte INPUT_RIGHT = 2;
+
+    /**
+     * Input bit of a frame in which the win key (W) is pressed.
+     */
+    byte INPUT_WIN = 4;
+
+    /**
+     * Event of a brick being destroyed. Its values are the brick's center coordinates.
+     */
+    byte BRICK_DESTROYED = 1;
+
+    /**
+     * Event of the number of lives changing. Its first value is the new number of lives.
+     */
+    byte LIVES_CHANGED = 2;
+
+    /**
+     * Called at the beginning of every frame, before the game is updated.
+     *
+     * @param deltaTime The time step of the frame.
+     * @param input     The bit mask of INPUT_LEFT, INPUT_RIGHT and INPUT_WIN of the frame.
+     */
+    void onFrame(float deltaTime, byte input);
+
+    /**
+     * Called whenever a game event happens during the current frame.
+     *
+     * @param type   The event type, e.g. BRICK_DESTROYED.
+     * @param value1 The first value of the event.
+     * @param value2 The second value of the event.
+     */
+    void onEvent(byte type, float value1, float value2);
+
+    /**
+     * Called once, when the game ends or is closed before it ends.
+     *
+     * @param outcome    The outcome of the game, IN_PROGRESS if it was closed before it ended.
+     * @param bricksLeft The number of bricks left.
+     * @param numLives   The number of lives left.
+     */
+    void onGameEnd(GameOutcome outcome, int bricksLeft, int numLives);
+}
@@ -0,0 +1,169 @@
+package bricker.replay;
+
+import bricker.level.Level;
+import bricker.level.LevelWriter;
+import bricker.main.GameConfig;
+import bricker.main.GameOutcome;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game's inputs and events into a compact binary file, so the game can later be
+ * replayed exactly by a GameReplayer.
+ * <p>
+ * Records are collected in a direct buffer and written to the file channel only when the buffer
+ * fills up and when the game ends, so recording costs a few bytes of copying per frame.
+ * A game that is closed before it ends is ended by the game manager with its outcome still in
+ * progress, possibly from a shutdown hook, so every method is synchronized.
+ * The layout of the file is described in ReplayFormat.
+ */
+public class GameRecorder implements GameEventListener {
+
+    /**
+     * The channel of the recording file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The records waiting to be written to the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Path of the recording file, used in error messages.
+     */
+    private final Path file;
+
+    /**
+     * Whether the recording was completed and the file closed.
+     */
+    private boolean finished;
+
+    /**
+     * Creates the recording file and writes its header, the game's configuration and its level.
+     *
+     * @param file              The file to record to. Replaced if it exists.
+     * @param seed              The seed of the game's random source.
+     * @param windowDimensions  The dimensions of the game area.
+     * @param config            The tunable parameters of the game.
+     * @param level             The level the game is played on.
+     * @param compactBrickField Whether the bricks are stored in a compact brick field.
+     * @throws UncheckedIOException if the file can not be created.
+     */
+    public GameRecorder(Path file, long seed, Vector2 windowDimensions, GameConfig config, Level level,
+                        boolean compactBrickField) {
+        this.file = file;
+        this.buffer = ByteBuffer.allocateDirect(ReplayFormat.BUFFER_SIZE);
+        byte[] configBytes = config.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(ReplayFormat.MAGIC)
+                .putShort(ReplayFormat.VERSION)
+                .putLong(seed)
+                .putFloat(windowDimensions.x())
+                .putFloat(windowDimensions.y())
+                .put((byte) (compactBrickField ? 1 : 0))
+                .putInt(configBytes.length)
+                .put(configBytes)
+                .putInt(Math.toIntExact(LevelWriter.getBinarySize(level)));
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            // The level can be larger than the buffer, so it is written straight to the channel
+            flush();
+            LevelWriter.writeBinary(level, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create recording " + file, e);
+        }
+        this.finished = false;
+    }
+
+    /**
+     * Records the input and time step of a frame.
+     *
+     * @param deltaTime The time step of the frame.
+     * @param input     The input bit mask of the frame.
+     */
+    @Override
+    public synchronized void onFrame(float deltaTime, byte input) {
+        if (finished) {
+            return;
+        }
+        ensureRemaining(ReplayFormat.FRAME_SIZE);
+        buffer.put(ReplayFormat.FRAME).put(input).putFloat(deltaTime);
+    }
+
+    /**
+     * Records a game event.
+     *
+     * @param type   The event type.
+     * @param value1 The first value of the event.
+     * @param value2 The second value of the event.
+     */
+    @Override
+    public synchronized void onEvent(byte type, float value1, float value2) {
+        if (finished) {
+            return;
+        }
+        ensureRemaining(ReplayFormat.EVENT_SIZE);
+        buffer.put(ReplayFormat.EVENT).put(type).putFloat(value1).putFloat(value2);
+    }
+
+    /**
+     * Records the final state of the game, writes every pending record and closes the file.
+     * Later calls do nothing.
+     *
+     * @param outcome    The outcome of the game, IN_PROGRESS if it was closed before it ended.
+     * @param bricksLeft The number of bricks left.
+     * @param numLives   The number of lives left.
+     */
+    @Override
+    public synchronized void onGameEnd(GameOutcome outcome, int bricksLeft, int numLives) {
+        if (finished) {
+            return;
+        }
+        ensureRemaining(ReplayFormat.END_SIZE);
+        buffer.put(ReplayFormat.END).put((byte) outcome.ordinal()).putInt(bricksLeft).putInt(numLives);
+        finished = true;
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write recording " + file, e);
+        }
+    }
+
+    /**
+     * Writes the pending records if the buffer can not hold the given number of bytes.
+     *
+     * @param numBytes The size of the next record.
+     */
+    private void ensureRemaining(int numBytes) {
+        if (buffer.remaining() >= numBytes) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write recording " + file, e);
+        }
+    }
+
+    /**
+     * Writes every pending record to the channel.
+     *
+     * @throws IOException if writing fails.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
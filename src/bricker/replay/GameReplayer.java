@@ -0,0 +1,526 @@
+package bricker.replay;
+
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.level.Level;
+import bricker.level.LevelReader;
+import bricker.main.BrickerGameManager;
+import bricker.main.GameConfig;
+import bricker.main.GameOutcome;
+import bricker.simulation.HeadlessSimulation;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Replays a game recorded by a GameRecorder in headless mode, as fast as the CPU allows,
+ * and checks that it unfolds exactly like the recorded game.
+ * <p>
+ * The replayed game gets the recorded seed, configuration and level and, on every frame, the
+ * recorded time step and input. Every event of the replay is compared with the recorded events of the same frame,
+ * and the final outcome, bricks and lives are compared with the recorded final state, so any
+ * change in the game's behavior shows up as the first frame in which the replay diverges.
+ */
+public class GameReplayer {
+
+    private static final int INITIAL_EVENTS_CAPACITY = 16;
+
+    /**
+     * The recording to replay.
+     */
+    private final Path file;
+
+    /**
+     * Constructs a new GameReplayer.
+     *
+     * @param file The recording to replay.
+     */
+    public GameReplayer(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Replays the whole recording.
+     *
+     * @return The comparison between the recorded and the replayed game.
+     * @throws IllegalArgumentException if the file is not a recording of a supported version.
+     * @throws UncheckedIOException     if the file can not be read.
+     */
+    public Result replay() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ReplayFormat.BUFFER_SIZE);
+            buffer.flip();
+            if (!ensureReadable(channel, buffer, ReplayFormat.HEADER_SIZE) ||
+                    buffer.getInt() != ReplayFormat.MAGIC || buffer.getShort() != ReplayFormat.VERSION) {
+                throw new IllegalArgumentException("Not a supported Bricker recording: " + file);
+            }
+            long seed = buffer.getLong();
+            Vector2 windowDimensions = new Vector2(buffer.getFloat(), buffer.getFloat());
+            boolean compactBrickField = buffer.get() != 0;
+            GameConfig config = readConfig(readSection(channel, buffer));
+            Level level = LevelReader.readBinary(readSection(channel, buffer));
+
+            BrickerGameManager gameManager = HeadlessSimulation.createGameManager(windowDimensions,
+                    level.getNumColumns(), level.getNumRows(), compactBrickField, config);
+            gameManager.setLevel(level);
+            gameManager.setSeed(seed);
+            EventCollector replayedEvents = new EventCollector();
+            gameManager.setEventListener(replayedEvents);
+            ReplayPaddleController paddleController = new ReplayPaddleController();
+            gameManager.initializeHeadless(windowDimensions, paddleController);
+
+            return replayRecords(channel, buffer, gameManager, paddleController, replayedEvents);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read recording " + file, e);
+        }
+    }
+
+    /**
+     * Feeds every recorded frame to the game and compares the events and the final state.
+     *
+     * @param channel          The channel of the recording, positioned after the header.
+     * @param buffer           The read buffer of the channel.
+     * @param gameManager      The replayed game.
+     * @param paddleController The controller that feeds the recorded input to the paddles.
+     * @param replayedEvents   Collects the events of the replayed game.
+     * @return The comparison between the recorded and the replayed game.
+     * @throws IOException if the channel can not be read.
+     */
+    private Result replayRecords(FileChannel channel, ByteBuffer buffer, BrickerGameManager gameManager,
+                                 ReplayPaddleController paddleController, EventCollector replayedEvents)
+            throws IOException {
+        long numFrames = 0;
+        long firstDivergentFrame = -1;
+        int matchedEvents = 0;
+        GameOutcome recordedOutcome = null;
+        int recordedBricksLeft = -1;
+        int recordedLives = -1;
+
+        while (recordedOutcome == null && ensureReadable(channel, buffer, Byte.BYTES)) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case ReplayFormat.FRAME:
+                    if (!ensureReadable(channel, buffer, ReplayFormat.FRAME_SIZE - Byte.BYTES)) {
+                        return truncated(numFrames, firstDivergentFrame, gameManager);
+                    }
+                    if (firstDivergentFrame < 0 && matchedEvents != replayedEvents.size()) {
+                        firstDivergentFrame = numFrames - 1;
+                    }
+                    byte input = buffer.get();
+                    float deltaTime = buffer.getFloat();
+                    replayedEvents.clear();
+                    matchedEvents = 0;
+                    paddleController.setInput(input);
+                    if ((input & GameEventListener.INPUT_WIN) != 0) {
+                        gameManager.requestWin();
+                    }
+                    gameManager.update(deltaTime);
+                    numFrames++;
+                    break;
+                case ReplayFormat.EVENT:
+                    if (!ensureReadable(channel, buffer, ReplayFormat.EVENT_SIZE - Byte.BYTES)) {
+                        return truncated(numFrames, firstDivergentFrame, gameManager);
+                    }
+                    byte type = buffer.get();
+                    float value1 = buffer.getFloat();
+                    float value2 = buffer.getFloat();
+                    if (firstDivergentFrame < 0 &&
+                            !replayedEvents.matches(matchedEvents, type, value1, value2)) {
+                        firstDivergentFrame = numFrames - 1;
+                    }
+                    matchedEvents++;
+                    break;
+                case ReplayFormat.END:
+                    if (!ensureReadable(channel, buffer, ReplayFormat.END_SIZE - Byte.BYTES)) {
+                        return truncated(numFrames, firstDivergentFrame, gameManager);
+                    }
+                    recordedOutcome = GameOutcome.values()[buffer.get()];
+                    recordedBricksLeft = buffer.getInt();
+                    recordedLives = buffer.getInt();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Corrupt recording " + file + ": unknown record " + tag);
+            }
+        }
+        if (recordedOutcome == null) {
+            return truncated(numFrames, firstDivergentFrame, gameManager);
+        }
+        if (firstDivergentFrame < 0 && matchedEvents != replayedEvents.size()) {
+            firstDivergentFrame = numFrames - 1;
+        }
+        return new Result(numFrames, firstDivergentFrame, recordedOutcome, gameManager.getGameOutcome(),
+                recordedBricksLeft, gameManager.getBricksLeft(), recordedLives, gameManager.getNumLives());
+    }
+
+    /**
+     * Builds the result of a recording that ended before its final state was written,
+     * e.g. because the recorded game was closed mid-game.
+     *
+     * @param numFrames           The number of frames replayed.
+     * @param firstDivergentFrame The first frame whose events differed, or -1.
+     * @param gameManager         The replayed game.
+     * @return A result with no recorded final state.
+     */
+    private static Result truncated(long numFrames, long firstDivergentFrame, BrickerGameManager gameManager) {
+        return new Result(numFrames, firstDivergentFrame, null, gameManager.getGameOutcome(),
+                -1, gameManager.getBricksLeft(), -1, gameManager.getNumLives());
+    }
+
+    /**
+     * Reads a section of the header that starts with its length, e.g. the recorded level, into a
+     * buffer of its own. The section may be larger than the read buffer.
+     *
+     * @param channel The channel of the recording.
+     * @param buffer  The read buffer of the channel, positioned at the section's length.
+     * @return A buffer holding exactly the section.
+     * @throws IllegalArgumentException if the recording ends before the section does.
+     * @throws IOException              if the channel can not be read.
+     */
+    private ByteBuffer readSection(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (!ensureReadable(channel, buffer, Integer.BYTES)) {
+            throw new IllegalArgumentException("Corrupt recording " + file + ": truncated header");
+        }
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new IllegalArgumentException("Corrupt recording " + file + ": bad section length " + length);
+        }
+        ByteBuffer section = ByteBuffer.allocate(length);
+        while (section.hasRemaining()) {
+            if (!buffer.hasRemaining() && !ensureReadable(channel, buffer, 1)) {
+                throw new IllegalArgumentException("Corrupt recording " + file + ": truncated header");
+            }
+            int numBytes = Math.min(section.remaining(), buffer.remaining());
+            ByteBuffer chunk = buffer.duplicate();
+            chunk.limit(chunk.position() + numBytes);
+            section.put(chunk);
+            buffer.position(buffer.position() + numBytes);
+        }
+        section.flip();
+        return section;
+    }
+
+    /**
+     * Parses the recorded configuration.
+     *
+     * @param section The configuration's properties text, in UTF-8.
+     * @return The configuration.
+     * @throws IllegalArgumentException if the properties are not a valid configuration.
+     */
+    private static GameConfig readConfig(ByteBuffer section) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(StandardCharsets.UTF_8.decode(section).toString()));
+        } catch (IOException e) {
+            // Reading from a string does not fail
+            throw new UncheckedIOException(e);
+        }
+        return GameConfig.fromProperties(properties);
+    }
+
+    /**
+     * Makes sure the buffer holds at least the given number of unread bytes, reading more from
+     * the channel if needed.
+     *
+     * @param channel  The channel to read from.
+     * @param buffer   The buffer, in read mode.
+     * @param numBytes The number of bytes needed.
+     * @return True if the bytes are available, false if the channel ended first.
+     * @throws IOException if the channel can not be read.
+     */
+    private static boolean ensureReadable(FileChannel channel, ByteBuffer buffer, int numBytes)
+            throws IOException {
+        if (buffer.remaining() >= numBytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < numBytes) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= numBytes;
+    }
+
+    /**
+     * Feeds the recorded input of the current frame to the paddles.
+     */
+    private static class ReplayPaddleController implements PaddleController {
+
+        /**
+         * The input bit mask of the current frame.
+         */
+        private byte input;
+
+        /**
+         * Sets the input of the current frame.
+         *
+         * @param input The recorded input bit mask.
+         */
+        void setInput(byte input) {
+            this.input = input;
+        }
+
+        /**
+         * Checks whether the recorded input moves the paddle left.
+         *
+         * @param paddle The paddle being updated.
+         * @return True if the paddle should move left, false otherwise.
+         */
+        @Override
+        public boolean isMovingLeft(Paddle paddle) {
+            return (input & GameEventListener.INPUT_LEFT) != 0;
+        }
+
+        /**
+         * Checks whether the recorded input moves the paddle right.
+         *
+         * @param paddle The paddle being updated.
+         * @return True if the paddle should move right, false otherwise.
+         */
+        @Override
+        public boolean isMovingRight(Paddle paddle) {
+            return (input & GameEventListener.INPUT_RIGHT) != 0;
+        }
+    }
+
+    /**
+     * Collects the events of the current frame of the replayed game.
+     */
+    private static class EventCollector implements GameEventListener {
+
+        /**
+         * The type of each event of the frame.
+         */
+        private byte[] types;
+
+        /**
+         * The two values of each event of the frame, interleaved.
+         */
+        private float[] values;
+
+        /**
+         * The number of events of the frame.
+         */
+        private int size;
+
+        /**
+         * Constructs a new, empty EventCollector.
+         */
+        EventCollector() {
+            this.types = new byte[INITIAL_EVENTS_CAPACITY];
+            this.values = new float[2 * INITIAL_EVENTS_CAPACITY];
+        }
+
+        /**
+         * Ignores the frame, whose input was fed from the recording.
+         *
+         * @param deltaTime The time step of the frame.
+         * @param input     The input bit mask of the frame.
+         */
+        @Override
+        public void onFrame(float deltaTime, byte input) {
+        }
+
+        /**
+         * Collects an event of the replayed game.
+         *
+         * @param type   The event type.
+         * @param value1 The first value of the event.
+         * @param value2 The second value of the event.
+         */
+        @Override
+        public void onEvent(byte type, float value1, float value2) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, 2 * size);
+                values = Arrays.copyOf(values, 4 * size);
+            }
+            types[size] = type;
+            values[2 * size] = value1;
+            values[2 * size + 1] = value2;
+            size++;
+        }
+
+        /**
+         * Ignores the end of the replayed game, whose final state is read from the game manager.
+         *
+         * @param outcome    The outcome of the game.
+         * @param bricksLeft The number of bricks left.
+         * @param numLives   The number of lives left.
+         */
+        @Override
+        public void onGameEnd(GameOutcome outcome, int bricksLeft, int numLives) {
+        }
+
+        /**
+         * Checks whether the given event of the frame equals a recorded event.
+         *
+         * @param index  The index of the event in the frame.
+         * @param type   The recorded event type.
+         * @param value1 The first recorded value.
+         * @param value2 The second recorded value.
+         * @return True if the replayed event exists and is identical, false otherwise.
+         */
+        boolean matches(int index, byte type, float value1, float value2) {
+            return index < size && types[index] == type &&
+                    Float.compare(values[2 * index], value1) == 0 &&
+                    Float.compare(values[2 * index + 1], value2) == 0;
+        }
+
+        /**
+         * Returns the number of events collected in the frame.
+         *
+         * @return The event count.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Forgets the events of the previous frame.
+         */
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * The comparison between a recorded game and its replay.
+     */
+    public static class Result {
+
+        /**
+         * The number of frames replayed.
+         */
+        private final long numFrames;
+
+        /**
+         * The first frame whose events differed from the recording, or -1 if none did.
+         */
+        private final long firstDivergentFrame;
+
+        /**
+         * The recorded outcome, or null if the recording has no final state.
+         */
+        private final GameOutcome recordedOutcome;
+
+        /**
+         * The outcome of the replay.
+         */
+        private final GameOutcome replayedOutcome;
+
+        /**
+         * The recorded number of bricks left, or -1 if the recording has no final state.
+         */
+        private final int recordedBricksLeft;
+
+        /**
+         * The number of bricks left after the replay.
+         */
+        private final int replayedBricksLeft;
+
+        /**
+         * The recorded number of lives left, or -1 if the recording has no final state.
+         */
+        private final int recordedLives;
+
+        /**
+         * The number of lives left after the replay.
+         */
+        private final int replayedLives;
+
+        /**
+         * Constructs a new Result.
+         *
+         * @param numFrames           The number of frames replayed.
+         * @param firstDivergentFrame The first frame whose events differed, or -1.
+         * @param recordedOutcome     The recorded outcome, or null.
+         * @param replayedOutcome     The outcome of the replay.
+         * @param recordedBricksLeft  The recorded number of bricks left, or -1.
+         * @param replayedBricksLeft  The number of bricks left after the replay.
+         * @param recordedLives       The recorded number of lives left, or -1.
+         * @param replayedLives       The number of lives left after the replay.
+         */
+        Result(long numFrames, long firstDivergentFrame, GameOutcome recordedOutcome,
+               GameOutcome replayedOutcome, int recordedBricksLeft, int replayedBricksLeft,
+               int recordedLives, int replayedLives) {
+            this.numFrames = numFrames;
+            this.firstDivergentFrame = firstDivergentFrame;
+            this.recordedOutcome = recordedOutcome;
+            this.replayedOutcome = replayedOutcome;
+            this.recordedBricksLeft = recordedBricksLeft;
+            this.replayedBricksLeft = replayedBricksLeft;
+            this.recordedLives = recordedLives;
+            this.replayedLives = replayedLives;
+        }
+
+        /**
+         * Checks whether the replay matched the recording: every event was identical and the
+         * final outcome, bricks and lives are the recorded ones.
+         *
+         * @return True if the replay matched, false otherwise or if the recording has no final state.
+         */
+        public boolean matches() {
+            return firstDivergentFrame < 0 && recordedOutcome == replayedOutcome &&
+                    recordedBricksLeft == replayedBricksLeft && recordedLives == replayedLives;
+        }
+
+        /**
+         * Returns the number of frames replayed.
+         *
+         * @return The frame count.
+         */
+        public long getNumFrames() {
+            return numFrames;
+        }
+
+        /**
+         * Returns the first frame whose events differed from the recording.
+         *
+         * @return The index of the frame, or -1 if every event matched.
+         */
+        public long getFirstDivergentFrame() {
+            return firstDivergentFrame;
+        }
+
+        /**
+         * Formats the comparison as a single report line.
+         *
+         * @return The report line.
+         */
+        @Override
+        public String toString() {
+            return String.format("%s after %d frames: outcome %s/%s, bricks %d/%d, lives %d/%d " +
+                            "(recorded/replayed), first divergent frame %d",
+                    matches() ? "MATCH" : "MISMATCH", numFrames, recordedOutcome, replayedOutcome,
+                    recordedBricksLeft, replayedBricksLeft, recordedLives, replayedLives, firstDivergentFrame);
+        }
+    }
+
+    /**
+     * Replays a recording and prints whether the replay matched it, and how fast it ran.
+     *
+     * @param args The path of the recording.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: GameReplayer <recording>");
+            return;
+        }
+        long start = System.nanoTime();
+        Result result = new GameReplayer(Paths.get(args[0])).replay();
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.println(result);
+        System.out.printf("Replayed in %.1f ms (%.1f frames/ms)%n", millis, result.getNumFrames() / millis);
+    }
+}
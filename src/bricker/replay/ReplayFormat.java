@@ -0,0 +1,34 @@
+package bricker.replay;
+
+/**
+ * The binary layout of a game recording, shared by the recorder and the replayer.
+ * <p>
+ * A recording starts with a header: MAGIC (int), VERSION (short), the seed (long), the window
+ * width and height (floats) and whether the bricks were stored in a compact field (byte). The
+ * header is followed by the game's configuration, as the length (int) and UTF-8 bytes of its
+ * properties text, and by the level, as its length (int) and its binary layout (see LevelWriter).
+ * Everything the game is built from is in the recording, so it replays the same on any setup.
+ * Then come tagged records: a FRAME record
+ * holds the frame's input mask (byte) and time step (float), an EVENT record holds the event type
+ * (byte) and its two values (floats), and a single END record holds the game outcome's ordinal
+ * (byte), the number of bricks left and the number of lives left (ints). Every value is big-endian.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x42524B52;
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES + 2 * Float.BYTES + Byte.BYTES;
+    static final byte FRAME = 1;
+    static final byte EVENT = 2;
+    static final byte END = 3;
+    static final int FRAME_SIZE = 2 * Byte.BYTES + Float.BYTES;
+    static final int EVENT_SIZE = 2 * Byte.BYTES + 2 * Float.BYTES;
+    static final int END_SIZE = 2 * Byte.BYTES + 2 * Integer.BYTES;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Private constructor, this class only holds constants.
+     */
+    private ReplayFormat() {
+    }
+}
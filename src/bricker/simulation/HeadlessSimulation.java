@@ -0,0 +1,249 @@
+package bricker.simulation;
+
+import bricker.gameobjects.PaddleController;
+import bricker.main.BrickerGameManager;
+import bricker.main.GameConfig;
+import bricker.main.GameOutcome;
+import danogl.util.Vector2;
+
+/**
+ * Runs a Bricker game without a window, rendering or audio.
+ * <p>
+ * The game is advanced with a fixed time step instead of wall-clock time, so the same
+ * Ball, Paddle, Brick and CollisionStrategy logic runs as fast as the CPU allows and every
+ * frame sees exactly the same deltaTime.
+ */
+public class HeadlessSimulation {
+
+    /**
+     * The default time step, matching a 60 fps game.
+     */
+    public static final float DEFAULT_DELTA_TIME = 1f / 60;
+
+    /**
+     * The title passed to the game manager, never shown.
+     */
+    private static final String TITLE = "headless";
+
+    private static final String SWEEP_POLICY = "sweep";
+    private static final String NEAREST_POLICY = "nearest";
+    private static final String INTERCEPT_POLICY = "intercept";
+    private static final String HEARTS_POLICY = "hearts";
+    private static final int SWEEP_FRAMES = 120;
+
+    /**
+     * The game manager that holds the simulated game.
+     */
+    private final BrickerGameManager gameManager;
+
+    /**
+     * The fixed time step used for every frame.
+     */
+    private final float deltaTime;
+
+    /**
+     * The number of frames simulated so far.
+     */
+    private long frameCount;
+
+    /**
+     * Constructs and initializes a new headless game.
+     *
+     * @param windowDimensions The dimensions of the simulated game area.
+     * @param numBricksPerRow  Number of bricks per row.
+     * @param numRows          Number of rows of bricks.
+     * @param paddleController The controller that moves the paddles.
+     * @param deltaTime        The fixed time step used for every frame, in seconds.
+     * @throws IllegalArgumentException if the time step is not positive.
+     */
+    public HeadlessSimulation(Vector2 windowDimensions,
+                              int numBricksPerRow,
+                              int numRows,
+                              PaddleController paddleController,
+                              float deltaTime) {
+        this(windowDimensions, numBricksPerRow, numRows, paddleController, deltaTime, false);
+    }
+
+    /**
+     * Constructs and initializes a new headless game, optionally with a compact brick field.
+     *
+     * @param windowDimensions  The dimensions of the simulated game area.
+     * @param numBricksPerRow   Number of bricks per row.
+     * @param numRows           Number of rows of bricks.
+     * @param paddleController  The controller that moves the paddles.
+     * @param deltaTime         The fixed time step used for every frame, in seconds.
+     * @param compactBrickField True to store the bricks in primitive arrays instead of game objects.
+     * @throws IllegalArgumentException if the time step is not positive.
+     */
+    public HeadlessSimulation(Vector2 windowDimensions,
+                              int numBricksPerRow,
+                              int numRows,
+                              PaddleController paddleController,
+                              float deltaTime,
+                              boolean compactBrickField) {
+        this(createGameManager(windowDimensions, numBricksPerRow, numRows, compactBrickField),
+                windowDimensions, paddleController, deltaTime);
+    }
+
+    /**
+     * Initializes a new headless game in a game manager that was already created and configured,
+     * e.g. seeded or given other strategy probabilities.
+     *
+     * @param gameManager      The game manager to drive. Must not have been initialized yet.
+     * @param windowDimensions The dimensions of the simulated game area.
+     * @param paddleController The controller that moves the paddles.
+     * @param deltaTime        The fixed time step used for every frame, in seconds.
+     * @throws IllegalArgumentException if the time step is not positive.
+     */
+    public HeadlessSimulation(BrickerGameManager gameManager,
+                              Vector2 windowDimensions,
+                              PaddleController paddleController,
+                              float deltaTime) {
+        if (deltaTime <= 0) {
+            throw new IllegalArgumentException("Time step must be positive.");
+        }
+        this.gameManager = gameManager;
+        this.gameManager.initializeHeadless(windowDimensions, paddleController);
+        this.deltaTime = deltaTime;
+        this.frameCount = 0;
+    }
+
+    /**
+     * Creates a game manager for a headless game.
+     *
+     * @param windowDimensions  The dimensions of the simulated game area.
+     * @param numBricksPerRow   Number of bricks per row.
+     * @param numRows           Number of rows of bricks.
+     * @param compactBrickField True to store the bricks in primitive arrays instead of game objects.
+     * @return The new, uninitialized game manager.
+     */
+    public static BrickerGameManager createGameManager(Vector2 windowDimensions, int numBricksPerRow,
+                                                       int numRows, boolean compactBrickField) {
+        return createGameManager(windowDimensions, numBricksPerRow, numRows, compactBrickField,
+                GameConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a game manager for a headless game with the given configuration.
+     *
+     * @param windowDimensions  The dimensions of the simulated game area.
+     * @param numBricksPerRow   Number of bricks per row.
+     * @param numRows           Number of rows of bricks.
+     * @param compactBrickField True to store the bricks in primitive arrays instead of game objects.
+     * @param config            The tunable parameters of the game.
+     * @return The new, uninitialized game manager.
+     */
+    public static BrickerGameManager createGameManager(Vector2 windowDimensions, int numBricksPerRow,
+                                                       int numRows, boolean compactBrickField,
+                                                       GameConfig config) {
+        BrickerGameManager gameManager =
+                new BrickerGameManager(TITLE, windowDimensions, numBricksPerRow, numRows, config);
+        gameManager.setCompactBrickField(compactBrickField);
+        return gameManager;
+    }
+
+    /**
+     * Simulates a single frame, unless the game has already ended.
+     *
+     * @return True if the game is still in progress after this frame, false otherwise.
+     */
+    public boolean step() {
+        if (gameManager.getGameOutcome() != GameOutcome.IN_PROGRESS) {
+            return false;
+        }
+        gameManager.update(deltaTime);
+        frameCount++;
+        return gameManager.getGameOutcome() == GameOutcome.IN_PROGRESS;
+    }
+
+    /**
+     * Simulates frames until the game ends or the frame limit is reached.
+     *
+     * @param maxFrames The maximum number of frames to simulate.
+     * @return The outcome of the game, IN_PROGRESS if the frame limit was reached first.
+     */
+    public GameOutcome run(long maxFrames) {
+        while (frameCount < maxFrames && step()) {
+            // keep stepping
+        }
+        return gameManager.getGameOutcome();
+    }
+
+    /**
+     * Returns the number of frames simulated so far.
+     *
+     * @return The frame count.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the game manager driven by this simulation.
+     *
+     * @return The simulated game manager.
+     */
+    public BrickerGameManager getGameManager() {
+        return gameManager;
+    }
+
+    /**
+     * Creates the paddle controller of a named policy: "sweep" moves the paddle from side to side
+     * regardless of the game, "nearest", "intercept" and "hearts" play with a NearestBallPolicy,
+     * an InterceptPolicy and a HeartTrackingPolicy.
+     *
+     * @param policy      The name of the policy.
+     * @param gameManager The game the paddle plays in.
+     * @return The paddle controller.
+     * @throws IllegalArgumentException if the policy is unknown.
+     */
+    public static PaddleController createController(String policy, BrickerGameManager gameManager) {
+        switch (policy) {
+            case SWEEP_POLICY:
+                byte[] sweep = new byte[SWEEP_FRAMES];
+                for (int i = 0; i < sweep.length; i++) {
+                    sweep[i] = i < sweep.length / 2 ? ScriptedPaddleController.MOVE_LEFT
+                            : ScriptedPaddleController.MOVE_RIGHT;
+                }
+                return new ScriptedPaddleController(sweep);
+            case NEAREST_POLICY:
+                return new PolicyPaddleController(gameManager, new NearestBallPolicy());
+            case INTERCEPT_POLICY:
+                return new PolicyPaddleController(gameManager, new InterceptPolicy());
+            case HEARTS_POLICY:
+                return new PolicyPaddleController(gameManager, new HeartTrackingPolicy());
+            default:
+                throw new IllegalArgumentException("Unknown paddle policy: " + policy);
+        }
+    }
+
+    /**
+     * Runs a single headless game, by default with a paddle that sweeps from side to side,
+     * and prints its outcome and throughput.
+     *
+     * @param args Optional number of bricks per row and number of rows, and optional paddle policy
+     *             (see createController).
+     */
+    public static void main(String[] args) {
+        int numBricks = 8;
+        int numRows = 7;
+        String policy = SWEEP_POLICY;
+        if (args.length >= 2) {
+            numBricks = Integer.parseInt(args[0]);
+            numRows = Integer.parseInt(args[1]);
+        }
+        if (args.length == 1 || args.length == 3) {
+            policy = args[args.length - 1];
+        }
+        Vector2 windowDimensions = new Vector2(700, 500);
+        BrickerGameManager gameManager = createGameManager(windowDimensions, numBricks, numRows, false);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, windowDimensions,
+                createController(policy, gameManager), DEFAULT_DELTA_TIME);
+
+        long start = System.nanoTime();
+        GameOutcome outcome = simulation.run(1_000_000);
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%s after %d frames in %.1f ms (%.1f frames/ms)%n",
+                outcome, simulation.getFrameCount(), millis, simulation.getFrameCount() / millis);
+    }
+}
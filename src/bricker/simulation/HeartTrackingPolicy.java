@@ -0,0 +1,81 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Paddle;
+import bricker.main.BrickerGameManager;
+
+import java.util.List;
+
+/**
+ * A paddle policy that catches falling hearts whenever that does not cost the ball.
+ * <p>
+ * The ball's landing point is predicted as in InterceptPolicy. The paddle goes for the heart that
+ * lands first if it can get under the heart in time and still reach the ball's landing point
+ * before the ball; otherwise it waits for the ball.
+ */
+public class HeartTrackingPolicy implements PaddlePolicy {
+
+    /**
+     * Predicts where and when the next primary ball reaches the paddle.
+     */
+    private final InterceptPolicy interceptPolicy;
+
+    /**
+     * Constructs a new HeartTrackingPolicy.
+     */
+    public HeartTrackingPolicy() {
+        this.interceptPolicy = new InterceptPolicy();
+    }
+
+    /**
+     * Targets the first heart to land if catching it leaves time for the ball, and the ball's
+     * predicted landing point otherwise.
+     *
+     * @param gameManager The game the paddle plays in.
+     * @param paddle      The paddle being updated.
+     * @return The x coordinate of the heart or of the ball's landing point, or NO_TARGET if neither
+     *         is heading to the paddle.
+     */
+    @Override
+    public float chooseTarget(BrickerGameManager gameManager, Paddle paddle) {
+        float ballX = interceptPolicy.chooseTarget(gameManager, paddle);
+        float ballTime = interceptPolicy.getInterceptTime();
+
+        // The heart that lands first:
+        float paddleTop = paddle.getTopLeftCorner().y();
+        float heartX = NO_TARGET;
+        float heartTime = Float.POSITIVE_INFINITY;
+        List<Heart> hearts = gameManager.getFallingHearts();
+        for (int i = 0; i < hearts.size(); i++) {
+            Heart heart = hearts.get(i);
+            float velocityY = heart.getVelocity().y();
+            float hitY = paddleTop - heart.getDimensions().y() / 2;
+            float centerY = heart.getTopLeftCorner().y() + heart.getDimensions().y() / 2;
+            if (velocityY <= 0 || centerY > hitY) {
+                continue;
+            }
+            float time = (hitY - centerY) / velocityY;
+            if (time < heartTime) {
+                heartTime = time;
+                heartX = heart.getTopLeftCorner().x() + heart.getDimensions().x() / 2;
+            }
+        }
+        if (Float.isNaN(heartX)) {
+            return ballX;
+        }
+        if (Float.isNaN(ballX)) {
+            return heartX;
+        }
+
+        // Catch the heart only if the ball can still be reached after it:
+        float paddleX = paddle.getTopLeftCorner().x() + paddle.getDimensions().x() / 2;
+        float speed = paddle.getMovementSpeed();
+        float reach = paddle.getDimensions().x() / 2;
+        float toHeart = Math.max(0, Math.abs(heartX - paddleX) - reach) / speed;
+        float heartToBall = Math.max(0, Math.abs(ballX - heartX) - reach) / speed;
+        if (heartTime < ballTime && toHeart <= heartTime && heartTime + heartToBall <= ballTime) {
+            return heartX;
+        }
+        return ballX;
+    }
+}
@@ -0,0 +1,120 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.main.BallRegistry;
+import bricker.main.BrickerGameManager;
+
+/**
+ * A paddle policy that predicts where the next primary ball will reach the paddle and waits there.
+ * <p>
+ * Each ball is followed along its straight path, bouncing off the ceiling if it is rising and off
+ * the side walls as often as needed: the side walls are handled by folding the unbounded x
+ * coordinate back between them, so a prediction costs the same however many bounces it spans.
+ * Bricks are not taken into account, so a rising ball's prediction is refined as it comes back.
+ */
+public class InterceptPolicy implements PaddlePolicy {
+
+    /**
+     * The time until the ball of the last prediction reaches the paddle, or infinity if no
+     * primary ball is heading there.
+     */
+    private float interceptTime;
+
+    /**
+     * The predicted x coordinate of the last prediction, or NO_TARGET.
+     */
+    private float interceptX;
+
+    /**
+     * Constructs a new InterceptPolicy.
+     */
+    public InterceptPolicy() {
+        this.interceptTime = Float.POSITIVE_INFINITY;
+        this.interceptX = NO_TARGET;
+    }
+
+    /**
+     * Targets the point where the primary ball that arrives first reaches the paddle.
+     *
+     * @param gameManager The game the paddle plays in.
+     * @param paddle      The paddle being updated.
+     * @return The predicted x coordinate, or NO_TARGET if no primary ball is heading to the paddle.
+     */
+    @Override
+    public float chooseTarget(BrickerGameManager gameManager, Paddle paddle) {
+        BallRegistry balls = gameManager.getBalls();
+        float paddleTop = paddle.getTopLeftCorner().y();
+        interceptTime = Float.POSITIVE_INFINITY;
+        interceptX = NO_TARGET;
+        for (int slot = 0; slot < balls.size(); slot++) {
+            if (!balls.isPrimary(slot)) {
+                continue;
+            }
+            Ball ball = balls.get(slot);
+            float halfWidth = ball.getDimensions().x() / 2;
+            float halfHeight = ball.getDimensions().y() / 2;
+            float time = timeToReach(ball.getCenterY(), ball.getVelocity().y(), paddleTop - halfHeight,
+                    gameManager.getCeilingFace() + halfHeight);
+            if (time < interceptTime) {
+                interceptTime = time;
+                interceptX = fold(ball.getCenterX() + ball.getVelocity().x() * time,
+                        gameManager.getLeftWallFace() + halfWidth, gameManager.getRightWallFace() - halfWidth);
+            }
+        }
+        return interceptX;
+    }
+
+    /**
+     * Returns the time until the ball of the last prediction reaches the paddle.
+     *
+     * @return The time in seconds, or infinity if no primary ball was heading to the paddle.
+     */
+    public float getInterceptTime() {
+        return interceptTime;
+    }
+
+    /**
+     * Returns the time until an object moving vertically reaches a given height, bouncing once off
+     * the ceiling if it is rising.
+     *
+     * @param y         The object's current y coordinate.
+     * @param velocityY The object's vertical velocity.
+     * @param hitY      The height to reach, below the ceiling.
+     * @param ceilingY  The lowest y coordinate the object can reach before bouncing down.
+     * @return The time in seconds, or infinity if the object is below hitY or not moving vertically.
+     */
+    static float timeToReach(float y, float velocityY, float hitY, float ceilingY) {
+        if (y > hitY || velocityY == 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        if (velocityY > 0) {
+            return (hitY - y) / velocityY;
+        }
+        return ((y - ceilingY) + (hitY - ceilingY)) / -velocityY;
+    }
+
+    /**
+     * Folds an unbounded x coordinate back between two walls, as if the object bounced off
+     * them every time it reached one.
+     *
+     * @param x     The x coordinate without walls.
+     * @param left  The smallest x coordinate between the walls.
+     * @param right The largest x coordinate between the walls.
+     * @return The x coordinate after the bounces.
+     */
+    static float fold(float x, float left, float right) {
+        float width = right - left;
+        if (width <= 0) {
+            return (left + right) / 2;
+        }
+        float offset = (x - left) % (2 * width);
+        if (offset < 0) {
+            offset += 2 * width;
+        }
+        if (offset > width) {
+            offset = 2 * width - offset;
+        }
+        return left + offset;
+    }
+}
@@ -0,0 +1,385 @@
+package bricker.simulation;
+
+import bricker.gameobjects.PaddleController;
+import bricker.main.BrickerGameManager;
+import bricker.main.GameConfig;
+import bricker.main.GameOutcome;
+import danogl.util.Vector2;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Plays many independent headless games in parallel and aggregates their results,
+ * e.g. to balance the strategy probabilities, the turbo multiplier or the extra paddle hits
+ * given by the batch's GameConfig.
+ * <p>
+ * Every game runs in its own BrickerGameManager with its own seed, derived from the batch seed
+ * and the game's index, so a batch is reproducible regardless of how its games are spread over
+ * threads. The games are split into fork/join tasks, each of which accumulates into its own
+ * result, so the threads share nothing but the read-only configuration and scale with the cores.
+ */
+public class MonteCarloEvaluator {
+
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+    private static final int GAMES_PER_TASK = 8;
+    private static final long DEFAULT_MAX_FRAMES = 60L * 60 * 10;
+    private static final String DEFAULT_POLICY = "sweep";
+
+    /**
+     * The dimensions of the simulated game area.
+     */
+    private final Vector2 windowDimensions;
+
+    /**
+     * Number of bricks per row.
+     */
+    private final int numBricksPerRow;
+
+    /**
+     * Number of rows of bricks.
+     */
+    private final int numRows;
+
+    /**
+     * The tunable parameters shared by every game.
+     */
+    private final GameConfig config;
+
+    /**
+     * Creates a new paddle controller for every game, given the game's manager.
+     */
+    private final Function<BrickerGameManager, PaddleController> paddleControllers;
+
+    /**
+     * Configures every game manager after it is seeded and before its game is set up.
+     */
+    private final Consumer<BrickerGameManager> configuration;
+
+    /**
+     * The number of frames after which an unfinished game is stopped.
+     */
+    private final long maxFramesPerGame;
+
+    /**
+     * The pool the games run on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new MonteCarloEvaluator.
+     *
+     * @param windowDimensions  The dimensions of the simulated game area.
+     * @param numBricksPerRow   Number of bricks per row.
+     * @param numRows           Number of rows of bricks.
+     * @param config            The tunable parameters shared by every game, e.g. other strategy
+     *                          probabilities or another turbo multiplier.
+     * @param paddleControllers Creates a new paddle controller for every game, given the game's
+     *                          manager, e.g. a PolicyPaddleController.
+     * @param configuration     Configures every game manager before its game is set up,
+     *                          e.g. with another level.
+     * @param maxFramesPerGame  The number of frames after which an unfinished game is stopped.
+     * @param pool              The pool the games run on.
+     * @throws IllegalArgumentException if the frame limit is not positive.
+     */
+    public MonteCarloEvaluator(Vector2 windowDimensions, int numBricksPerRow, int numRows,
+                               GameConfig config,
+                               Function<BrickerGameManager, PaddleController> paddleControllers,
+                               Consumer<BrickerGameManager> configuration,
+                               long maxFramesPerGame, ForkJoinPool pool) {
+        if (maxFramesPerGame <= 0) {
+            throw new IllegalArgumentException("Frame limit must be positive.");
+        }
+        this.windowDimensions = windowDimensions;
+        this.numBricksPerRow = numBricksPerRow;
+        this.numRows = numRows;
+        this.config = config;
+        this.paddleControllers = paddleControllers;
+        this.configuration = configuration;
+        this.maxFramesPerGame = maxFramesPerGame;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays a batch of games and aggregates their results.
+     *
+     * @param numGames The number of games to play.
+     * @param seed     The seed of the batch. The same seed always produces the same result.
+     * @return The aggregated result of the batch.
+     * @throws IllegalArgumentException if the number of games is negative.
+     */
+    public Result evaluate(int numGames, long seed) {
+        if (numGames < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative.");
+        }
+        return pool.invoke(new EvaluationTask(seed, 0, numGames));
+    }
+
+    /**
+     * Plays a single game and adds its result to the given result.
+     *
+     * @param seed   The seed of the game.
+     * @param result The result to add the game to.
+     */
+    private void playGame(long seed, Result result) {
+        BrickerGameManager gameManager =
+                HeadlessSimulation.createGameManager(windowDimensions, numBricksPerRow, numRows, true, config);
+        gameManager.setSeed(seed);
+        configuration.accept(gameManager);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, windowDimensions,
+                paddleControllers.apply(gameManager), HeadlessSimulation.DEFAULT_DELTA_TIME);
+        GameOutcome outcome = simulation.run(maxFramesPerGame);
+        result.addGame(outcome, simulation.getFrameCount(), gameManager);
+    }
+
+    /**
+     * Plays a range of the batch's games, splitting it between threads while it is large.
+     */
+    private class EvaluationTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The seed of the batch.
+         */
+        private final long seed;
+
+        /**
+         * The index of the first game of the range.
+         */
+        private final int firstGame;
+
+        /**
+         * The number of games in the range.
+         */
+        private final int numGames;
+
+        /**
+         * Constructs a new EvaluationTask.
+         *
+         * @param seed      The seed of the batch.
+         * @param firstGame The index of the first game of the range.
+         * @param numGames  The number of games in the range.
+         */
+        EvaluationTask(long seed, int firstGame, int numGames) {
+            this.seed = seed;
+            this.firstGame = firstGame;
+            this.numGames = numGames;
+        }
+
+        /**
+         * Plays the range's games, or splits the range in two and merges the halves' results.
+         *
+         * @return The aggregated result of the range.
+         */
+        @Override
+        protected Result compute() {
+            if (numGames <= GAMES_PER_TASK) {
+                Result result = new Result();
+                for (int game = firstGame; game < firstGame + numGames; game++) {
+                    playGame(seed + game * SEED_INCREMENT, result);
+                }
+                return result;
+            }
+            int half = numGames / 2;
+            EvaluationTask left = new EvaluationTask(seed, firstGame, half);
+            EvaluationTask right = new EvaluationTask(seed, firstGame + half, numGames - half);
+            left.fork();
+            Result result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * The aggregated result of a batch of games.
+     */
+    public static class Result {
+
+        /**
+         * The number of games played.
+         */
+        private long numGames;
+
+        /**
+         * The number of games won.
+         */
+        private long numWins;
+
+        /**
+         * The number of games lost.
+         */
+        private long numLosses;
+
+        /**
+         * The total number of frames of all the games.
+         */
+        private long totalFrames;
+
+        /**
+         * The total number of lives lost in all the games.
+         */
+        private long totalLivesLost;
+
+        /**
+         * The total number of times each strategy type was triggered, indexed by type id.
+         */
+        private final long[] strategyTriggerCounts;
+
+        /**
+         * Constructs a new, empty Result.
+         */
+        Result() {
+            this.strategyTriggerCounts = new long[BrickerGameManager.NUM_BEHAVIOURS];
+        }
+
+        /**
+         * Adds a single game to the result.
+         *
+         * @param outcome     The outcome of the game.
+         * @param numFrames   The number of frames the game lasted.
+         * @param gameManager The game manager that played the game.
+         */
+        void addGame(GameOutcome outcome, long numFrames, BrickerGameManager gameManager) {
+            numGames++;
+            if (outcome == GameOutcome.WON) {
+                numWins++;
+            } else if (outcome == GameOutcome.LOST) {
+                numLosses++;
+            }
+            totalFrames += numFrames;
+            totalLivesLost += gameManager.getLivesLost();
+            for (int behaviour = 0; behaviour < strategyTriggerCounts.length; behaviour++) {
+                strategyTriggerCounts[behaviour] += gameManager.getStrategyTriggerCount(behaviour);
+            }
+        }
+
+        /**
+         * Adds every game of another result to this one.
+         *
+         * @param other The result to merge.
+         */
+        void merge(Result other) {
+            numGames += other.numGames;
+            numWins += other.numWins;
+            numLosses += other.numLosses;
+            totalFrames += other.totalFrames;
+            totalLivesLost += other.totalLivesLost;
+            for (int behaviour = 0; behaviour < strategyTriggerCounts.length; behaviour++) {
+                strategyTriggerCounts[behaviour] += other.strategyTriggerCounts[behaviour];
+            }
+        }
+
+        /**
+         * Returns the number of games played.
+         *
+         * @return The game count.
+         */
+        public long getNumGames() {
+            return numGames;
+        }
+
+        /**
+         * Returns the fraction of the games that were won.
+         *
+         * @return The win rate, between 0 and 1, or 0 if no game was played.
+         */
+        public double getWinRate() {
+            return numGames == 0 ? 0 : (double) numWins / numGames;
+        }
+
+        /**
+         * Returns the fraction of the games that were lost.
+         * Games stopped at the frame limit are neither won nor lost.
+         *
+         * @return The loss rate, between 0 and 1, or 0 if no game was played.
+         */
+        public double getLossRate() {
+            return numGames == 0 ? 0 : (double) numLosses / numGames;
+        }
+
+        /**
+         * Returns the average length of a game.
+         *
+         * @return The mean number of frames per game, or 0 if no game was played.
+         */
+        public double getMeanGameLength() {
+            return numGames == 0 ? 0 : (double) totalFrames / numGames;
+        }
+
+        /**
+         * Returns the average number of lives lost in a game.
+         *
+         * @return The mean number of lives lost per game, or 0 if no game was played.
+         */
+        public double getMeanLivesLost() {
+            return numGames == 0 ? 0 : (double) totalLivesLost / numGames;
+        }
+
+        /**
+         * Returns the total number of times a strategy type was triggered in all the games.
+         *
+         * @param behaviour The strategy type id (e.g., BASIC, EXTRA_PACK).
+         * @return The total trigger count of the strategy type.
+         */
+        public long getStrategyTriggerCount(int behaviour) {
+            return strategyTriggerCounts[behaviour];
+        }
+
+        /**
+         * Formats the result as a short report.
+         *
+         * @return The report.
+         */
+        @Override
+        public String toString() {
+            StringBuilder triggers = new StringBuilder();
+            for (int behaviour = 0; behaviour < strategyTriggerCounts.length; behaviour++) {
+                triggers.append(behaviour == 0 ? "" : " ").append(strategyTriggerCounts[behaviour]);
+            }
+            return String.format("%d games: win %.3f loss %.3f, %.1f frames/game, %.2f lives lost/game, " +
+                            "strategy triggers [%s]", numGames, getWinRate(), getLossRate(),
+                    getMeanGameLength(), getMeanLivesLost(), triggers);
+        }
+    }
+
+    /**
+     * Evaluates the default level, by default with a paddle that sweeps from side to side,
+     * and prints the aggregated result and throughput.
+     *
+     * @param args Optional number of games, seed, paddle policy (see HeadlessSimulation.createController)
+     *             and game configuration file.
+     */
+    public static void main(String[] args) {
+        int numGames = 1000;
+        long seed = 1;
+        String policy = DEFAULT_POLICY;
+        GameConfig config = GameConfig.DEFAULT;
+        if (args.length >= 1) {
+            numGames = Integer.parseInt(args[0]);
+        }
+        if (args.length >= 2) {
+            seed = Long.parseLong(args[1]);
+        }
+        if (args.length >= 3) {
+            policy = args[2];
+        }
+        if (args.length >= 4) {
+            config = GameConfig.load(Paths.get(args[3]));
+        }
+        String paddlePolicy = policy;
+        MonteCarloEvaluator evaluator = new MonteCarloEvaluator(new Vector2(700, 500), 8, 7, config,
+                gameManager -> HeadlessSimulation.createController(paddlePolicy, gameManager),
+                gameManager -> { }, DEFAULT_MAX_FRAMES, ForkJoinPool.commonPool());
+
+        long start = System.nanoTime();
+        Result result = evaluator.evaluate(numGames, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(result);
+        System.out.printf("%.1f games/s on %d threads%n", numGames / seconds,
+                ForkJoinPool.commonPool().getParallelism());
+    }
+}
@@ -0,0 +1,40 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.main.BallRegistry;
+import bricker.main.BrickerGameManager;
+
+/**
+ * A paddle policy that follows the primary ball closest above the paddle among the ones falling
+ * towards it. Cheap and naive: it chases where the ball is, not where it will land.
+ */
+public class NearestBallPolicy implements PaddlePolicy {
+
+    /**
+     * Targets the center of the nearest descending primary ball.
+     *
+     * @param gameManager The game the paddle plays in.
+     * @param paddle      The paddle being updated.
+     * @return The ball's x coordinate, or NO_TARGET if no primary ball is falling.
+     */
+    @Override
+    public float chooseTarget(BrickerGameManager gameManager, Paddle paddle) {
+        BallRegistry balls = gameManager.getBalls();
+        float paddleTop = paddle.getTopLeftCorner().y();
+        float target = NO_TARGET;
+        float minDistance = Float.MAX_VALUE;
+        for (int slot = 0; slot < balls.size(); slot++) {
+            Ball ball = balls.get(slot);
+            if (!balls.isPrimary(slot) || ball.getVelocity().y() <= 0) {
+                continue;
+            }
+            float distance = paddleTop - ball.getCenterY();
+            if (distance >= 0 && distance < minDistance) {
+                minDistance = distance;
+                target = ball.getCenterX();
+            }
+        }
+        return target;
+    }
+}
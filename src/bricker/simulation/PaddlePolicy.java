@@ -0,0 +1,26 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Paddle;
+import bricker.main.BrickerGameManager;
+
+/**
+ * An algorithm that decides where a paddle should be, used by a PolicyPaddleController to play
+ * games without a player. A policy reads the game's state every frame and returns the x coordinate
+ * the paddle's center should move to.
+ */
+public interface PaddlePolicy {
+
+    /**
+     * Returned by chooseTarget when the paddle should stay where it is.
+     */
+    float NO_TARGET = Float.NaN;
+
+    /**
+     * Chooses where the paddle should go on this frame.
+     *
+     * @param gameManager The game the paddle plays in.
+     * @param paddle      The paddle being updated.
+     * @return The x coordinate the paddle's center should move to, or NO_TARGET to stay.
+     */
+    float chooseTarget(BrickerGameManager gameManager, Paddle paddle);
+}
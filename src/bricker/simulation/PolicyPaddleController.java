@@ -0,0 +1,109 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.main.BrickerGameManager;
+
+/**
+ * A paddle controller that moves the paddle towards the target chosen by a PaddlePolicy.
+ * <p>
+ * The paddle only moves while the target is more than a quarter of its width from its center,
+ * so it does not jitter around a target it already covers. The policy is asked once per paddle
+ * per frame, however many times the paddle's directions are checked.
+ */
+public class PolicyPaddleController implements PaddleController {
+
+    private static final float TOLERANCE_PER_WIDTH = 0.25f;
+    private static final int STAY = 0;
+    private static final int LEFT = -1;
+    private static final int RIGHT = 1;
+
+    /**
+     * The game the paddles play in.
+     */
+    private final BrickerGameManager gameManager;
+
+    /**
+     * The policy that chooses where the paddles go.
+     */
+    private final PaddlePolicy policy;
+
+    /**
+     * The paddle whose direction was last decided on this frame, or null.
+     */
+    private Paddle decidedPaddle;
+
+    /**
+     * The direction decided for decidedPaddle: LEFT, RIGHT or STAY.
+     */
+    private int decidedDirection;
+
+    /**
+     * Constructs a new PolicyPaddleController.
+     *
+     * @param gameManager The game the paddles play in.
+     * @param policy      The policy that chooses where the paddles go.
+     */
+    public PolicyPaddleController(BrickerGameManager gameManager, PaddlePolicy policy) {
+        this.gameManager = gameManager;
+        this.policy = policy;
+    }
+
+    /**
+     * Forgets the last decision, so every paddle asks the policy again on the new frame.
+     *
+     * @param deltaTime The time passed since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        decidedPaddle = null;
+    }
+
+    /**
+     * Checks whether the policy's target is to the left of the paddle.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move left, false otherwise.
+     */
+    @Override
+    public boolean isMovingLeft(Paddle paddle) {
+        return decide(paddle) == LEFT;
+    }
+
+    /**
+     * Checks whether the policy's target is to the right of the paddle.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move right, false otherwise.
+     */
+    @Override
+    public boolean isMovingRight(Paddle paddle) {
+        return decide(paddle) == RIGHT;
+    }
+
+    /**
+     * Decides in which direction a paddle moves on this frame, asking the policy only if the
+     * paddle was not the last one decided.
+     *
+     * @param paddle The paddle being updated.
+     * @return LEFT, RIGHT or STAY.
+     */
+    private int decide(Paddle paddle) {
+        if (paddle == decidedPaddle) {
+            return decidedDirection;
+        }
+        decidedPaddle = paddle;
+        decidedDirection = STAY;
+        float target = policy.chooseTarget(gameManager, paddle);
+        if (!Float.isNaN(target)) {
+            float width = paddle.getDimensions().x();
+            float offset = target - (paddle.getTopLeftCorner().x() + width / 2);
+            if (offset < -width * TOLERANCE_PER_WIDTH) {
+                decidedDirection = LEFT;
+            } else if (offset > width * TOLERANCE_PER_WIDTH) {
+                decidedDirection = RIGHT;
+            }
+        }
+        return decidedDirection;
+    }
+}
@@ -0,0 +1,88 @@
+package bricker.simulation;
+
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+
+/**
+ * A paddle controller that replays a fixed script of moves, one entry per frame.
+ * <p>
+ * Each entry of the script is a bit mask of MOVE_LEFT and MOVE_RIGHT. When the script
+ * runs out it starts over from the beginning.
+ */
+public class ScriptedPaddleController implements PaddleController {
+
+    /**
+     * Bit that marks a frame in which the paddle moves left.
+     */
+    public static final byte MOVE_LEFT = 1;
+
+    /**
+     * Bit that marks a frame in which the paddle moves right.
+     */
+    public static final byte MOVE_RIGHT = 2;
+
+    /**
+     * The moves to replay, one entry per frame.
+     */
+    private final byte[] script;
+
+    /**
+     * The index of the entry used in the current frame.
+     */
+    private int frame;
+
+    /**
+     * Constructs a new ScriptedPaddleController.
+     *
+     * @param script The moves to replay, one bit mask per frame. Must not be empty.
+     * @throws IllegalArgumentException if the script is empty.
+     */
+    public ScriptedPaddleController(byte[] script) {
+        if (script.length == 0) {
+            throw new IllegalArgumentException("Script must contain at least one frame.");
+        }
+        this.script = script.clone();
+        this.frame = -1;
+    }
+
+    /**
+     * Advances the script to the next frame.
+     *
+     * @param deltaTime The time passed since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        frame = (frame + 1) % script.length;
+    }
+
+    /**
+     * Checks whether the current script entry moves the paddle left.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move left, false otherwise.
+     */
+    @Override
+    public boolean isMovingLeft(Paddle paddle) {
+        return (currentMove() & MOVE_LEFT) != 0;
+    }
+
+    /**
+     * Checks whether the current script entry moves the paddle right.
+     *
+     * @param paddle The paddle being updated.
+     * @return True if the paddle should move right, false otherwise.
+     */
+    @Override
+    public boolean isMovingRight(Paddle paddle) {
+        return (currentMove() & MOVE_RIGHT) != 0;
+    }
+
+    /**
+     * Returns the script entry of the current frame.
+     *
+     * @return The bit mask of the current frame.
+     */
+    private byte currentMove() {
+        return frame < 0 ? 0 : script[frame];
+    }
+}
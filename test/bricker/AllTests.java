@@ -0,0 +1,45 @@
+package bricker;
+
+import bricker.level.LevelRoundTripTest;
+import bricker.main.AliasSamplerTest;
+import bricker.main.BallRegistryTest;
+import bricker.main.CullingStageTest;
+import bricker.main.FrameAllocationTest;
+import bricker.main.GameSnapshotTest;
+import bricker.main.LevelValidationTest;
+import bricker.main.ObjectPoolTest;
+import bricker.main.SoftResetTest;
+import bricker.replay.ReplayRoundTripTest;
+
+/**
+ * Runs every test, in one JVM, and stops at the first failure. The tests are compiled together
+ * with the game's sources and the engine's jar, e.g. from the IDE's test source folder.
+ */
+public final class AllTests {
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private AllTests() {
+    }
+
+    /**
+     * Runs every test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a test fails.
+     */
+    public static void main(String[] args) {
+        FrameAllocationTest.main(args);
+        ObjectPoolTest.main(args);
+        SoftResetTest.main(args);
+        GameSnapshotTest.main(args);
+        LevelRoundTripTest.main(args);
+        AliasSamplerTest.main(args);
+        CullingStageTest.main(args);
+        BallRegistryTest.main(args);
+        ReplayRoundTripTest.main(args);
+        LevelValidationTest.main(args);
+        System.out.println("All tests passed.");
+    }
+}
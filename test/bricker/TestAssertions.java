@@ -0,0 +1,41 @@
+package bricker;
+
+/**
+ * The checks used by the tests. The tests are plain classes with a main method, run without a
+ * test framework, so a failed check throws an AssertionError that ends the test run.
+ */
+public final class TestAssertions {
+
+    /**
+     * Private constructor, this class only holds static methods.
+     */
+    private TestAssertions() {
+    }
+
+    /**
+     * Checks that a condition holds.
+     *
+     * @param condition The condition.
+     * @param message   Describes the failure.
+     * @throws AssertionError if the condition is false.
+     */
+    public static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Checks that two values are equal.
+     *
+     * @param expected The expected value.
+     * @param actual   The actual value.
+     * @param message  Describes the checked value.
+     * @throws AssertionError if the values differ.
+     */
+    public static void assertEquals(long expected, long actual, String message) {
+        if (expected != actual) {
+            throw new AssertionError(message + ": expected " + expected + ", got " + actual);
+        }
+    }
+}
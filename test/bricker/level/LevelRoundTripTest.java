@@ -0,0 +1,153 @@
+package bricker.level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that a text level converted to the binary layout reads back as the same level, both
+ * through a binary file and through a channel, as in a game recording.
+ */
+public class LevelRoundTripTest {
+
+    private static final String SMALL_LEVEL = String.join("\n",
+            "# A small level with its own probabilities",
+            "size 8 3",
+            "probabilities 0.5 0.1 0.1 0.1 0.1 0.1",
+            "..????..",
+            "?4.??.4?",
+            "33333333",
+            "");
+    private static final int LARGE_COLUMNS = 400;
+    private static final int LARGE_ROWS = 200;
+    private static final String LARGE_CELLS = ".?012345";
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private LevelRoundTripTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a level reads back differently from how it was written.
+     */
+    public static void main(String[] args) {
+        try {
+            Path directory = Files.createTempDirectory("bricker-levels");
+            try {
+                checkFileRoundTrip(directory, "small", SMALL_LEVEL);
+                checkFileRoundTrip(directory, "large", largeLevel());
+                checkChannelRoundTrip(directory, "small", SMALL_LEVEL);
+                checkChannelRoundTrip(directory, "large", largeLevel());
+            } finally {
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.delete(file);
+                    }
+                }
+                Files.delete(directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Levels read back as written.");
+    }
+
+    /**
+     * Converts a text level to a binary file and checks the file reads back as the same level.
+     *
+     * @param directory The directory for the level files.
+     * @param name      The level's name.
+     * @param text      The text level.
+     * @throws IOException if a file can not be written.
+     */
+    private static void checkFileRoundTrip(Path directory, String name, String text) throws IOException {
+        Level level = readText(directory, name, text);
+        Path binaryFile = directory.resolve(name + ".level");
+        LevelWriter.writeBinary(level, binaryFile);
+        assertEquals(LevelWriter.getBinarySize(level), Files.size(binaryFile), name + " binary file size");
+        assertSameLevel(level, LevelReader.readBinary(binaryFile), name + " level through a file");
+    }
+
+    /**
+     * Writes a text level to a channel and checks the bytes read back as the same level.
+     *
+     * @param directory The directory for the level files.
+     * @param name      The level's name.
+     * @param text      The text level.
+     * @throws IOException if a file can not be written.
+     */
+    private static void checkChannelRoundTrip(Path directory, String name, String text) throws IOException {
+        Level level = readText(directory, name, text);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LevelWriter.writeBinary(level, Channels.newChannel(bytes));
+        assertEquals(LevelWriter.getBinarySize(level), bytes.size(), name + " binary level size");
+        assertSameLevel(level, LevelReader.readBinary(ByteBuffer.wrap(bytes.toByteArray())),
+                name + " level through a channel");
+    }
+
+    /**
+     * Writes a text level to a file and reads it.
+     *
+     * @param directory The directory for the level files.
+     * @param name      The level's name.
+     * @param text      The text level.
+     * @return The level.
+     * @throws IOException if the file can not be written.
+     */
+    private static Level readText(Path directory, String name, String text) throws IOException {
+        Path textFile = directory.resolve(name + LevelFormat.TEXT_EXTENSION);
+        Files.write(textFile, text.getBytes(StandardCharsets.UTF_8));
+        return LevelReader.readText(textFile);
+    }
+
+    /**
+     * Builds a text level larger than a single write of the level writer, without probabilities.
+     *
+     * @return The text level.
+     */
+    private static String largeLevel() {
+        StringBuilder text = new StringBuilder();
+        text.append(LevelFormat.SIZE).append(' ').append(LARGE_COLUMNS).append(' ').append(LARGE_ROWS).append('\n');
+        for (int row = 0; row < LARGE_ROWS; row++) {
+            for (int column = 0; column < LARGE_COLUMNS; column++) {
+                text.append(LARGE_CELLS.charAt((column * 7 + row * 3) % LARGE_CELLS.length()));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks that two levels have the same dimensions, probabilities and cells.
+     *
+     * @param expected The level that was written.
+     * @param actual   The level that was read back.
+     * @param what     What is being compared, for the error message.
+     */
+    private static void assertSameLevel(Level expected, Level actual, String what) {
+        assertEquals(expected.getNumColumns(), actual.getNumColumns(), what + ": columns");
+        assertEquals(expected.getNumRows(), actual.getNumRows(), what + ": rows");
+        assertTrue(Arrays.equals(expected.getStrategyProbabilities(), actual.getStrategyProbabilities()),
+                what + ": probabilities");
+        for (int row = 0; row < expected.getNumRows(); row++) {
+            for (int column = 0; column < expected.getNumColumns(); column++) {
+                assertEquals(expected.getCell(column, row), actual.getCell(column, row),
+                        what + ": cell " + column + "," + row);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package bricker.main;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that an AliasSampler draws every outcome as often as its probability says, for a fixed
+ * seed, never draws an outcome of probability 0, and rejects arrays that are not distributions.
+ */
+public class AliasSamplerTest {
+
+    private static final long SEED = 1234;
+    private static final int NUM_DRAWS = 1_000_000;
+    private static final double TOLERANCE = 0.005;
+    private static final float[][] DISTRIBUTIONS = {
+            {1f},
+            {0.5f, 0.1f, 0.1f, 0.1f, 0.1f, 0.1f},
+            {0.3f, 0f, 0.7f, 0f},
+            {0.05f, 0.15f, 0.2f, 0.25f, 0.35f},
+    };
+    private static final float[][] INVALID_DISTRIBUTIONS = {
+            {},
+            {0.5f, 0.4f},
+            {1.5f, -0.5f},
+            {Float.NaN},
+            {0.5f, Float.NaN, 0.5f},
+            {Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY},
+    };
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private AliasSamplerTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a frequency is off its probability, or an invalid array is accepted.
+     */
+    public static void main(String[] args) {
+        for (float[] probabilities : DISTRIBUTIONS) {
+            checkFrequencies(probabilities);
+        }
+        for (int i = 0; i < INVALID_DISTRIBUTIONS.length; i++) {
+            checkRejected(INVALID_DISTRIBUTIONS[i], i);
+        }
+        System.out.println("Alias sampler frequencies match the probabilities.");
+    }
+
+    /**
+     * Draws from the sampler of a distribution and checks the frequency of every outcome.
+     *
+     * @param probabilities The probability of each outcome.
+     */
+    private static void checkFrequencies(float[] probabilities) {
+        AliasSampler sampler = new AliasSampler(probabilities);
+        assertEquals(probabilities.length, sampler.getNumOutcomes(), "number of outcomes");
+        GameRandom random = new GameRandom(SEED);
+        int[] counts = new int[probabilities.length];
+        for (int i = 0; i < NUM_DRAWS; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        for (int outcome = 0; outcome < probabilities.length; outcome++) {
+            double frequency = (double) counts[outcome] / NUM_DRAWS;
+            if (probabilities[outcome] == 0) {
+                assertEquals(0, counts[outcome], "draws of outcome " + outcome + " of probability 0");
+            } else {
+                assertTrue(Math.abs(frequency - probabilities[outcome]) <= TOLERANCE, "frequency of outcome " +
+                        outcome + " is " + frequency + ", its probability " + probabilities[outcome]);
+            }
+        }
+    }
+
+    /**
+     * Checks that the sampler of an array that is not a distribution can not be built.
+     *
+     * @param probabilities The invalid probabilities.
+     * @param index         The index of the array in INVALID_DISTRIBUTIONS, for the failure message.
+     */
+    private static void checkRejected(float[] probabilities, int index) {
+        boolean rejected = false;
+        try {
+            new AliasSampler(probabilities);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "invalid distribution " + index + " was accepted");
+    }
+}
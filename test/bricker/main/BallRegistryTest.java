@@ -0,0 +1,80 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import danogl.util.Vector2;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that the ball registry finds every registered ball in its slot, with its own state,
+ * while balls are removed from the middle and the last ball moves into their slots.
+ */
+public class BallRegistryTest {
+
+    private static final int NUM_BALLS = 500;
+    private static final int REMOVED_EVERY = 4;
+    private static final int TURBO_EVERY = 5;
+    private static final Vector2 BALL_DIMENSIONS = new Vector2(20, 20);
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private BallRegistryTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a ball is not found in its slot or lost its state.
+     */
+    public static void main(String[] args) {
+        BallRegistry registry = new BallRegistry();
+        Ball[] balls = new Ball[NUM_BALLS];
+        for (int i = 0; i < NUM_BALLS; i++) {
+            balls[i] = new Ball(Vector2.ZERO, BALL_DIMENSIONS, null, null);
+            balls[i].setCollisionCounter(i);
+            registry.add(balls[i], i % 2 == 0);
+            if (i % TURBO_EVERY == 0) {
+                registry.startTurbo(registry.indexOf(balls[i]));
+            }
+        }
+
+        int numLeft = NUM_BALLS;
+        for (int i = 0; i < NUM_BALLS; i += REMOVED_EVERY) {
+            assertTrue(registry.remove(balls[i]), "a registered ball is removed");
+            assertTrue(!registry.remove(balls[i]), "a ball is removed only once");
+            numLeft--;
+        }
+        assertEquals(numLeft, registry.size(), "registered balls");
+
+        int numPrimary = 0;
+        int numTurbo = 0;
+        for (int i = 0; i < NUM_BALLS; i++) {
+            int slot = registry.indexOf(balls[i]);
+            if (i % REMOVED_EVERY == 0) {
+                assertEquals(-1, slot, "slot of removed ball " + i);
+                continue;
+            }
+            assertTrue(registry.get(slot) == balls[i], "ball " + i + " is in its slot");
+            assertTrue(registry.isPrimary(slot) == (i % 2 == 0), "ball " + i + " keeps its kind");
+            assertTrue(registry.isTurbo(slot) == (i % TURBO_EVERY == 0), "ball " + i + " keeps its turbo");
+            if (registry.isTurbo(slot)) {
+                assertEquals(i, registry.getTurboStartCollisions(slot), "turbo start of ball " + i);
+                numTurbo++;
+            }
+            if (registry.isPrimary(slot)) {
+                numPrimary++;
+            }
+        }
+        assertEquals(numPrimary, registry.getNumPrimary(), "primary balls");
+        assertEquals(numTurbo, registry.getNumTurbo(), "turbo balls");
+
+        registry.clear();
+        assertEquals(-1, registry.indexOf(balls[1]), "slot of a ball after clearing");
+        registry.add(balls[1], true);
+        assertEquals(0, registry.indexOf(balls[1]), "slot of a ball registered again");
+        System.out.println("The ball registry finds every ball in its slot.");
+    }
+}
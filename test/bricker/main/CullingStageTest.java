@@ -0,0 +1,76 @@
+package bricker.main;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that the culling stage culls every tracked object once it falls below the bottom, and
+ * never an object that stopped being tracked, however the heap was reordered in between.
+ */
+public class CullingStageTest {
+
+    private static final float BOTTOM = 500;
+    private static final float MARGIN = 10;
+    private static final int NUM_OBJECTS = 300;
+    private static final int UNTRACKED_EVERY = 3;
+    private static final float DELTA_TIME = 1f / 60;
+    private static final int MAX_FRAMES = 10_000;
+    private static final Vector2 OBJECT_DIMENSIONS = new Vector2(10, 10);
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private CullingStageTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if an object is culled wrongly, twice or not at all.
+     */
+    public static void main(String[] args) {
+        CullingStage stage = new CullingStage(BOTTOM);
+        Map<GameObject, Integer> culled = new IdentityHashMap<>();
+        int type = stage.registerType(MARGIN, object -> culled.merge(object, 1, Integer::sum));
+
+        GameObject[] objects = new GameObject[NUM_OBJECTS];
+        for (int i = 0; i < NUM_OBJECTS; i++) {
+            objects[i] = new GameObject(new Vector2(0, (i * 37) % (int) BOTTOM), OBJECT_DIMENSIONS, null);
+            objects[i].setVelocity(new Vector2(0, 20 + (i * 53) % 200));
+            stage.track(objects[i], type);
+        }
+        int numTracked = NUM_OBJECTS;
+        for (int i = 0; i < NUM_OBJECTS; i += UNTRACKED_EVERY) {
+            assertTrue(stage.untrack(objects[i]), "an object is untracked");
+            assertTrue(!stage.untrack(objects[i]), "an untracked object is untracked only once");
+            numTracked--;
+        }
+        assertEquals(numTracked, stage.size(), "tracked objects");
+
+        for (int frame = 0; frame < MAX_FRAMES && stage.size() > 0; frame++) {
+            for (GameObject object : objects) {
+                object.setCenter(object.getCenter().add(object.getVelocity().mult(DELTA_TIME)));
+            }
+            stage.cull(DELTA_TIME);
+        }
+        assertEquals(0, stage.size(), "objects left in the stage");
+        assertEquals(numTracked, culled.size(), "culled objects");
+        assertEquals(numTracked, stage.getCulledCount(), "culled count");
+        for (int i = 0; i < NUM_OBJECTS; i++) {
+            Integer count = culled.get(objects[i]);
+            if (i % UNTRACKED_EVERY == 0) {
+                assertTrue(count == null, "untracked object " + i + " is not culled");
+            } else {
+                assertEquals(1, count, "times object " + i + " is culled");
+            }
+        }
+        System.out.println("The culling stage culls every tracked object once.");
+    }
+}
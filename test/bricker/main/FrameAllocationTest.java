@@ -0,0 +1,127 @@
+package bricker.main;
+
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that the game's own part of a steady-state frame allocates nothing.
+ * <p>
+ * A steady-state frame is a frame right after a game starts, while the ball is in free flight
+ * between the paddle and the bricks and nothing collides. The same frames are played twice from a
+ * snapshot of the game's start: once as full frames, and once with the game code stubbed out, so
+ * only the engine moves the objects. The engine allocates for its own bookkeeping, e.g. the
+ * positions of the moving objects, and that second run is the baseline: the full frames must not
+ * allocate a single byte more. The allocations are read from the thread's allocation counter.
+ */
+public class FrameAllocationTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final long SEED = 42;
+    private static final int STEADY_STATE_FRAMES = 16;
+    private static final int WARMUP_RUNS = 2_000;
+    private static final int MEASURED_RUNS = 50;
+    private static final byte[] STAY_SCRIPT = {0};
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private FrameAllocationTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if the game's part of a frame allocates.
+     */
+    public static void main(String[] args) {
+        THREAD_BEAN.setThreadAllocatedMemoryEnabled(true);
+        StubbableGame game = new StubbableGame();
+        game.setSeed(SEED);
+        game.initializeHeadless(WINDOW_DIMENSIONS, new ScriptedPaddleController(STAY_SCRIPT));
+        ByteBuffer start = ByteBuffer.allocate(game.getSnapshotSize());
+        game.saveSnapshot(start);
+        start.flip();
+
+        // Lets the JIT compile both kinds of frames before measuring them
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            playFrames(game, start, false);
+            playFrames(game, start, true);
+        }
+
+        long gameBytes = Long.MAX_VALUE;
+        long engineBytes = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            gameBytes = Math.min(gameBytes, playFrames(game, start, false));
+            assertEquals(NUM_BRICKS_PER_ROW * NUM_ROWS, game.getBricksLeft(), "bricks left after free flight");
+            engineBytes = Math.min(engineBytes, playFrames(game, start, true));
+        }
+        System.out.printf("%d steady-state frames: %d B with the game, %d B with the engine alone%n",
+                STEADY_STATE_FRAMES, gameBytes, engineBytes);
+        assertTrue(gameBytes <= engineBytes, "The game's part of " + STEADY_STATE_FRAMES +
+                " steady-state frames allocated " + (gameBytes - engineBytes) + " B");
+    }
+
+    /**
+     * Brings the game back to its start and plays the steady-state frames.
+     *
+     * @param game       The game.
+     * @param start      A snapshot of the game's start.
+     * @param engineOnly True to stub the game code out of the frames.
+     * @return The number of bytes the frames allocated.
+     */
+    private static long playFrames(StubbableGame game, ByteBuffer start, boolean engineOnly) {
+        game.restoreSnapshot(start.duplicate());
+        game.engineOnly = engineOnly;
+        long bytesBefore = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < STEADY_STATE_FRAMES; frame++) {
+            game.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        long bytes = THREAD_BEAN.getCurrentThreadAllocatedBytes() - bytesBefore;
+        game.engineOnly = false;
+        return bytes;
+    }
+
+    /**
+     * A game whose frames can be reduced to the engine's work alone.
+     */
+    private static class StubbableGame extends BrickerGameManager {
+
+        /**
+         * Whether the game code is stubbed out of the frames.
+         */
+        private boolean engineOnly;
+
+        /**
+         * Constructs a new StubbableGame of the default size.
+         */
+        StubbableGame() {
+            super("allocation test", WINDOW_DIMENSIONS, NUM_BRICKS_PER_ROW, NUM_ROWS);
+        }
+
+        /**
+         * Plays a frame, or only its engine part if the game code is stubbed out.
+         *
+         * @param deltaTime The time passed since the last frame.
+         */
+        @Override
+        public void update(float deltaTime) {
+            if (engineOnly) {
+                updateEngine(deltaTime);
+            } else {
+                super.update(deltaTime);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package bricker.main;
+
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that a snapshot brings a game back to exactly the state it was saved in.
+ * <p>
+ * A game is played for a while and saved. Restoring the snapshot and saving again must give the
+ * same bytes. Playing on from the snapshot must give the same game as playing the same seed
+ * without ever saving or restoring, and saving halfway must not change that game either. The
+ * paddle stays put, so its controller has no state of its own to rewind. Both brick fields are
+ * checked.
+ */
+public class GameSnapshotTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final long SEED = 7;
+    private static final int FRAMES_BEFORE_SNAPSHOT = 900;
+    private static final int FRAMES_AFTER_SNAPSHOT = 900;
+    private static final byte[] STAY_SCRIPT = {0};
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private GameSnapshotTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a restored game differs from the game it was saved from.
+     */
+    public static void main(String[] args) {
+        checkRoundTrip(false);
+        checkRoundTrip(true);
+        System.out.println("Snapshots restore games exactly.");
+    }
+
+    /**
+     * Checks the snapshots of a game on one kind of brick field.
+     *
+     * @param compactBrickField True to store the bricks in primitive arrays.
+     */
+    private static void checkRoundTrip(boolean compactBrickField) {
+        String field = compactBrickField ? "compact field: " : "regular field: ";
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, compactBrickField);
+        gameManager.setSeed(SEED);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, WINDOW_DIMENSIONS,
+                new ScriptedPaddleController(STAY_SCRIPT), HeadlessSimulation.DEFAULT_DELTA_TIME);
+        simulation.run(FRAMES_BEFORE_SNAPSHOT);
+        assertTrue(gameManager.getBricksLeft() < NUM_BRICKS_PER_ROW * NUM_ROWS,
+                field + "bricks were destroyed before the snapshot");
+
+        ByteBuffer saved = save(gameManager);
+        ByteBuffer unsaved = playUnsaved(compactBrickField);
+        ByteBuffer played = playOn(gameManager, saved, false);
+        assertTrue(played.equals(unsaved), field + "playing on from a snapshot plays the unsaved game");
+        ByteBuffer checkpointed = playOn(gameManager, saved, true);
+        assertTrue(checkpointed.equals(unsaved), field + "saving halfway does not change the game");
+
+        gameManager.restoreSnapshot(saved.duplicate());
+        ByteBuffer resaved = save(gameManager);
+        assertEquals(saved.remaining(), resaved.remaining(), field + "size of a resaved snapshot");
+        assertTrue(saved.equals(resaved), field + "a resaved snapshot equals the original");
+    }
+
+    /**
+     * Plays the test's game from its start without saving or restoring it along the way.
+     *
+     * @param compactBrickField True to store the bricks in primitive arrays.
+     * @return A snapshot of the game after every frame was played.
+     */
+    private static ByteBuffer playUnsaved(boolean compactBrickField) {
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, compactBrickField);
+        gameManager.setSeed(SEED);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, WINDOW_DIMENSIONS,
+                new ScriptedPaddleController(STAY_SCRIPT), HeadlessSimulation.DEFAULT_DELTA_TIME);
+        simulation.run(FRAMES_BEFORE_SNAPSHOT);
+        for (int frame = 0; frame < FRAMES_AFTER_SNAPSHOT; frame++) {
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        return save(gameManager);
+    }
+
+    /**
+     * Brings a game back to a snapshot, plays on and saves the result.
+     *
+     * @param gameManager The game.
+     * @param snapshot    The snapshot to start from.
+     * @param saveHalfway True to also save the game halfway, and drop that snapshot.
+     * @return A snapshot of the game after the frames.
+     */
+    private static ByteBuffer playOn(BrickerGameManager gameManager, ByteBuffer snapshot, boolean saveHalfway) {
+        gameManager.restoreSnapshot(snapshot.duplicate());
+        for (int frame = 0; frame < FRAMES_AFTER_SNAPSHOT; frame++) {
+            if (saveHalfway && frame == FRAMES_AFTER_SNAPSHOT / 2) {
+                save(gameManager);
+            }
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        return save(gameManager);
+    }
+
+    /**
+     * Saves a game to a new buffer.
+     *
+     * @param gameManager The game.
+     * @return The snapshot, ready to be read.
+     */
+    private static ByteBuffer save(BrickerGameManager gameManager) {
+        ByteBuffer buffer = ByteBuffer.allocate(gameManager.getSnapshotSize());
+        gameManager.saveSnapshot(buffer);
+        buffer.flip();
+        return buffer;
+    }
+}
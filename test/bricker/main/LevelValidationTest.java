@@ -0,0 +1,69 @@
+package bricker.main;
+
+import bricker.level.Level;
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that a level with a cell that is neither empty, random nor a strategy type is rejected
+ * before it replaces the current level, and that a valid level is played.
+ */
+public class LevelValidationTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final long SEED = 3;
+    private static final byte[] VALID_CELLS = {Level.EMPTY, Level.RANDOM, BrickerGameManager.BASIC,
+            BrickerGameManager.MULTIPLE_BEHAVIORS};
+    private static final byte[] INVALID_CELLS = {BrickerGameManager.NUM_BEHAVIOURS, 9, -3, Byte.MIN_VALUE,
+            Byte.MAX_VALUE};
+    private static final byte[] STAY_SCRIPT = {0};
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private LevelValidationTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if an invalid level is accepted or a valid one rejected.
+     */
+    public static void main(String[] args) {
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, false);
+        gameManager.setSeed(SEED);
+        new HeadlessSimulation(gameManager, WINDOW_DIMENSIONS, new ScriptedPaddleController(STAY_SCRIPT),
+                HeadlessSimulation.DEFAULT_DELTA_TIME);
+        Level initialLevel = gameManager.getLevel();
+        for (byte cell : INVALID_CELLS) {
+            byte[] cells = VALID_CELLS.clone();
+            cells[cells.length - 1] = cell;
+            boolean rejected = false;
+            try {
+                gameManager.setLevel(new Level(cells.length, 1, ByteBuffer.wrap(cells), null));
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            assertTrue(rejected, "level with cell " + cell + " was accepted");
+            assertTrue(gameManager.getLevel() == initialLevel, "the level is kept after rejecting cell " + cell);
+            assertEquals(NUM_BRICKS_PER_ROW * NUM_ROWS, gameManager.getBricksLeft(),
+                    "bricks after rejecting cell " + cell);
+        }
+
+        Level validLevel = new Level(VALID_CELLS.length, 1, ByteBuffer.wrap(VALID_CELLS), null);
+        gameManager.setLevel(validLevel);
+        assertTrue(gameManager.getLevel() == validLevel, "a valid level is played");
+        assertEquals(VALID_CELLS.length - 1, gameManager.getBricksLeft(), "bricks of the valid level");
+        System.out.println("Levels with unknown cells are rejected.");
+    }
+}
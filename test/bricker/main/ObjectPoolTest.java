@@ -0,0 +1,83 @@
+package bricker.main;
+
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Pack;
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that pooled objects keep no state across reuse: a reused object is reset by its pool,
+ * and the packs and hearts of a game start every use like new ones.
+ */
+public class ObjectPoolTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final int USED_COLLISIONS = 5;
+    private static final Vector2 USED_VELOCITY = new Vector2(30, 40);
+    private static final byte[] STAY_SCRIPT = {0};
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private ObjectPoolTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a reused object keeps state from its previous use.
+     */
+    public static void main(String[] args) {
+        checkPoolResetsReusedObjects();
+        checkGamePoolsResetObjects();
+        System.out.println("Pooled objects keep no state across reuse.");
+    }
+
+    /**
+     * Checks that a pool resets the objects it reuses, and only those.
+     */
+    private static void checkPoolResetsReusedObjects() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, builder -> builder.setLength(0), 1);
+        StringBuilder builder = pool.obtain();
+        builder.append("used");
+        pool.release(builder);
+        StringBuilder reused = pool.obtain();
+        assertTrue(reused == builder, "the idle object is reused");
+        assertEquals(0, reused.length(), "length of the reused object");
+        assertEquals(1, pool.getCreatedCount(), "created objects");
+        assertEquals(1, pool.getReusedCount(), "reused objects");
+    }
+
+    /**
+     * Checks that the game's packs and hearts come back from their pools without their collisions
+     * and velocities.
+     */
+    private static void checkGamePoolsResetObjects() {
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, false);
+        gameManager.initializeHeadless(WINDOW_DIMENSIONS, new ScriptedPaddleController(STAY_SCRIPT));
+
+        Pack pack = gameManager.obtainPack();
+        pack.setCollisionCounter(USED_COLLISIONS);
+        pack.setVelocity(USED_VELOCITY);
+        gameManager.getPackPool().release(pack);
+        Pack reusedPack = gameManager.obtainPack();
+        assertTrue(reusedPack == pack, "the released pack is reused");
+        assertEquals(0, reusedPack.getCollisionCounter(), "collisions of the reused pack");
+        assertTrue(reusedPack.getVelocity().equals(Vector2.ZERO), "the reused pack does not move");
+
+        Heart heart = gameManager.obtainHeart();
+        heart.setVelocity(USED_VELOCITY);
+        gameManager.getHeartPool().release(heart);
+        Heart reusedHeart = gameManager.obtainHeart();
+        assertTrue(reusedHeart == heart, "the released heart is reused");
+        assertTrue(reusedHeart.getVelocity().equals(Vector2.ZERO), "the reused heart does not move");
+    }
+}
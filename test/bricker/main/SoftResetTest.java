@@ -0,0 +1,53 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import bricker.simulation.HeadlessSimulation;
+import bricker.simulation.ScriptedPaddleController;
+import danogl.util.Vector2;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that a soft reset starts the next game like a new one: the main ball is kept, without
+ * the collisions it counted in the last game, and every brick is back.
+ */
+public class SoftResetTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final long SEED = 7;
+    private static final int PLAYED_FRAMES = 900;
+    private static final byte[] STAY_SCRIPT = {0};
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private SoftResetTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if the next game keeps state from the last one.
+     */
+    public static void main(String[] args) {
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, false);
+        gameManager.setSeed(SEED);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, WINDOW_DIMENSIONS,
+                new ScriptedPaddleController(STAY_SCRIPT), HeadlessSimulation.DEFAULT_DELTA_TIME);
+        Ball mainBall = gameManager.getBalls().get(0);
+        simulation.run(PLAYED_FRAMES);
+        assertTrue(mainBall.getCollisionCounter() > 0, "the main ball collided in the last game");
+
+        gameManager.softReset();
+        assertTrue(gameManager.getBalls().get(0) == mainBall, "the main ball is kept by a soft reset");
+        assertEquals(1, gameManager.getBalls().size(), "balls after a soft reset");
+        assertEquals(0, mainBall.getCollisionCounter(), "collisions of the main ball after a soft reset");
+        assertEquals(NUM_BRICKS_PER_ROW * NUM_ROWS, gameManager.getBricksLeft(), "bricks after a soft reset");
+        System.out.println("A soft reset starts the next game like a new one.");
+    }
+}
@@ -0,0 +1,88 @@
+package bricker.replay;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.GameConfig;
+import bricker.main.GameOutcome;
+import bricker.simulation.HeadlessSimulation;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static bricker.TestAssertions.assertEquals;
+import static bricker.TestAssertions.assertTrue;
+
+/**
+ * Checks that a recorded headless game replays exactly: a game played to its end, and a game
+ * closed halfway through, on both brick fields and with a configuration of its own.
+ */
+public class ReplayRoundTripTest {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int NUM_BRICKS_PER_ROW = 8;
+    private static final int NUM_ROWS = 7;
+    private static final long SEED = 11;
+    private static final long MAX_FRAMES = 200_000;
+    private static final long CLOSED_AFTER_FRAMES = 200;
+    private static final GameConfig FAST_CONFIG = GameConfig.builder().setBallSpeed(320).setStartLives(2).build();
+
+    /**
+     * Private constructor, this class only holds the test entry point.
+     */
+    private ReplayRoundTripTest() {
+    }
+
+    /**
+     * Runs the test.
+     *
+     * @param args Unused.
+     * @throws AssertionError if a replay does not match its recording.
+     */
+    public static void main(String[] args) {
+        try {
+            Path file = Files.createTempFile("bricker-replay", ".rec");
+            try {
+                checkReplay(file, false, GameConfig.DEFAULT, MAX_FRAMES);
+                checkReplay(file, true, FAST_CONFIG, MAX_FRAMES);
+                checkReplay(file, false, FAST_CONFIG, CLOSED_AFTER_FRAMES);
+                checkReplay(file, true, GameConfig.DEFAULT, CLOSED_AFTER_FRAMES);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Recorded games replay exactly.");
+    }
+
+    /**
+     * Records a headless game and checks that its replay matches the recording.
+     *
+     * @param file              The file to record to.
+     * @param compactBrickField True to store the bricks in primitive arrays.
+     * @param config            The tunable parameters of the game.
+     * @param maxFrames         The number of frames after which the game is closed if it did not end.
+     */
+    private static void checkReplay(Path file, boolean compactBrickField, GameConfig config, long maxFrames) {
+        String game = (compactBrickField ? "compact" : "regular") + " field, " + maxFrames + " frames: ";
+        BrickerGameManager gameManager = HeadlessSimulation.createGameManager(WINDOW_DIMENSIONS,
+                NUM_BRICKS_PER_ROW, NUM_ROWS, compactBrickField, config);
+        gameManager.setSeed(SEED);
+        gameManager.setRecordingFile(file);
+        HeadlessSimulation simulation = new HeadlessSimulation(gameManager, WINDOW_DIMENSIONS,
+                HeadlessSimulation.createController("sweep", gameManager), HeadlessSimulation.DEFAULT_DELTA_TIME);
+        GameOutcome outcome = simulation.run(maxFrames);
+        if (maxFrames == CLOSED_AFTER_FRAMES) {
+            assertTrue(outcome == GameOutcome.IN_PROGRESS, game + "the game is closed before it ends");
+        } else {
+            assertTrue(outcome != GameOutcome.IN_PROGRESS, game + "the game ends");
+        }
+        gameManager.stopRecording();
+
+        GameReplayer.Result result = new GameReplayer(file).replay();
+        assertTrue(result.matches(), game + result);
+        assertEquals(simulation.getFrameCount(), result.getNumFrames(), game + "replayed frames");
+    }
+}